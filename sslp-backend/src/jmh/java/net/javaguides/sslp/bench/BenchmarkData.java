@@ -0,0 +1,87 @@
+package net.javaguides.sslp.bench;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import net.javaguides.sslp.model.Enrollment;
+import net.javaguides.sslp.model.Learning;
+import net.javaguides.sslp.model.SkillProgress;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Deterministic fixtures shaped like production documents
+final class BenchmarkData {
+
+    private BenchmarkData() {
+    }
+
+    // Same modules and inclusion as the ObjectMapper Spring Boot builds from application.properties
+    static ObjectMapper objectMapper() {
+        return Jackson2ObjectMapperBuilder.json()
+                .serializationInclusion(JsonInclude.Include.NON_NULL)
+                .build();
+    }
+
+    static String id(int n) {
+        return String.format("%024x", n);
+    }
+
+    static Learning learning(int n, int modules, int topicsPerModule) {
+        List<Learning.CourseContent> content = new ArrayList<>(modules);
+        for (int m = 0; m < modules; m++) {
+            List<String> topics = new ArrayList<>(topicsPerModule);
+            for (int t = 0; t < topicsPerModule; t++) {
+                topics.add("Topic " + m + "." + t + ": hands-on exercise with worked examples");
+            }
+            content.add(new Learning.CourseContent("Module " + m + " - core concepts and practice", topics));
+        }
+        Learning learning = new Learning("C" + n, "Course " + n + " - Full Stack Development", 25000 + n,
+                "A practical course covering fundamentals through to deployment, with projects and reviews.",
+                "12 weeks", "Software Engineer, Web Developer, Technical Lead", content);
+        learning.setId(id(n));
+        return learning;
+    }
+
+    static List<Learning> catalog(int courses, int modules, int topicsPerModule) {
+        List<Learning> catalog = new ArrayList<>(courses);
+        for (int n = 0; n < courses; n++) {
+            catalog.add(learning(n, modules, topicsPerModule));
+        }
+        return catalog;
+    }
+
+    static SkillProgress progress(int n, String userId) {
+        List<String> completed = new ArrayList<>();
+        for (int m = 0; m < n % 12; m++) {
+            completed.add("module-" + m);
+        }
+        return new SkillProgress(id(n), userId, "C" + (n % 40), completed, 12,
+                Math.round(completed.size() * 10000.0 / 12) / 100.0, completed.size() == 12,
+                List.of("starter", "consistent-learner"), "Good pace, keep going with the next module.");
+    }
+
+    static List<SkillProgress> progressList(int records, String userId) {
+        List<SkillProgress> list = new ArrayList<>(records);
+        for (int n = 0; n < records; n++) {
+            list.add(progress(n, userId));
+        }
+        return list;
+    }
+
+    static Enrollment enrollment(int n) {
+        Enrollment enrollment = new Enrollment("Learner " + n, "learner" + n + "@example.com", "19" + (9000000 + n) + "V",
+                "+94 77 " + (1000000 + n), "C" + (n % 40), "Course " + (n % 40) + " - Full Stack Development",
+                n % 3 == 0 ? "Online" : "Physical");
+        enrollment.setId(id(n));
+        return enrollment;
+    }
+
+    static List<Enrollment> enrollments(int records) {
+        List<Enrollment> list = new ArrayList<>(records);
+        for (int n = 0; n < records; n++) {
+            list.add(enrollment(n));
+        }
+        return list;
+    }
+}
@@ -0,0 +1,129 @@
+package net.javaguides.sslp.bench;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import net.javaguides.sslp.cache.LearningCatalogCache;
+import net.javaguides.sslp.controller.EnrollmentController;
+import net.javaguides.sslp.controller.LearningController;
+import net.javaguides.sslp.controller.SkillProgressController;
+import net.javaguides.sslp.model.Enrollment;
+import net.javaguides.sslp.model.SkillProgress;
+import net.javaguides.sslp.repo.EnrollmentRepository;
+import net.javaguides.sslp.repo.LearningRepository;
+import net.javaguides.sslp.repo.SkillProgressRepository;
+import net.javaguides.sslp.service.EnrollmentServiceImpl;
+import net.javaguides.sslp.service.impl.LearningServiceImpl;
+import net.javaguides.sslp.service.impl.SkillProgressServiceImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.ByteArrayHttpMessageConverter;
+import org.springframework.http.converter.StringHttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+/**
+ * Request -> controller -> service -> repository -> response, through
+ * DispatcherServlet and the Jackson message converter, with map-backed
+ * repository stand-ins so only application code is measured. Services are
+ * the real implementations with their collaborators injected by hand.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ControllerRoundTripBenchmark {
+
+    private MockMvc mockMvc;
+    private EnrollmentServiceImpl enrollmentService;
+    private List<Enrollment> enrollments;
+    private byte[] enrollmentBody;
+    private String catalogEtag;
+    private String enrollmentId;
+
+    @Setup
+    public void setUp() throws Exception {
+        ObjectMapper objectMapper = BenchmarkData.objectMapper();
+
+        SkillProgressServiceImpl progressService = new SkillProgressServiceImpl();
+        List<SkillProgress> progress = BenchmarkData.progressList(2000, "user-0");
+        progress.forEach(record -> record.setUserId("user-" + (Integer.parseInt(record.getId(), 16) % 200)));
+        ReflectionTestUtils.setField(progressService, "repository", InMemoryRepository.create(SkillProgressRepository.class, progress));
+        SkillProgressController progressController = new SkillProgressController();
+        ReflectionTestUtils.setField(progressController, "service", progressService);
+
+        enrollmentService = new EnrollmentServiceImpl();
+        enrollments = BenchmarkData.enrollments(2000);
+        enrollmentId = enrollments.get(1000).getId();
+        resetEnrollments();
+        ReflectionTestUtils.setField(enrollmentService, "eventPublisher", (ApplicationEventPublisher) event -> { });
+        EnrollmentController enrollmentController = new EnrollmentController();
+        ReflectionTestUtils.setField(enrollmentController, "service", enrollmentService);
+
+        LearningServiceImpl learningService = new LearningServiceImpl();
+        ReflectionTestUtils.setField(learningService, "learningRepository",
+                InMemoryRepository.create(LearningRepository.class, BenchmarkData.catalog(40, 12, 8)));
+        ReflectionTestUtils.setField(learningService, "catalogCache",
+                new LearningCatalogCache(objectMapper, 16 * 1024 * 1024, Duration.ofMinutes(10)));
+        LearningController learningController = new LearningController();
+        ReflectionTestUtils.setField(learningController, "learningService", learningService);
+
+        mockMvc = MockMvcBuilders.standaloneSetup(progressController, enrollmentController, learningController)
+                .setMessageConverters(new ByteArrayHttpMessageConverter(), new StringHttpMessageConverter(),
+                        new MappingJackson2HttpMessageConverter(objectMapper))
+                .build();
+
+        enrollmentBody = objectMapper.writeValueAsBytes(BenchmarkData.enrollment(5000));
+        catalogEtag = mockMvc.perform(get("/api/learnings")).andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+    }
+
+    // createEnrollment keeps inserting; start every iteration from the same 2000 enrollments
+    @Setup(Level.Iteration)
+    public void resetEnrollments() {
+        ReflectionTestUtils.setField(enrollmentService, "repository", InMemoryRepository.create(EnrollmentRepository.class, enrollments));
+    }
+
+    @Benchmark
+    public MockHttpServletResponse progressByUser() throws Exception {
+        return mockMvc.perform(get("/api/progress/user/user-7")).andReturn().getResponse();
+    }
+
+    @Benchmark
+    public MockHttpServletResponse enrollmentById() throws Exception {
+        return mockMvc.perform(get("/api/enrollments/" + enrollmentId)).andReturn().getResponse();
+    }
+
+    @Benchmark
+    public MockHttpServletResponse createEnrollment() throws Exception {
+        return mockMvc.perform(post("/api/enrollments").contentType(MediaType.APPLICATION_JSON).content(enrollmentBody))
+                .andReturn().getResponse();
+    }
+
+    // Catalog served from the cache
+    @Benchmark
+    public MockHttpServletResponse catalog() throws Exception {
+        return mockMvc.perform(get("/api/learnings")).andReturn().getResponse();
+    }
+
+    // Catalog revalidation answered with 304
+    @Benchmark
+    public MockHttpServletResponse catalogNotModified() throws Exception {
+        return mockMvc.perform(get("/api/learnings").header(HttpHeaders.IF_NONE_MATCH, catalogEtag)).andReturn().getResponse();
+    }
+}
@@ -0,0 +1,95 @@
+package net.javaguides.sslp.bench;
+
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.BeanWrapperImpl;
+
+import java.beans.PropertyDescriptor;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Map-backed stand-in for a Spring Data repository interface. Supports the
+ * CrudRepository basics plus derived findByX(value) equality lookups, which
+ * is all the benchmarked service paths call. Anything else throws.
+ */
+final class InMemoryRepository {
+
+    private InMemoryRepository() {
+    }
+
+    static <R> R create(Class<R> repositoryType, Collection<?> seed) {
+        Map<String, Object> documents = new ConcurrentHashMap<>();
+        AtomicLong sequence = new AtomicLong(1_000_000);
+        seed.forEach(document -> documents.put(idOf(document), document));
+
+        Object proxy = Proxy.newProxyInstance(repositoryType.getClassLoader(), new Class<?>[]{repositoryType},
+                (self, method, args) -> {
+                    String name = method.getName();
+                    switch (name) {
+                        case "save":
+                            if (idOf(args[0]) == null) {
+                                new BeanWrapperImpl(args[0]).setPropertyValue("id", BenchmarkData.id((int) sequence.incrementAndGet()));
+                            }
+                            documents.put(idOf(args[0]), args[0]);
+                            return args[0];
+                        case "findById":
+                            return Optional.ofNullable(documents.get((String) args[0]));
+                        case "findAll":
+                            return new ArrayList<>(documents.values());
+                        case "deleteById":
+                            documents.remove((String) args[0]);
+                            return null;
+                        case "count":
+                            return (long) documents.size();
+                        case "toString":
+                            return "InMemory" + repositoryType.getSimpleName();
+                        case "hashCode":
+                            return System.identityHashCode(self);
+                        case "equals":
+                            return self == args[0];
+                        default:
+                            if (name.startsWith("findBy") && args != null && args.length == 1) {
+                                String property = Character.toLowerCase(name.charAt(6)) + name.substring(7);
+                                List<Object> matches = new ArrayList<>();
+                                for (Object document : documents.values()) {
+                                    if (args[0].equals(read(document, property))) {
+                                        matches.add(document);
+                                    }
+                                }
+                                return matches;
+                            }
+                            throw new UnsupportedOperationException(name + " is not supported by the in-memory stand-in");
+                    }
+                });
+        return repositoryType.cast(proxy);
+    }
+
+    private static String idOf(Object document) {
+        return (String) read(document, "id");
+    }
+
+    // Getter lookups are cached so the stand-in's own cost stays small next to the code under test
+    private static final Map<String, Method> GETTERS = new ConcurrentHashMap<>();
+
+    private static Object read(Object document, String property) {
+        Method getter = GETTERS.computeIfAbsent(document.getClass().getName() + "#" + property, key -> {
+            PropertyDescriptor descriptor = BeanUtils.getPropertyDescriptor(document.getClass(), property);
+            if (descriptor == null || descriptor.getReadMethod() == null) {
+                throw new UnsupportedOperationException("No property " + property + " on " + document.getClass());
+            }
+            return descriptor.getReadMethod();
+        });
+        try {
+            return getter.invoke(document);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
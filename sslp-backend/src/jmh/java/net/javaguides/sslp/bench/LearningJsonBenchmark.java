@@ -0,0 +1,51 @@
+package net.javaguides.sslp.bench;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import net.javaguides.sslp.model.Learning;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+// Jackson cost of one Learning as its CourseContent list grows
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class LearningJsonBenchmark {
+
+    @Param({"10", "100", "1000"})
+    public int modules;
+
+    @Param({"10"})
+    public int topicsPerModule;
+
+    private ObjectMapper objectMapper;
+    private ObjectReader learningReader;
+    private Learning learning;
+    private byte[] json;
+
+    @Setup
+    public void setUp() throws Exception {
+        objectMapper = BenchmarkData.objectMapper();
+        learningReader = objectMapper.readerFor(Learning.class);
+        learning = BenchmarkData.learning(1, modules, topicsPerModule);
+        json = objectMapper.writeValueAsBytes(learning);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws Exception {
+        return objectMapper.writeValueAsBytes(learning);
+    }
+
+    @Benchmark
+    public Learning deserialize() throws Exception {
+        return learningReader.readValue(json);
+    }
+}
@@ -0,0 +1,67 @@
+package net.javaguides.sslp.bench;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import net.javaguides.sslp.model.Enrollment;
+import net.javaguides.sslp.model.SkillProgress;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Jackson cost of SkillProgress and Enrollment list responses / request bodies
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PayloadJsonBenchmark {
+
+    @Param({"1", "100", "1000"})
+    public int records;
+
+    private ObjectMapper objectMapper;
+    private ObjectReader progressReader;
+    private ObjectReader enrollmentReader;
+    private List<SkillProgress> progress;
+    private List<Enrollment> enrollments;
+    private byte[] progressJson;
+    private byte[] enrollmentJson;
+
+    @Setup
+    public void setUp() throws Exception {
+        objectMapper = BenchmarkData.objectMapper();
+        progressReader = objectMapper.readerFor(new TypeReference<List<SkillProgress>>() { });
+        enrollmentReader = objectMapper.readerFor(new TypeReference<List<Enrollment>>() { });
+        progress = BenchmarkData.progressList(records, "user-1");
+        enrollments = BenchmarkData.enrollments(records);
+        progressJson = objectMapper.writeValueAsBytes(progress);
+        enrollmentJson = objectMapper.writeValueAsBytes(enrollments);
+    }
+
+    @Benchmark
+    public byte[] serializeProgress() throws Exception {
+        return objectMapper.writeValueAsBytes(progress);
+    }
+
+    @Benchmark
+    public List<SkillProgress> deserializeProgress() throws Exception {
+        return progressReader.readValue(progressJson);
+    }
+
+    @Benchmark
+    public byte[] serializeEnrollments() throws Exception {
+        return objectMapper.writeValueAsBytes(enrollments);
+    }
+
+    @Benchmark
+    public List<Enrollment> deserializeEnrollments() throws Exception {
+        return enrollmentReader.readValue(enrollmentJson);
+    }
+}
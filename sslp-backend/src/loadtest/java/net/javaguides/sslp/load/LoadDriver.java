@@ -0,0 +1,124 @@
+package net.javaguides.sslp.load;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntFunction;
+
+/**
+ * Closed-loop HTTP load: each of {@code concurrency} workers sends a request,
+ * waits for the response and immediately sends the next one. Latencies are
+ * only recorded after the warm-up period.
+ *
+ * A mixed run picks every request's operation at random by weight and
+ * reports each operation separately.
+ */
+public class LoadDriver {
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
+
+    // requestFactory gets a per-request sequence number so workers can vary ids and payloads
+    public LoadResult run(String scenario, String endpoint, IntFunction<HttpRequest> requestFactory,
+                          int concurrency, Duration warmup, Duration duration) throws Exception {
+        return runMix(scenario, List.of(new LoadOperation(endpoint, 1, requestFactory)),
+                concurrency, warmup, duration).get(0);
+    }
+
+    // One result per operation, in the order given
+    public List<LoadResult> runMix(String scenario, List<LoadOperation> operations,
+                                   int concurrency, Duration warmup, Duration duration) throws Exception {
+        int[] cumulativeWeights = new int[operations.size()];
+        int totalWeight = 0;
+        for (int i = 0; i < operations.size(); i++) {
+            totalWeight += operations.get(i).getWeight();
+            cumulativeWeights[i] = totalWeight;
+        }
+        int weightSum = totalWeight;
+
+        long warmupEnd = System.nanoTime() + warmup.toNanos();
+        long end = warmupEnd + duration.toNanos();
+        LongAdder[] errors = new LongAdder[operations.size()];
+        Arrays.setAll(errors, i -> new LongAdder());
+        AtomicInteger sequence = new AtomicInteger();
+
+        ExecutorService workers = Executors.newFixedThreadPool(concurrency);
+        List<Future<long[][]>> futures = new ArrayList<>();
+        for (int w = 0; w < concurrency; w++) {
+            futures.add(workers.submit(() -> {
+                long[][] latencies = new long[operations.size()][1024];
+                int[] counts = new int[operations.size()];
+                while (true) {
+                    long start = System.nanoTime();
+                    if (start >= end) {
+                        break;
+                    }
+                    int op = pick(cumulativeWeights, ThreadLocalRandom.current().nextInt(weightSum));
+                    HttpRequest request = operations.get(op).request(sequence.incrementAndGet());
+                    boolean ok;
+                    try {
+                        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                        ok = response.statusCode() < 400;
+                    } catch (Exception e) {
+                        ok = false;
+                    }
+                    long elapsed = System.nanoTime() - start;
+                    if (start < warmupEnd) {
+                        continue;
+                    }
+                    if (!ok) {
+                        errors[op].increment();
+                        continue;
+                    }
+                    if (counts[op] == latencies[op].length) {
+                        latencies[op] = Arrays.copyOf(latencies[op], counts[op] * 2);
+                    }
+                    latencies[op][counts[op]++] = elapsed;
+                }
+                for (int op = 0; op < latencies.length; op++) {
+                    latencies[op] = Arrays.copyOf(latencies[op], counts[op]);
+                }
+                return latencies;
+            }));
+        }
+
+        List<long[][]> perWorker = new ArrayList<>();
+        for (Future<long[][]> future : futures) {
+            perWorker.add(future.get());
+        }
+        workers.shutdown();
+
+        List<LoadResult> results = new ArrayList<>();
+        for (int op = 0; op < operations.size(); op++) {
+            int index = op;
+            long[] all = new long[perWorker.stream().mapToInt(latencies -> latencies[index].length).sum()];
+            int offset = 0;
+            for (long[][] latencies : perWorker) {
+                System.arraycopy(latencies[op], 0, all, offset, latencies[op].length);
+                offset += latencies[op].length;
+            }
+            results.add(new LoadResult(scenario, operations.get(op).getEndpoint(), concurrency,
+                    errors[op].sum(), duration.toNanos() / 1e9, all));
+        }
+        return results;
+    }
+
+    private static int pick(int[] cumulativeWeights, int value) {
+        int op = 0;
+        while (value >= cumulativeWeights[op]) {
+            op++;
+        }
+        return op;
+    }
+}
@@ -0,0 +1,141 @@
+package net.javaguides.sslp.load;
+
+import com.mongodb.ConnectionString;
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * The throw-away MongoDB a load test runs against, in one of three forms:
+ *
+ *   - an in-process mongo-java-server: no install needed, but it ignores
+ *     non-unique secondary indexes (lookups by userId or courseId scan the
+ *     collection) and rejects pipeline updates (module completion errors)
+ *   - a mongod binary started on a free port with a temporary dbpath, which
+ *     is deleted again on close
+ *   - an external server given by URI, left running on close; the load test
+ *     uses the database named in the URI
+ */
+public class LoadMongo implements AutoCloseable {
+
+    private static final Duration STARTUP_TIMEOUT = Duration.ofSeconds(60);
+    private static final String DEFAULT_DATABASE = "loadtest";
+
+    private final String uri;
+    private final String database;
+    private final String description;
+    private final MongoServer server;
+    private final Process mongod;
+    private final Path dbPath;
+
+    private LoadMongo(String uri, String description, MongoServer server, Process mongod, Path dbPath) {
+        this.uri = uri;
+        this.database = Optional.ofNullable(new ConnectionString(uri).getDatabase()).orElse(DEFAULT_DATABASE);
+        this.description = description;
+        this.server = server;
+        this.mongod = mongod;
+        this.dbPath = dbPath;
+    }
+
+    public static LoadMongo inProcess(String database) {
+        MongoServer server = new MongoServer(new MemoryBackend());
+        String uri = server.bindAndGetConnectionString() + "/" + database;
+        return new LoadMongo(uri, "in-process mongo-java-server", server, null, null);
+    }
+
+    public static LoadMongo mongod(String binary, String database) throws IOException, InterruptedException {
+        Path dbPath = Files.createTempDirectory("sslp-loadtest-mongod");
+        int port;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            port = socket.getLocalPort();
+        }
+        Process process = new ProcessBuilder(binary, "--dbpath", dbPath.toString(), "--port", String.valueOf(port),
+                "--bind_ip", "127.0.0.1")
+                .redirectErrorStream(true)
+                .redirectOutput(dbPath.resolve("mongod.log").toFile())
+                .start();
+
+        LoadMongo mongo = new LoadMongo("mongodb://127.0.0.1:" + port + "/" + database,
+                binary + " (dbpath " + dbPath + ")", null, process, dbPath);
+        long deadline = System.nanoTime() + STARTUP_TIMEOUT.toNanos();
+        while (!accepts(port)) {
+            if (!process.isAlive() || System.nanoTime() > deadline) {
+                String log = Files.readString(dbPath.resolve("mongod.log"));
+                mongo.close();
+                throw new IllegalStateException("mongod did not start on port " + port + ":\n" + log);
+            }
+            Thread.sleep(200);
+        }
+        return mongo;
+    }
+
+    public static LoadMongo external(String uri) {
+        return new LoadMongo(uri, "external " + uri, null, null, null);
+    }
+
+    public String getUri() {
+        return uri;
+    }
+
+    public String getDatabase() {
+        return database;
+    }
+
+    // Neither started nor stopped here, so its data may not be ours
+    public boolean isExternal() {
+        return server == null && mongod == null;
+    }
+
+    // Only a real mongod has the indexes and update support the scenarios rely on
+    public boolean isComparable() {
+        return server == null;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    @Override
+    public void close() {
+        if (server != null) {
+            server.shutdownNow();
+        }
+        if (mongod != null) {
+            mongod.destroy();
+            try {
+                mongod.waitFor();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            deleteRecursively(dbPath);
+        }
+    }
+
+    private static boolean accepts(int port) {
+        try (Socket socket = new Socket()) {
+            socket.connect(new InetSocketAddress("127.0.0.1", port), 200);
+            return true;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private static void deleteRecursively(Path path) {
+        try (Stream<Path> files = Files.walk(path)) {
+            files.sorted(Comparator.reverseOrder()).forEach(file -> file.toFile().delete());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package net.javaguides.sslp.load;
+
+import java.net.http.HttpRequest;
+import java.util.function.IntFunction;
+
+// One kind of request in a workload mix, picked in proportion to its weight
+public class LoadOperation {
+
+    private final String endpoint;
+    private final int weight;
+    private final IntFunction<HttpRequest> requestFactory;
+
+    // requestFactory gets a per-request sequence number so workers can vary ids and payloads
+    public LoadOperation(String endpoint, int weight, IntFunction<HttpRequest> requestFactory) {
+        this.endpoint = endpoint;
+        this.weight = weight;
+        this.requestFactory = requestFactory;
+    }
+
+    public String getEndpoint() {
+        return endpoint;
+    }
+
+    public int getWeight() {
+        return weight;
+    }
+
+    public HttpRequest request(int sequence) {
+        return requestFactory.apply(sequence);
+    }
+}
@@ -0,0 +1,59 @@
+package net.javaguides.sslp.load;
+
+import java.util.Arrays;
+
+// Throughput and latency percentiles of one closed-loop run against one endpoint
+public class LoadResult {
+
+    private final String scenario;
+    private final String endpoint;
+    private final int concurrency;
+    private final long requests;
+    private final long errors;
+    private final double seconds;
+    private final long[] sortedLatenciesNanos;
+    private int maxInFlight = -1;
+
+    public LoadResult(String scenario, String endpoint, int concurrency, long errors, double seconds, long[] latenciesNanos) {
+        this.scenario = scenario;
+        this.endpoint = endpoint;
+        this.concurrency = concurrency;
+        this.requests = latenciesNanos.length;
+        this.errors = errors;
+        this.seconds = seconds;
+        this.sortedLatenciesNanos = latenciesNanos;
+        Arrays.sort(this.sortedLatenciesNanos);
+    }
+
+    public static String header() {
+        return String.format("%-10s %-46s %6s %10s %9s %9s %9s %9s %9s %8s",
+                "scenario", "endpoint", "conc", "req/s", "p50 ms", "p90 ms", "p99 ms", "max ms", "inflight", "errors");
+    }
+
+    public String row() {
+        return String.format("%-10s %-46s %6d %10.1f %9.2f %9.2f %9.2f %9.2f %9s %8d",
+                scenario, endpoint, concurrency, requests / seconds,
+                percentileMillis(0.50), percentileMillis(0.90), percentileMillis(0.99), percentileMillis(1.0),
+                maxInFlight >= 0 ? String.valueOf(maxInFlight) : "-", errors);
+    }
+
+    public double percentileMillis(double percentile) {
+        if (sortedLatenciesNanos.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile * sortedLatenciesNanos.length) - 1;
+        return sortedLatenciesNanos[Math.max(0, index)] / 1_000_000.0;
+    }
+
+    public long getRequests() {
+        return requests;
+    }
+
+    public long getErrors() {
+        return errors;
+    }
+
+    public void setMaxInFlight(int maxInFlight) {
+        this.maxInFlight = maxInFlight;
+    }
+}
@@ -0,0 +1,187 @@
+package net.javaguides.sslp.load;
+
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import net.javaguides.sslp.SslpBackendApplication;
+import net.javaguides.sslp.index.InMemoryIndex;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * End-to-end throughput of the real /api endpoints against a seeded,
+ * throw-away MongoDB.
+ *
+ * Mongo is chosen by {@link LoadMongo}: load.mongod starts the given mongod
+ * binary on a temporary dbpath, and load.mongoUri uses a running server and
+ * the database named in the URI ("loadtest" if it names none). That database
+ * must be empty or absent; an existing one is never dropped. One of the two
+ * is required. load.inProcess=true runs against mongo-java-server instead,
+ * which has no secondary indexes and no pipeline updates: such a run only
+ * checks that the scenario works, and its results are marked as not
+ * comparable.
+ *
+ * After seeding (load.seed.*) and waiting for the in-memory indexes, two
+ * mixes run at each concurrency level: "browse" is read-heavy, "write" is
+ * dominated by enrollments and module completions. Every endpoint of a mix is
+ * reported separately with throughput, p50/p90/p99 and max latency.
+ *
+ *   mvn -Ploadtest verify -DskipTests -Dloadtest.main=net.javaguides.sslp.load.MixedWorkload -Dload.mongod=/usr/bin/mongod
+ *   ... -Dload.mongoUri=mongodb://localhost:27017/sslp_loadtest
+ *   ... -Dload.seed.skills=10000 -Dload.seed.progress=100000 -Dload.concurrency=16,64
+ *   ... -Dload.inProcess=true   (smoke run only)
+ */
+public class MixedWorkload {
+
+    // Enrollment emails stay unique across all runs of one JVM
+    private static final AtomicInteger ENROLLMENTS = new AtomicInteger();
+
+    private static final String DEFAULT_DATABASE = "loadtest";
+
+    public static void main(String[] args) throws Exception {
+        Duration warmup = Duration.ofSeconds(Long.getLong("load.warmupSec", 3));
+        Duration duration = Duration.ofSeconds(Long.getLong("load.durationSec", 15));
+        int[] concurrencyLevels = Arrays.stream(System.getProperty("load.concurrency", "50,200,800").split(","))
+                .map(String::trim).mapToInt(Integer::parseInt).toArray();
+        SeedData data = new SeedData(
+                Integer.getInteger("load.seed.courses", 200),
+                Integer.getInteger("load.seed.skills", 100_000),
+                Integer.getInteger("load.seed.progress", 1_000_000),
+                Integer.getInteger("load.seed.enrollments", 100_000));
+
+        String mongoUri = System.getProperty("load.mongoUri", "");
+        String mongodBinary = System.getProperty("load.mongod", "");
+        boolean inProcess = Boolean.getBoolean("load.inProcess");
+        if (mongoUri.isBlank() && mongodBinary.isBlank() && !inProcess) {
+            throw new IllegalStateException("Set -Dload.mongod=<path to mongod> or -Dload.mongoUri=<uri>; "
+                    + "-Dload.inProcess=true runs against mongo-java-server, whose results are not comparable");
+        }
+        try (LoadMongo mongo = !mongoUri.isBlank() ? LoadMongo.external(mongoUri)
+                : !mongodBinary.isBlank() ? LoadMongo.mongod(mongodBinary, DEFAULT_DATABASE)
+                : LoadMongo.inProcess(DEFAULT_DATABASE)) {
+            System.out.println("MongoDB: " + mongo.getDescription());
+            List<LoadResult> results = run(mongo, data, concurrencyLevels, warmup, duration);
+
+            System.out.println();
+            System.out.println("MongoDB: " + mongo.getDescription());
+            if (!mongo.isComparable()) {
+                System.out.println("NOT COMPARABLE: in-process mongo-java-server scans instead of using indexes"
+                        + " and fails module completions");
+            }
+            System.out.printf("Seed: %,d courses, %,d skills, %,d progress rows (%,d users)%n",
+                    data.getCourses(), data.getSkills(), data.getProgress(), data.getUsers());
+            System.out.println(LoadResult.header());
+            results.forEach(result -> System.out.println(result.row()));
+        }
+    }
+
+    private static List<LoadResult> run(LoadMongo mongo, SeedData data, int[] concurrencyLevels,
+                                        Duration warmup, Duration duration) throws Exception {
+        String mongoUri = mongo.getUri();
+        try (MongoClient client = MongoClients.create(mongoUri)) {
+            MongoTemplate mongoTemplate = new MongoTemplate(client, mongo.getDatabase());
+            // The servers started here are brand new; an external one may hold data that is not ours to drop
+            if (mongo.isExternal() && mongoTemplate.getDb().listCollectionNames().first() != null) {
+                throw new IllegalStateException("Database " + mongo.getDatabase() + " on " + mongoUri
+                        + " is not empty; drop it first or name an unused database in load.mongoUri");
+            }
+            data.seed(mongoTemplate);
+        }
+
+        List<LoadResult> results = new ArrayList<>();
+        try (ConfigurableApplicationContext app = new SpringApplicationBuilder(SslpBackendApplication.class)
+                .properties(
+                        "spring.main.banner-mode=off",
+                        "logging.level.root=WARN",
+                        // The in-process server logs a stack trace for every unsupported command
+                        "logging.level.de.bwaldvogel.mongo.wire=OFF")
+                // Arguments, not default properties: these must win over application.properties
+                .run("--server.port=0",
+                        "--spring.data.mongodb.uri=" + mongoUri,
+                        // Real indexes for realistic query costs; explain() is not needed for the run
+                        "--sslp.mongo.indexes.ensure-on-startup=true",
+                        "--sslp.mongo.indexes.report-on-startup=false")) {
+
+            awaitInMemoryIndexes(app);
+            String base = "http://localhost:" + ((WebServerApplicationContext) app).getWebServer().getPort();
+            LoadDriver driver = new LoadDriver();
+
+            for (String mix : List.of("browse", "write")) {
+                List<LoadOperation> operations = operations(mix, base, data);
+                for (int concurrency : concurrencyLevels) {
+                    List<LoadResult> mixResults = driver.runMix(mix, operations, concurrency, warmup, duration);
+                    mixResults.forEach(result -> System.out.println(result.row()));
+                    results.addAll(mixResults);
+                }
+            }
+        }
+        return results;
+    }
+
+    // Weights per mix, in order: catalog, skill page, progress by user, enroll, complete module
+    private static List<LoadOperation> operations(String mix, String base, SeedData data) {
+        int[] weights = "browse".equals(mix) ? new int[]{30, 25, 35, 5, 5} : new int[]{10, 10, 20, 30, 30};
+        return List.of(
+                new LoadOperation("GET /api/learnings?fields=summary", weights[0],
+                        seq -> get(base + "/api/learnings?fields=summary")),
+                new LoadOperation("GET /api/skills?limit=20&after={id}", weights[1],
+                        seq -> get(base + "/api/skills?limit=20&after=" + SeedData.id(random(data.getSkills())))),
+                new LoadOperation("GET /api/progress/user/{userId}", weights[2],
+                        seq -> get(base + "/api/progress/user/" + SeedData.userId(random(data.getUsers())))),
+                new LoadOperation("POST /api/enrollments", weights[3],
+                        seq -> post(base + "/api/enrollments", enrollmentJson(ENROLLMENTS.incrementAndGet(), random(data.getCourses())))),
+                new LoadOperation("POST /api/progress/{id}/modules/{m}/complete", weights[4], seq -> {
+                    int row = random(data.getProgress());
+                    int module = 1 + random(SeedData.modulesOf(data.courseOfProgress(row)));
+                    return post(base + "/api/progress/" + SeedData.id(row) + "/modules/m" + module + "/complete", null);
+                }));
+    }
+
+    private static void awaitInMemoryIndexes(ConfigurableApplicationContext app) throws InterruptedException {
+        long start = System.nanoTime();
+        List<InMemoryIndex<?, ?>> indexes = new ArrayList<>();
+        app.getBeansOfType(InMemoryIndex.class).values().forEach(indexes::add);
+        long deadline = start + Duration.ofMinutes(10).toNanos();
+        while (!indexes.stream().allMatch(InMemoryIndex::isReady)) {
+            if (System.nanoTime() > deadline) {
+                throw new IllegalStateException("In-memory indexes not ready after 10 minutes, see the log for build failures");
+            }
+            Thread.sleep(500);
+        }
+        System.out.printf("%d in-memory indexes ready after %.1f s%n", indexes.size(), (System.nanoTime() - start) / 1e9);
+    }
+
+    private static String enrollmentJson(int n, int course) {
+        return String.format("{\"fullName\":\"Load %1$d\",\"emailAddress\":\"load-%1$d@example.com\","
+                + "\"nicNumber\":\"%1$09dV\",\"phoneNumber\":\"07%1$08d\",\"courseId\":\"%2$s\","
+                + "\"courseName\":\"Course %3$d\",\"learningMode\":\"Online\"}", n, SeedData.courseId(course), course);
+    }
+
+    private static HttpRequest get(String url) {
+        return HttpRequest.newBuilder(URI.create(url)).GET().build();
+    }
+
+    private static HttpRequest post(String url, String json) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(url));
+        if (json == null) {
+            return builder.POST(HttpRequest.BodyPublishers.noBody()).build();
+        }
+        return builder.header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+    }
+
+    private static int random(int bound) {
+        return ThreadLocalRandom.current().nextInt(bound);
+    }
+}
@@ -0,0 +1,178 @@
+package net.javaguides.sslp.load;
+
+import net.javaguides.sslp.model.Enrollment;
+import net.javaguides.sslp.model.Learning;
+import net.javaguides.sslp.model.Skill;
+import net.javaguides.sslp.model.SkillProgress;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.IntFunction;
+
+/**
+ * Deterministic data set for the end-to-end load test, written through
+ * MongoTemplate so the documents are mapped exactly as the application
+ * writes them.
+ *
+ * Ids are derived from row numbers (the same 24-hex-digit form as an
+ * ObjectId) so the workload can address any seeded document without reading
+ * it back first. Progress rows are laid out {@link #PROGRESS_PER_USER} per
+ * user, each user on distinct courses.
+ */
+public class SeedData {
+
+    static final int PROGRESS_PER_USER = 20;
+
+    private static final int BATCH_SIZE = 1000;
+    private static final String[] LEVELS = {"Beginner", "Intermediate", "Advanced", "Expert"};
+    private static final String[] LEARNING_MODES = {"Online", "Physical", "Hybrid"};
+    private static final String[] TOPICS = {
+            "java", "spring", "mongodb", "react", "docker", "kubernetes", "python", "sql", "aws", "testing",
+            "design", "ux", "figma", "writing", "marketing", "seo", "photography", "video", "music", "guitar",
+            "cooking", "baking", "fitness", "yoga", "running", "finance", "excel", "statistics", "ml", "nlp",
+            "security", "networking", "linux", "git", "devops", "android", "ios", "flutter", "go", "rust",
+            "public-speaking", "leadership", "negotiation", "spanish", "french", "japanese", "drawing",
+            "painting", "3d", "gamedev", "blockchain", "embedded", "arduino", "robotics", "electronics",
+            "woodwork", "gardening", "chess", "sketching", "calligraphy"};
+
+    private final int courses;
+    private final int skills;
+    private final int progress;
+    private final int enrollments;
+
+    public SeedData(int courses, int skills, int progress, int enrollments) {
+        if (courses < PROGRESS_PER_USER) {
+            throw new IllegalArgumentException("Need at least " + PROGRESS_PER_USER + " courses, got " + courses);
+        }
+        this.courses = courses;
+        this.skills = skills;
+        this.progress = progress;
+        this.enrollments = enrollments;
+    }
+
+    public void seed(MongoTemplate mongoTemplate) {
+        Random random = new Random(42);
+        insert(mongoTemplate, Learning.class, courses, this::learning);
+        insert(mongoTemplate, Skill.class, skills, i -> skill(i, random));
+        insert(mongoTemplate, SkillProgress.class, progress, i -> progress(i, random));
+        insert(mongoTemplate, Enrollment.class, enrollments, i -> enrollment(i, random));
+    }
+
+    public static String id(int row) {
+        return String.format("%024x", row);
+    }
+
+    public static String courseId(int course) {
+        return String.format("C%04d", course);
+    }
+
+    public static String userId(int user) {
+        return "user-" + user;
+    }
+
+    public static int modulesOf(int course) {
+        return 6 + course % 7;
+    }
+
+    public int getCourses() {
+        return courses;
+    }
+
+    public int getSkills() {
+        return skills;
+    }
+
+    public int getProgress() {
+        return progress;
+    }
+
+    public int getUsers() {
+        return (progress + PROGRESS_PER_USER - 1) / PROGRESS_PER_USER;
+    }
+
+    // Course of a progress row: consecutive rows of one user land on distinct courses
+    public int courseOfProgress(int row) {
+        int user = row / PROGRESS_PER_USER;
+        return (user * 7 + row % PROGRESS_PER_USER) % courses;
+    }
+
+    private <T> void insert(MongoTemplate mongoTemplate, Class<T> type, int count, IntFunction<T> factory) {
+        long start = System.nanoTime();
+        List<T> batch = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < count; i++) {
+            batch.add(factory.apply(i));
+            if (batch.size() == BATCH_SIZE) {
+                mongoTemplate.insert(batch, type);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            mongoTemplate.insert(batch, type);
+        }
+        System.out.printf("Seeded %,d %s in %.1f s%n", count, mongoTemplate.getCollectionName(type),
+                (System.nanoTime() - start) / 1e9);
+    }
+
+    private Learning learning(int course) {
+        List<Learning.CourseContent> content = new ArrayList<>();
+        for (int m = 1; m <= modulesOf(course); m++) {
+            content.add(new Learning.CourseContent("m" + m,
+                    List.of(topic(course + m), topic(course + 2 * m), topic(course + 3 * m))));
+        }
+        return new Learning(courseId(course), "Course " + course + ": " + topic(course), 50 + course % 20 * 10,
+                "Hands-on introduction to " + topic(course) + " and " + topic(course + 1) + ".",
+                (4 + course % 8) + " weeks", "Junior " + topic(course) + " roles", content);
+    }
+
+    private Skill skill(int row, Random random) {
+        Skill skill = new Skill();
+        skill.setId(id(row));
+        skill.setName("Member " + row % 40_000);
+        skill.setEmailAddress("member-" + row % 40_000 + "@example.com");
+        List<String> tags = new ArrayList<>();
+        for (int t = 1 + random.nextInt(4); t > 0; t--) {
+            // Squared draw: a few popular tags, a long tail of rare ones
+            String tag = TOPICS[(int) (Math.pow(random.nextDouble(), 2) * TOPICS.length)];
+            if (!tags.contains(tag)) {
+                tags.add(tag);
+            }
+        }
+        skill.setTags(tags);
+        skill.setSkillTitle(tags.get(0) + " " + LEVELS[row % LEVELS.length].toLowerCase() + " practice");
+        skill.setSkillDescription("I use " + String.join(", ", tags) + " at work and in side projects.");
+        skill.setHowYouUseIt("Weekly projects with " + tags.get(tags.size() - 1));
+        skill.setExperienceLevel(LEVELS[random.nextInt(LEVELS.length)]);
+        skill.setAvailabilityForCollaboration(random.nextInt(10) < 3);
+        skill.setDate(LocalDate.of(2024, 1, 1).plusDays(row % 700));
+        skill.setTime(LocalTime.of(row % 24, row % 60));
+        return skill;
+    }
+
+    private SkillProgress progress(int row, Random random) {
+        int course = courseOfProgress(row);
+        int total = modulesOf(course);
+        int done = random.nextInt(total + 1);
+        List<String> completed = new ArrayList<>(done);
+        for (int m = 1; m <= done; m++) {
+            completed.add("m" + m);
+        }
+        double percentage = Math.round(10_000.0 * done / total) / 100.0;
+        return new SkillProgress(id(row), userId(row / PROGRESS_PER_USER), courseId(course), completed, total,
+                percentage, done == total, done >= total / 2 ? List.of("halfway") : List.of(), null);
+    }
+
+    private Enrollment enrollment(int row, Random random) {
+        int course = random.nextInt(courses);
+        return new Enrollment("Learner " + row, "learner-" + row + "@example.com", String.format("%09dV", row),
+                String.format("07%08d", row), courseId(course), "Course " + course + ": " + topic(course),
+                LEARNING_MODES[row % LEARNING_MODES.length]);
+    }
+
+    private static String topic(int index) {
+        return TOPICS[index % TOPICS.length];
+    }
+}
@@ -0,0 +1,69 @@
+package net.javaguides.sslp.load;
+
+import net.javaguides.sslp.model.SkillProgress;
+import net.javaguides.sslp.repo.SkillProgressRepository;
+import org.springframework.context.ApplicationContextInitializer;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.support.GenericApplicationContext;
+
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Replaces SkillProgressRepository with a primary bean that blocks for a fixed "network round trip" and return canned data. This
+ * isolates the thread model from Atlas variance and makes runs repeatable.
+ * The stubs also count how many calls were in flight at the same time, which
+ * is the concurrency the server actually achieved.
+ */
+public class SimulatedLatencyRepositories implements ApplicationContextInitializer<ConfigurableApplicationContext> {
+
+    private final Duration latency;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+    private final List<SkillProgress> progress = new ArrayList<>();
+
+    public SimulatedLatencyRepositories(Duration latency) {
+        this.latency = latency;
+        for (int i = 0; i < 5; i++) {
+            progress.add(new SkillProgress(String.format("%024x", i), "user-1", "C" + i, List.of("m1", "m2"),
+                    8, 25.0, false, List.of("starter"), "Keep going"));
+        }
+    }
+
+    @Override
+    public void initialize(ConfigurableApplicationContext context) {
+        GenericApplicationContext registry = (GenericApplicationContext) context;
+        registry.registerBean("simulatedSkillProgressRepository", SkillProgressRepository.class,
+                () -> stub(SkillProgressRepository.class), definition -> definition.setPrimary(true));
+    }
+
+    public int resetMaxInFlight() {
+        return maxInFlight.getAndSet(0);
+    }
+
+    private <T> T stub(Class<T> repositoryType) {
+        Object proxy = Proxy.newProxyInstance(repositoryType.getClassLoader(), new Class<?>[]{repositoryType},
+                (self, method, args) -> switch (method.getName()) {
+                    case "findById" -> roundTrip(progress.stream().filter(p -> p.getId().equals(args[0])).findFirst());
+                    case "findByUserId" -> roundTrip(progress);
+                    case "toString" -> "Simulated" + repositoryType.getSimpleName();
+                    case "hashCode" -> System.identityHashCode(self);
+                    case "equals" -> self == args[0];
+                    default -> throw new UnsupportedOperationException(method.getName() + " is not simulated");
+                });
+        return repositoryType.cast(proxy);
+    }
+
+    private Object roundTrip(Object result) throws InterruptedException {
+        maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+        try {
+            Thread.sleep(latency.toMillis());
+            return result;
+        } finally {
+            inFlight.decrementAndGet();
+        }
+    }
+}
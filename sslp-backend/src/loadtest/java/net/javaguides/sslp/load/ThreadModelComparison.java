@@ -0,0 +1,92 @@
+package net.javaguides.sslp.load;
+
+import net.javaguides.sslp.SslpBackendApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Platform threads vs virtual threads on the servlet stack.
+ *
+ * Starts the application in-process once per thread model, with repositories
+ * that block for a simulated Atlas round trip (load.latencyMs), and drives
+ * GET /api/progress/user/{userId} and GET /api/progress/{id} at increasing
+ * concurrency. Prints throughput, p50/p99 latency and the highest number of
+ * repository calls in flight, i.e. the concurrency the server really reached.
+ *
+ *   mvn -Ploadtest verify -DskipTests
+ *   mvn -Ploadtest verify -DskipTests -Dload.concurrency=100,400 -Dload.durationSec=30
+ *
+ * The virtual-thread half needs a Java 21+ runtime and is skipped otherwise.
+ */
+public class ThreadModelComparison {
+
+    public static void main(String[] args) throws Exception {
+        Duration latency = Duration.ofMillis(Long.getLong("load.latencyMs", 50));
+        Duration warmup = Duration.ofSeconds(Long.getLong("load.warmupSec", 3));
+        Duration duration = Duration.ofSeconds(Long.getLong("load.durationSec", 15));
+        int[] concurrencyLevels = parseLevels(System.getProperty("load.concurrency", "50,200,800"));
+
+        List<LoadResult> results = new ArrayList<>();
+        results.addAll(runScenario("platform", false, latency, warmup, duration, concurrencyLevels));
+        if (Runtime.version().feature() >= 21) {
+            results.addAll(runScenario("virtual", true, latency, warmup, duration, concurrencyLevels));
+        } else {
+            System.out.println("Skipping the virtual-thread scenario: Java " + Runtime.version().feature() + " < 21;"
+                    + " run Maven with a JDK 21+ JAVA_HOME for the platform-vs-virtual comparison");
+        }
+
+        System.out.println();
+        System.out.println("Simulated repository latency " + latency.toMillis() + " ms, Tomcat max threads 200");
+        System.out.println(LoadResult.header());
+        results.forEach(result -> System.out.println(result.row()));
+    }
+
+    private static List<LoadResult> runScenario(String scenario, boolean virtualThreads, Duration latency,
+                                                Duration warmup, Duration duration, int[] concurrencyLevels) throws Exception {
+        SimulatedLatencyRepositories repositories = new SimulatedLatencyRepositories(latency);
+        List<LoadResult> results = new ArrayList<>();
+
+        try (ConfigurableApplicationContext app = new SpringApplicationBuilder(SslpBackendApplication.class)
+                .initializers(repositories)
+                .properties(
+                        "spring.main.banner-mode=off",
+                        "logging.level.root=WARN",
+                        "logging.level.org.mongodb.driver=OFF")
+                // Arguments, not default properties: these must win over application.properties
+                .run("--server.port=0",
+                        "--spring.threads.virtual.enabled=" + virtualThreads,
+                        // Nothing may reach a real cluster; every call must pay the simulated latency
+                        "--spring.data.mongodb.uri=mongodb://127.0.0.1:1/loadtest",
+                        "--sslp.mongo.indexes.ensure-on-startup=false",
+                        "--sslp.mongo.indexes.report-on-startup=false",
+                        "--sslp.indexes.build-on-startup=false")) {
+
+            int port = ((WebServerApplicationContext) app).getWebServer().getPort();
+            String base = "http://localhost:" + port;
+            LoadDriver driver = new LoadDriver();
+
+            for (String endpoint : List.of("/api/progress/user/user-1", "/api/progress/" + String.format("%024x", 1))) {
+                HttpRequest request = HttpRequest.newBuilder(URI.create(base + endpoint)).GET().build();
+                for (int concurrency : concurrencyLevels) {
+                    repositories.resetMaxInFlight();
+                    LoadResult result = driver.run(scenario, endpoint, seq -> request, concurrency, warmup, duration);
+                    result.setMaxInFlight(repositories.resetMaxInFlight());
+                    System.out.println(result.row());
+                    results.add(result);
+                }
+            }
+        }
+        return results;
+    }
+
+    private static int[] parseLevels(String levels) {
+        return java.util.Arrays.stream(levels.split(",")).map(String::trim).mapToInt(Integer::parseInt).toArray();
+    }
+}
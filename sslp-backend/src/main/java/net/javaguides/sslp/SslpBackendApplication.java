@@ -2,7 +2,12 @@ package net.javaguides.sslp;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
 @SpringBootApplication
+@EnableAsync
+@EnableScheduling
 public class SslpBackendApplication {
 
 	public static void main(String[] args) {
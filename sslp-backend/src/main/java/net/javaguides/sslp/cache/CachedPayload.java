@@ -0,0 +1,94 @@
+package net.javaguides.sslp.cache;
+
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Serialized JSON together with a strong ETag derived from those exact
+ * bytes, so cache hits are written out without touching Jackson.
+ *
+ * Values that are immutable (e.g. an unmodifiable list of LearningSummary)
+ * are kept next to the bytes and shared by every getValue(). Mutable
+ * entities are not: for those only the bytes are kept and getValue() decodes
+ * a fresh copy on every call, so a caller that mutates the result cannot
+ * change what the cache serves or make it disagree with the ETag. That
+ * decode costs as much as a parse of the whole payload, so internal readers
+ * of the catalog should use the shared summaries.
+ */
+public class CachedPayload<T> {
+
+    private final byte[] json;
+    // Exactly one of the two is set
+    private final T value;
+    private final ObjectReader reader;
+    private final String etag;
+
+    // For mutable values: each getValue() decodes json with the reader
+    public CachedPayload(byte[] json, ObjectReader reader) {
+        this.json = json;
+        this.value = null;
+        this.reader = reader;
+        this.etag = strongEtag(json);
+    }
+
+    // For values that cannot be modified; value must be what json decodes to
+    public CachedPayload(byte[] json, T value) {
+        this.json = json;
+        this.value = value;
+        this.reader = null;
+        this.etag = strongEtag(json);
+    }
+
+    public T getValue() {
+        if (reader == null) {
+            return value;
+        }
+        try {
+            return reader.readValue(json);
+        } catch (IOException e) {
+            // The bytes were written by the same ObjectMapper
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public byte[] getJson() {
+        return json;
+    }
+
+    public String getEtag() {
+        return etag;
+    }
+
+    // If-None-Match may be "*" or a comma separated list of (possibly weak) tags
+    public boolean matches(String ifNoneMatch) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals("*") || tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String strongEtag(byte[] json) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(json);
+            return "\"" + HexFormat.of().formatHex(digest, 0, 16) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            // Every JRE is required to ship SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+
+}
@@ -0,0 +1,97 @@
+package net.javaguides.sslp.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import net.javaguides.sslp.dto.LearningSummary;
+import net.javaguides.sslp.model.Learning;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Read-through cache for the course catalog. Entries are weighed by their
+ * serialized size so the cache is bounded in bytes, not entry count.
+ *
+ * Loads run inside Caffeine's per-key compute, and invalidate() waits for an
+ * in-flight load of the same key; evicting after the Mongo write therefore
+ * never leaves a stale entry behind.
+ */
+@Component
+public class LearningCatalogCache {
+
+    private static final String CATALOG_KEY = "catalog";
+    private static final String SUMMARY_KEY = "summary";
+    private static final String ID_PREFIX = "id:";
+
+    private final ObjectMapper objectMapper;
+    private final ObjectReader catalogReader;
+    private final ObjectReader learningReader;
+    private final Cache<String, CachedPayload<?>> cache;
+
+    @Autowired
+    public LearningCatalogCache(ObjectMapper objectMapper,
+                                @Value("${sslp.cache.learnings.max-bytes:16777216}") long maxBytes,
+                                @Value("${sslp.cache.learnings.ttl:10m}") Duration ttl) {
+        this.objectMapper = objectMapper;
+        this.catalogReader = objectMapper.readerFor(new TypeReference<List<Learning>>() { });
+        this.learningReader = objectMapper.readerFor(Learning.class);
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((String key, CachedPayload<?> payload) -> payload.getJson().length)
+                // Safety net for writes made outside this service (e.g. the Atlas console)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    @SuppressWarnings("unchecked")
+    public CachedPayload<List<Learning>> getCatalog(Supplier<List<Learning>> loader) {
+        return (CachedPayload<List<Learning>>) cache.get(CATALOG_KEY, key -> serialize(loader.get(), catalogReader));
+    }
+
+    @SuppressWarnings("unchecked")
+    public CachedPayload<List<LearningSummary>> getSummaries(Supplier<List<LearningSummary>> loader) {
+        // LearningSummary is immutable, so the decoded list is shared instead of parsed again on every read
+        return (CachedPayload<List<LearningSummary>>) cache.get(SUMMARY_KEY, key -> {
+            List<LearningSummary> summaries = List.copyOf(loader.get());
+            return new CachedPayload<>(toJson(summaries), summaries);
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    public Optional<CachedPayload<Learning>> getLearning(String id, Supplier<Optional<Learning>> loader) {
+        // Misses are not cached; Caffeine skips the entry when the mapping function returns null
+        return Optional.ofNullable((CachedPayload<Learning>) cache.get(ID_PREFIX + id,
+                key -> loader.get().map(learning -> serialize(learning, learningReader)).orElse(null)));
+    }
+
+    public void invalidateCatalog() {
+        cache.invalidate(CATALOG_KEY);
+        cache.invalidate(SUMMARY_KEY);
+    }
+
+    public void invalidateLearning(String id) {
+        cache.invalidate(ID_PREFIX + id);
+        invalidateCatalog();
+    }
+
+    private <T> CachedPayload<T> serialize(T value, ObjectReader reader) {
+        return new CachedPayload<>(toJson(value), reader);
+    }
+
+    private byte[] toJson(Object value) {
+        try {
+            return objectMapper.writeValueAsBytes(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize learning catalog entry", e);
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package net.javaguides.sslp.config;
+
+import org.apache.catalina.connector.Connector;
+import org.springframework.boot.web.embedded.tomcat.TomcatConnectorCustomizer;
+import org.springframework.stereotype.Component;
+
+/**
+ * Tomcat answers "Expect: 100-continue" as soon as the request arrives by
+ * default. Answering only when the application first reads the body lets a
+ * material upload for an unknown course, or with a declared length over the
+ * limit, be refused without the client ever sending the body.
+ */
+@Component
+public class ExpectContinueOnRead implements TomcatConnectorCustomizer {
+
+    @Override
+    public void customize(Connector connector) {
+        connector.setProperty("continueResponseTiming", "onRead");
+    }
+}
@@ -0,0 +1,56 @@
+package net.javaguides.sslp.config;
+
+import org.bson.Document;
+
+import java.util.List;
+
+// Helpers for explain output, which differs between the classic and SBE engines and between find and aggregate
+final class ExplainPlans {
+
+    private ExplainPlans() {
+    }
+
+    // Walks inputStage / inputStages / queryPlan (SBE) without caring about the exact plan shape
+    static boolean containsStage(Object node, String stage) {
+        if (node instanceof Document document) {
+            if (stage.equals(document.get("stage"))) {
+                return true;
+            }
+            for (Object child : document.values()) {
+                if (containsStage(child, stage)) {
+                    return true;
+                }
+            }
+        } else if (node instanceof List<?> list) {
+            for (Object child : list) {
+                if (containsStage(child, stage)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    // First sub-document stored under key, depth-first (aggregate nests queryPlanner under stages[0].$cursor)
+    static Document find(Object node, String key) {
+        if (node instanceof Document document) {
+            if (document.get(key) instanceof Document found) {
+                return found;
+            }
+            for (Object child : document.values()) {
+                Document found = find(child, key);
+                if (found != null) {
+                    return found;
+                }
+            }
+        } else if (node instanceof List<?> list) {
+            for (Object child : list) {
+                Document found = find(child, key);
+                if (found != null) {
+                    return found;
+                }
+            }
+        }
+        return null;
+    }
+}
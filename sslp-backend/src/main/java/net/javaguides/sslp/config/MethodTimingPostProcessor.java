@@ -0,0 +1,146 @@
+package net.javaguides.sslp.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.ClassFilter;
+import org.springframework.aop.framework.AbstractAdvisingBeanPostProcessor;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.StaticMethodMatcherPointcut;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Times every public method of the application's controllers and services
+ * (classes ending in Service or ServiceImpl) as {@code method.timed}, the
+ * same name and class/method/exception tags Micrometer's @Timed aspect uses.
+ *
+ * Methods returning Mono or Flux are timed from subscription to the
+ * terminal signal rather than until the publisher is assembled. A
+ * subscription cancelled first (a streaming client that disconnected) is
+ * recorded with exception "cancelled".
+ */
+@Component
+public class MethodTimingPostProcessor extends AbstractAdvisingBeanPostProcessor {
+
+    private static final String METRIC = "method.timed";
+    private static final String BASE_PACKAGE = "net.javaguides.sslp.";
+    private static final String NONE = "none";
+    private static final String CANCELLED = "cancelled";
+
+    public MethodTimingPostProcessor(ObjectProvider<MeterRegistry> meterRegistry) {
+        setProxyTargetClass(true);
+        setBeforeExistingAdvisors(true);
+        this.advisor = new DefaultPointcutAdvisor(new TimedMethods(), new TimingInterceptor(meterRegistry));
+    }
+
+    static boolean isTimed(Class<?> type) {
+        if (!type.getName().startsWith(BASE_PACKAGE)) {
+            return false;
+        }
+        String name = type.getSimpleName();
+        return name.endsWith("Service") || name.endsWith("ServiceImpl")
+                || AnnotatedElementUtils.hasAnnotation(type, RestController.class);
+    }
+
+    private static final class TimedMethods extends StaticMethodMatcherPointcut {
+
+        @Override
+        public ClassFilter getClassFilter() {
+            return MethodTimingPostProcessor::isTimed;
+        }
+
+        @Override
+        public boolean matches(Method method, Class<?> targetClass) {
+            return Modifier.isPublic(method.getModifiers()) && method.getDeclaringClass() != Object.class;
+        }
+    }
+
+    private static final class TimingInterceptor implements MethodInterceptor {
+
+        // Looked up on first call: a post-processor must not pull the registry in while beans are still being created
+        private final ObjectProvider<MeterRegistry> meterRegistry;
+
+        TimingInterceptor(ObjectProvider<MeterRegistry> meterRegistry) {
+            this.meterRegistry = meterRegistry;
+        }
+
+        @Override
+        public Object invoke(MethodInvocation invocation) throws Throwable {
+            MeterRegistry registry = meterRegistry.getIfAvailable();
+            if (registry == null) {
+                return invocation.proceed();
+            }
+            String type = AopUtils.getTargetClass(invocation.getThis()).getSimpleName();
+            String method = invocation.getMethod().getName();
+
+            Timer.Sample sample = Timer.start(registry);
+            Object result;
+            try {
+                result = invocation.proceed();
+            } catch (Throwable e) {
+                stop(registry, sample, type, method, e.getClass().getSimpleName());
+                throw e;
+            }
+            // A Mono may still be cancelled after its value, so only the first of the signals is recorded
+            if (result instanceof Mono<?> mono) {
+                return Mono.defer(() -> {
+                    Timing timing = new Timing(registry, type, method);
+                    return mono.doOnSuccess(value -> timing.stop(NONE))
+                            .doOnError(e -> timing.stop(e.getClass().getSimpleName()))
+                            .doOnCancel(() -> timing.stop(CANCELLED));
+                });
+            }
+            if (result instanceof Flux<?> flux) {
+                return Flux.defer(() -> {
+                    Timing timing = new Timing(registry, type, method);
+                    return flux.doOnComplete(() -> timing.stop(NONE))
+                            .doOnError(e -> timing.stop(e.getClass().getSimpleName()))
+                            .doOnCancel(() -> timing.stop(CANCELLED));
+                });
+            }
+            stop(registry, sample, type, method, NONE);
+            return result;
+        }
+
+        private static void stop(MeterRegistry registry, Timer.Sample sample, String type, String method, String exception) {
+            sample.stop(Timer.builder(METRIC)
+                    .tag("class", type)
+                    .tag("method", method)
+                    .tag("exception", exception)
+                    .register(registry));
+        }
+    }
+
+    // One subscription to a Mono or Flux, started on subscribe and stopped at most once
+    private static final class Timing {
+        private final MeterRegistry registry;
+        private final String type;
+        private final String method;
+        private final Timer.Sample sample;
+        private final AtomicBoolean stopped = new AtomicBoolean();
+
+        Timing(MeterRegistry registry, String type, String method) {
+            this.registry = registry;
+            this.type = type;
+            this.method = method;
+            this.sample = Timer.start(registry);
+        }
+
+        void stop(String exception) {
+            if (stopped.compareAndSet(false, true)) {
+                TimingInterceptor.stop(registry, sample, type, method, exception);
+            }
+        }
+    }
+}
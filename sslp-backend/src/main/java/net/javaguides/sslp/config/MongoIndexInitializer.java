@@ -0,0 +1,85 @@
+package net.javaguides.sslp.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.IndexResolver;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+
+/**
+ * Creates the indexes declared with @Indexed / @CompoundIndex on the model
+ * classes once the application is up, then runs the query plan report.
+ *
+ * createIndex is a no-op for an index that already exists with the same
+ * spec, so this is safe on every start. It runs off the startup thread so an
+ * unreachable cluster does not block or fail the boot.
+ */
+@Component
+public class MongoIndexInitializer {
+
+    private static final Logger log = LoggerFactory.getLogger(MongoIndexInitializer.class);
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private QueryPlanReport queryPlanReport;
+
+    @Value("${sslp.mongo.indexes.ensure-on-startup:true}")
+    private boolean ensureOnStartup;
+
+    @Value("${sslp.mongo.indexes.report-on-startup:true}")
+    private boolean reportOnStartup;
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        try {
+            if (ensureOnStartup) {
+                ensureIndexes();
+            }
+            if (reportOnStartup) {
+                queryPlanReport.logCollectionScans();
+            }
+        } catch (RuntimeException e) {
+            log.warn("Index initialization did not complete: {}", e.getMessage());
+        }
+    }
+
+    public void ensureIndexes() {
+        var mappingContext = mongoTemplate.getConverter().getMappingContext();
+        IndexResolver resolver = IndexResolver.create(mappingContext);
+
+        for (MongoPersistentEntity<?> entity : mappingContext.getPersistentEntities()) {
+            if (!entity.isAnnotationPresent(Document.class)) {
+                continue;
+            }
+            IndexOperations indexOps = mongoTemplate.indexOps(entity.getType());
+            int count = 0;
+            for (IndexDefinition index : resolver.resolveIndexFor(entity.getTypeInformation())) {
+                try {
+                    indexOps.ensureIndex(index);
+                    count++;
+                } catch (DataAccessResourceFailureException e) {
+                    throw e; // cluster unreachable, no point trying the remaining indexes
+                } catch (RuntimeException e) {
+                    // e.g. a unique index that existing duplicates violate; keep going with the rest
+                    log.error("Could not create index {} on {}: {}", index.getIndexKeys(), entity.getCollection(), e.getMessage());
+                }
+            }
+            if (count > 0) {
+                log.info("Ensured {} index(es) on collection '{}'", count, entity.getCollection());
+            }
+        }
+    }
+}
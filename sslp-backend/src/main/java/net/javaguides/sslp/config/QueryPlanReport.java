@@ -0,0 +1,120 @@
+package net.javaguides.sslp.config;
+
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationContext;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.QueryMapper;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.repository.core.RepositoryInformation;
+import org.springframework.data.repository.query.parser.Part;
+import org.springframework.data.repository.query.parser.PartTree;
+import org.springframework.data.repository.support.Repositories;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Explains the filter of every derived repository query method (findByUserId,
+ * countByCourseId, ...) against the live cluster and reports the ones whose
+ * winning plan still contains a COLLSCAN.
+ *
+ * The filter uses a placeholder value for each criterion; the planner picks
+ * the same index for any value of an equality or range predicate, so the
+ * plan shape is what the real query would get.
+ */
+@Component
+public class QueryPlanReport {
+
+    private static final Logger log = LoggerFactory.getLogger(QueryPlanReport.class);
+
+    private static final String PROBE = "__index_probe__";
+
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    public List<String> logCollectionScans() {
+        List<String> collectionScans = findCollectionScans();
+        if (collectionScans.isEmpty()) {
+            log.info("Query plan report: every repository query method is served by an index");
+        } else {
+            collectionScans.forEach(method -> log.warn("Query plan report: {} runs as a COLLSCAN", method));
+        }
+        return collectionScans;
+    }
+
+    public List<String> findCollectionScans() {
+        List<String> collectionScans = new ArrayList<>();
+        Repositories repositories = new Repositories(applicationContext);
+        QueryMapper queryMapper = new QueryMapper(mongoTemplate.getConverter());
+
+        for (Class<?> domainType : repositories) {
+            RepositoryInformation info = repositories.getRepositoryInformationFor(domainType).orElse(null);
+            if (info == null) {
+                continue;
+            }
+            MongoPersistentEntity<?> entity = mongoTemplate.getConverter().getMappingContext()
+                    .getRequiredPersistentEntity(domainType);
+
+            for (Method method : info.getQueryMethods()) {
+                if (method.isAnnotationPresent(org.springframework.data.mongodb.repository.Query.class)) {
+                    continue; // string queries are not derived from the method name
+                }
+                PartTree tree = new PartTree(method.getName(), domainType);
+                Query probe = probeQuery(tree);
+                if (probe == null) {
+                    continue; // no criteria, a full listing is expected to scan
+                }
+                Document filter = queryMapper.getMappedObject(probe.getQueryObject(), entity);
+                Document sort = queryMapper.getMappedSort(probe.getSortObject(), entity);
+                String name = info.getRepositoryInterface().getSimpleName() + "." + method.getName();
+                if (isCollectionScan(entity.getCollection(), filter, sort)) {
+                    collectionScans.add(name);
+                } else {
+                    log.debug("Query plan report: {} uses an index", name);
+                }
+            }
+        }
+        return collectionScans;
+    }
+
+    private Query probeQuery(PartTree tree) {
+        Query query = new Query();
+        boolean hasCriteria = false;
+        for (PartTree.OrPart orPart : tree) {
+            for (Part part : orPart) {
+                // Multiple OR branches each need an index; checking the union of their fields is enough here
+                String path = part.getProperty().toDotPath();
+                if (query.getQueryObject().containsKey(path)) {
+                    continue;
+                }
+                query.addCriteria(Criteria.where(path).is(PROBE));
+                hasCriteria = true;
+            }
+        }
+        if (!hasCriteria) {
+            return null;
+        }
+        return query.with(tree.getSort());
+    }
+
+    private boolean isCollectionScan(String collection, Document filter, Document sort) {
+        Document find = new Document("find", collection).append("filter", filter);
+        if (!sort.isEmpty()) {
+            find.append("sort", sort);
+        }
+        Document explain = mongoTemplate.getDb().runCommand(
+                new Document("explain", find).append("verbosity", "queryPlanner"));
+        Document queryPlanner = explain.get("queryPlanner", Document.class);
+        return queryPlanner != null && ExplainPlans.containsStage(queryPlanner.get("winningPlan"), "COLLSCAN");
+    }
+}
@@ -0,0 +1,318 @@
+package net.javaguides.sslp.config;
+
+import com.mongodb.MongoClientSettings;
+import com.mongodb.event.CommandEvent;
+import com.mongodb.event.CommandFailedEvent;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+import jakarta.annotation.PostConstruct;
+import net.javaguides.sslp.dto.SlowQuery;
+import net.javaguides.sslp.dto.SlowQueryPlan;
+import org.bson.BsonArray;
+import org.bson.BsonDocument;
+import org.bson.BsonString;
+import org.bson.BsonValue;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Driver-level slow-query log: every Mongo command that takes longer than
+ * sslp.mongo.slow-query.threshold is kept in a ring buffer (newest first at
+ * /api/admin/mongo/slow-queries) and logged.
+ *
+ * The driver only hands out the command document in the started event,
+ * before anyone knows whether it will be slow, and releases it right after.
+ * So for the commands that carry a filter (find, aggregate, update, ...)
+ * the started event keeps the collection name and the redacted filter shape
+ * (field names and operators, every value replaced by "?") in a per-request
+ * slot; that walks only the filter, never copies the command, and other
+ * commands cost nothing. Explaining a slow query needs the real values,
+ * which would mean copying every command up front; so explain is armed
+ * instead: the first slow command of a kind is recorded with its filter
+ * shape but without a plan, and arms that kind for
+ * sslp.mongo.slow-query.capture-window. While armed, its commands also keep
+ * a copy of the command document until they complete, and for a sampled
+ * share of the slow ones the query is re-run with explain on the
+ * application task executor.
+ */
+@Component
+public class SlowQueryLog implements CommandListener, MongoClientSettingsBuilderCustomizer {
+
+    private static final Logger log = LoggerFactory.getLogger(SlowQueryLog.class);
+
+    // Commands whose filter can be captured, and the field that holds it
+    private static final Map<String, String> FILTER_FIELDS = Map.of(
+            "find", "filter",
+            "aggregate", "pipeline",
+            "count", "query",
+            "distinct", "query",
+            "findAndModify", "query",
+            "update", "updates",
+            "delete", "deletes");
+
+    // Session and transaction fields that explain rejects; $-prefixed fields are dropped as well
+    private static final Set<String> NOT_EXPLAINABLE = Set.of("lsid", "txnNumber", "autocommit", "startTransaction",
+            "readConcern", "writeConcern", "apiVersion", "apiStrict", "apiDeprecationErrors");
+
+    private static final BsonString REDACTED = new BsonString("?");
+    private static final int CAPTURE_SLOTS = 1024;
+
+    @Autowired
+    private ObjectProvider<MongoTemplate> mongoTemplate;
+
+    @Autowired
+    @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+    private ObjectProvider<Executor> executor;
+
+    @Value("${sslp.mongo.slow-query.threshold:100ms}")
+    private Duration threshold;
+
+    @Value("${sslp.mongo.slow-query.buffer-size:200}")
+    private int bufferSize;
+
+    @Value("${sslp.mongo.slow-query.explain-sample-rate:0.1}")
+    private double explainSampleRate;
+
+    @Value("${sslp.mongo.slow-query.capture-window:PT5M}")
+    private Duration captureWindow;
+
+    // nanoTime until which commands of that kind are captured, per FILTER_FIELDS key
+    private final Map<String, AtomicLong> armedUntil;
+
+    // In-flight captures, indexed by request id; a newer command in the same slot simply replaces an older one
+    private final AtomicReferenceArray<Capture> captures = new AtomicReferenceArray<>(CAPTURE_SLOTS);
+
+    private final AtomicLong sequence = new AtomicLong();
+    private AtomicReferenceArray<SlowQuery> recent;
+    private long thresholdNanos;
+
+    public SlowQueryLog() {
+        Map<String, AtomicLong> armed = new HashMap<>();
+        FILTER_FIELDS.keySet().forEach(command -> armed.put(command, new AtomicLong(System.nanoTime())));
+        this.armedUntil = Map.copyOf(armed);
+    }
+
+    @PostConstruct
+    public void init() {
+        recent = new AtomicReferenceArray<>(Math.max(1, bufferSize));
+        thresholdNanos = threshold.toNanos();
+    }
+
+    @Override
+    public void customize(MongoClientSettings.Builder settings) {
+        settings.addCommandListener(this);
+    }
+
+    // Newest first
+    public List<SlowQuery> getRecent() {
+        List<SlowQuery> result = new ArrayList<>();
+        long newest = sequence.get();
+        for (long seq = newest; seq > 0 && seq > newest - recent.length(); seq--) {
+            SlowQuery entry = recent.get(index(seq));
+            if (entry != null && entry.getSequence() == seq) {
+                result.add(entry);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public void commandStarted(CommandStartedEvent event) {
+        String command = event.getCommandName();
+        AtomicLong until = armedUntil.get(command);
+        if (until == null) {
+            return;
+        }
+        BsonDocument document = event.getCommand();
+        BsonValue target = document.get(command);
+        BsonValue filter = filterOf(command, document);
+        boolean armed = until.get() - System.nanoTime() >= 0;
+        captures.set(event.getRequestId() & (CAPTURE_SLOTS - 1), new Capture(event.getRequestId(),
+                target != null && target.isString() ? target.asString().getValue() : null,
+                filter != null ? redact(filter) : null,
+                armed ? document.clone() : null));
+    }
+
+    @Override
+    public void commandSucceeded(CommandSucceededEvent event) {
+        completed(event, event.getElapsedTime(TimeUnit.NANOSECONDS), false);
+    }
+
+    @Override
+    public void commandFailed(CommandFailedEvent event) {
+        completed(event, event.getElapsedTime(TimeUnit.NANOSECONDS), true);
+    }
+
+    private void completed(CommandEvent event, long elapsedNanos, boolean failed) {
+        Capture capture = takeCapture(event);
+        if (elapsedNanos < thresholdNanos || "explain".equals(event.getCommandName())) {
+            return;
+        }
+        record(event, elapsedNanos, failed, capture);
+    }
+
+    private Capture takeCapture(CommandEvent event) {
+        if (!armedUntil.containsKey(event.getCommandName())) {
+            return null;
+        }
+        int slot = event.getRequestId() & (CAPTURE_SLOTS - 1);
+        Capture capture = captures.get(slot);
+        if (capture == null || capture.requestId != event.getRequestId()) {
+            return null;
+        }
+        captures.compareAndSet(slot, capture, null);
+        return capture;
+    }
+
+    private void record(CommandEvent event, long elapsedNanos, boolean failed, Capture capture) {
+        String command = event.getCommandName();
+        AtomicLong until = armedUntil.get(command);
+        if (until != null) {
+            until.set(System.nanoTime() + captureWindow.toNanos());
+        }
+
+        String collection = capture != null ? capture.collection : null;
+        String filter = null;
+        if (capture != null && capture.filter != null) {
+            // An aggregate pipeline is an array; keep it under its field name to stay a JSON document
+            filter = capture.filter.isDocument() ? capture.filter.asDocument().toJson()
+                    : new BsonDocument(FILTER_FIELDS.get(command), capture.filter).toJson();
+        }
+        SlowQuery entry = new SlowQuery(sequence.incrementAndGet(), Instant.now(), event.getDatabaseName(), collection,
+                command, elapsedNanos / 1_000_000.0, failed, filter, null);
+        recent.set(index(entry.getSequence()), entry);
+        log.warn("Slow Mongo command: {} on {}.{} took {} ms, filter {}", command, event.getDatabaseName(),
+                collection != null ? collection : "?", Math.round(entry.getDurationMillis()), filter != null ? filter : "not captured");
+
+        Executor explainExecutor = executor.getIfAvailable();
+        if (capture != null && capture.command != null && !failed && explainExecutor != null
+                && ThreadLocalRandom.current().nextDouble() < explainSampleRate) {
+            explainExecutor.execute(() -> explain(entry, event.getDatabaseName(), capture.command));
+        }
+    }
+
+    private void explain(SlowQuery entry, String database, BsonDocument command) {
+        BsonDocument explainable = new BsonDocument();
+        command.forEach((key, value) -> {
+            if (!key.startsWith("$") && !NOT_EXPLAINABLE.contains(key)) {
+                explainable.put(key, value);
+            }
+        });
+        Document result;
+        try {
+            result = mongoTemplate.getObject().getMongoDatabaseFactory().getMongoDatabase(database).runCommand(
+                    new BsonDocument("explain", explainable).append("verbosity", new BsonString("executionStats")));
+        } catch (RuntimeException e) {
+            log.debug("Could not explain slow {} command: {}", entry.getCommand(), e.getMessage());
+            return;
+        }
+
+        Document queryPlanner = ExplainPlans.find(result, "queryPlanner");
+        Object winningPlan = queryPlanner != null ? queryPlanner.get("winningPlan") : null;
+        Document stats = ExplainPlans.find(result, "executionStats");
+        List<String> stages = new ArrayList<>();
+        String indexName = walkStages(winningPlan, stages);
+        SlowQueryPlan plan = new SlowQueryPlan(String.join(" > ", stages), indexName,
+                ExplainPlans.containsStage(winningPlan, "COLLSCAN"),
+                count(stats, "totalDocsExamined"), count(stats, "totalKeysExamined"), count(stats, "nReturned"));
+
+        // Only attach the plan if the entry has not been overwritten in the meantime
+        recent.compareAndSet(index(entry.getSequence()), entry, entry.withPlan(plan));
+    }
+
+    // Follows the first input of every stage from the root; returns the index name of the IXSCAN, if any
+    private static String walkStages(Object node, List<String> stages) {
+        String indexName = null;
+        while (node instanceof Document stage) {
+            if (stage.get("queryPlan") instanceof Document queryPlan) {
+                node = queryPlan; // SBE wraps the classic-looking plan
+                continue;
+            }
+            if (stage.get("stage") instanceof String name) {
+                stages.add(name);
+                if ("IXSCAN".equals(name) && stage.get("indexName") instanceof String index) {
+                    indexName = index;
+                }
+            }
+            Object next = stage.get("inputStage");
+            if (next == null && stage.get("inputStages") instanceof List<?> inputs && !inputs.isEmpty()) {
+                next = inputs.get(0);
+            }
+            node = next;
+        }
+        return indexName;
+    }
+
+    private static long count(Document stats, String key) {
+        return stats != null && stats.get(key) instanceof Number number ? number.longValue() : 0;
+    }
+
+    // update and delete carry a list of statements; the first statement's query stands for the command
+    private static BsonValue filterOf(String command, BsonDocument document) {
+        BsonValue value = document.get(FILTER_FIELDS.get(command));
+        if (("update".equals(command) || "delete".equals(command)) && value instanceof BsonArray statements
+                && !statements.isEmpty() && statements.get(0).isDocument()) {
+            return statements.get(0).asDocument().get("q");
+        }
+        return value;
+    }
+
+    // Keeps field names and operators, replaces every value with "?"
+    static BsonValue redact(BsonValue value) {
+        if (value.isDocument()) {
+            BsonDocument redacted = new BsonDocument();
+            value.asDocument().forEach((key, child) -> redacted.put(key, redact(child)));
+            return redacted;
+        }
+        if (value.isArray() && !value.asArray().isEmpty()
+                && value.asArray().stream().allMatch(BsonValue::isDocument)) {
+            BsonArray redacted = new BsonArray();
+            value.asArray().forEach(child -> redacted.add(redact(child)));
+            return redacted;
+        }
+        return REDACTED;
+    }
+
+    private int index(long seq) {
+        return (int) (seq % recent.length());
+    }
+
+    private static final class Capture {
+        final int requestId;
+        final String collection;
+        // Redacted; null for commands without a filter
+        final BsonValue filter;
+        // The full command, only while its kind is armed for explain
+        final BsonDocument command;
+
+        Capture(int requestId, String collection, BsonValue filter, BsonDocument command) {
+            this.requestId = requestId;
+            this.collection = collection;
+            this.filter = filter;
+            this.command = command;
+        }
+    }
+}
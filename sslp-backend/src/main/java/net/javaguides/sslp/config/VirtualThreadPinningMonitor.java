@@ -0,0 +1,117 @@
+package net.javaguides.sslp.config;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import net.javaguides.sslp.dto.PinningHotspot;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Listens to the JDK's jdk.VirtualThreadPinned JFR event while the app runs
+ * on virtual threads and aggregates pinning by code location. Locations
+ * inside the MongoDB driver (synchronized blocks around connection checkout
+ * and socket I/O) are flagged, since those pin a carrier for a full Atlas
+ * round trip.
+ */
+@Component
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadPinningMonitor {
+
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final String MONGO_DRIVER_PACKAGE = "com.mongodb.";
+
+    private final Map<String, Hotspot> hotspots = new ConcurrentHashMap<>();
+
+    @Value("${sslp.threads.pinning.threshold:20ms}")
+    private Duration threshold;
+
+    private RecordingStream stream;
+
+    @PostConstruct
+    public void start() {
+        stream = new RecordingStream();
+        stream.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        stream.onEvent(PINNED_EVENT, this::record);
+        stream.startAsync();
+        log.info("Reporting virtual thread pinning longer than {}", threshold);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (stream != null) {
+            stream.close();
+        }
+    }
+
+    public List<PinningHotspot> getHotspots() {
+        return hotspots.entrySet().stream()
+                .map(entry -> entry.getValue().toDto(entry.getKey()))
+                .sorted(Comparator.comparingLong(PinningHotspot::getCount).reversed())
+                .toList();
+    }
+
+    private void record(RecordedEvent event) {
+        String frame = hotspotFrame(event.getStackTrace());
+        Hotspot hotspot = hotspots.computeIfAbsent(frame, key -> {
+            log.warn("Virtual thread pinned at {} for {} ms", key, event.getDuration().toMillis());
+            return new Hotspot(key.startsWith(MONGO_DRIVER_PACKAGE));
+        });
+        hotspot.count.increment();
+        hotspot.maxNanos.accumulateAndGet(event.getDuration().toNanos(), Math::max);
+    }
+
+    // The first MongoDB driver frame if there is one, otherwise the first frame outside the JDK
+    private String hotspotFrame(RecordedStackTrace stackTrace) {
+        if (stackTrace == null || stackTrace.getFrames().isEmpty()) {
+            return "unknown";
+        }
+        List<RecordedFrame> frames = stackTrace.getFrames();
+        RecordedFrame firstApplicationFrame = null;
+        for (RecordedFrame frame : frames) {
+            String type = frame.getMethod().getType().getName();
+            if (type.startsWith(MONGO_DRIVER_PACKAGE)) {
+                return describe(frame);
+            }
+            if (firstApplicationFrame == null && !type.startsWith("java.") && !type.startsWith("jdk.") && !type.startsWith("sun.")) {
+                firstApplicationFrame = frame;
+            }
+        }
+        return describe(firstApplicationFrame != null ? firstApplicationFrame : frames.get(0));
+    }
+
+    private String describe(RecordedFrame frame) {
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName() + ":" + frame.getLineNumber();
+    }
+
+    private static class Hotspot {
+        private final boolean mongoDriver;
+        private final LongAdder count = new LongAdder();
+        private final AtomicLong maxNanos = new AtomicLong();
+
+        Hotspot(boolean mongoDriver) {
+            this.mongoDriver = mongoDriver;
+        }
+
+        PinningHotspot toDto(String frame) {
+            return new PinningHotspot(frame, mongoDriver, count.sum(), maxNanos.get() / 1_000_000.0);
+        }
+    }
+}
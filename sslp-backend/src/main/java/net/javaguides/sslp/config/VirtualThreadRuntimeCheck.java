@@ -0,0 +1,31 @@
+package net.javaguides.sslp.config;
+
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+/**
+ * The "virtual" profile only switches to virtual threads on a Java 21+
+ * runtime; the project itself targets Java 17, where Spring Boot silently
+ * ignores spring.threads.virtual.enabled. Says so at startup rather than
+ * letting a run look like a virtual-thread one.
+ */
+@Component
+@Profile("virtual")
+public class VirtualThreadRuntimeCheck {
+
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadRuntimeCheck.class);
+
+    private static final int MIN_FEATURE_VERSION = 21;
+
+    @PostConstruct
+    public void check() {
+        int feature = Runtime.version().feature();
+        if (feature < MIN_FEATURE_VERSION) {
+            log.warn("The virtual profile is active but the runtime is Java {}; virtual threads need Java {}+, "
+                    + "so requests, @Async and @Scheduled tasks keep running on platform threads", feature, MIN_FEATURE_VERSION);
+        }
+    }
+}
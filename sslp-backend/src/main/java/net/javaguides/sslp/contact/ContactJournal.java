@@ -0,0 +1,199 @@
+package net.javaguides.sslp.contact;
+
+import org.bson.Document;
+import org.bson.json.JsonParseException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * Append-only journal of accepted contact submissions: one contact_forms
+ * document per line, as extended JSON, in numbered segment files.
+ *
+ * Each segment counts its entries that are not yet in Mongo, plus one while
+ * it is still being appended to; it is deleted when that count reaches zero.
+ * The flusher rotates to a new segment after every batch, so segments stay
+ * small and disappear shortly after their entries are inserted. Segments
+ * found on startup are from a run that did not flush them; they are read
+ * back in order and a torn last line is skipped.
+ */
+class ContactJournal {
+
+    private static final Logger log = LoggerFactory.getLogger(ContactJournal.class);
+
+    private static final String PREFIX = "contacts-";
+    private static final String SUFFIX = ".journal";
+
+    private final Path dir;
+    private final boolean fsync;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    // Guarded by lock
+    private Segment current;
+    private long nextSegment;
+
+    ContactJournal(Path dir, boolean fsync) throws IOException {
+        this.dir = dir;
+        this.fsync = fsync;
+        Files.createDirectories(dir);
+    }
+
+    List<Entry> recover() throws IOException {
+        List<Path> files;
+        try (Stream<Path> listing = Files.list(dir)) {
+            files = listing.filter(ContactJournal::isSegment)
+                    .sorted(Comparator.comparingLong(ContactJournal::segmentNumber))
+                    .toList();
+        }
+        List<Entry> entries = new ArrayList<>();
+        for (Path file : files) {
+            nextSegment = Math.max(nextSegment, segmentNumber(file) + 1);
+            Segment segment = new Segment(file, null);
+            for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                try {
+                    Document document = Document.parse(line);
+                    segment.refs.incrementAndGet();
+                    entries.add(new Entry(document, segment));
+                } catch (JsonParseException e) {
+                    log.warn("Skipping unreadable line in {}: {}", file, e.getMessage());
+                }
+            }
+            segment.release();
+        }
+        return entries;
+    }
+
+    Entry append(Document document) throws IOException {
+        ByteBuffer line = ByteBuffer.wrap((document.toJson() + "\n").getBytes(StandardCharsets.UTF_8));
+        lock.lock();
+        try {
+            if (current == null) {
+                Path file = dir.resolve(PREFIX + nextSegment++ + SUFFIX);
+                current = new Segment(file, FileChannel.open(file, StandardOpenOption.CREATE_NEW,
+                        StandardOpenOption.WRITE, StandardOpenOption.APPEND));
+            }
+            try {
+                while (line.hasRemaining()) {
+                    current.channel.write(line);
+                }
+                if (fsync) {
+                    current.channel.force(false);
+                }
+            } catch (IOException e) {
+                // The segment may now end in a partial line; later appends go to a fresh one
+                closeCurrent();
+                throw e;
+            }
+            current.refs.incrementAndGet();
+            current.entries++;
+            return new Entry(document, current);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Starts a new segment for later appends, so that the current one can go once its entries are flushed
+    void rotate() {
+        lock.lock();
+        try {
+            if (current != null && current.entries > 0) {
+                closeCurrent();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void flushed(Entry entry) {
+        entry.segment.release();
+    }
+
+    void close() {
+        lock.lock();
+        try {
+            if (current != null) {
+                closeCurrent();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void closeCurrent() {
+        Segment segment = current;
+        current = null;
+        segment.closeChannel();
+        segment.release();
+    }
+
+    private static boolean isSegment(Path file) {
+        String name = file.getFileName().toString();
+        return name.startsWith(PREFIX) && name.endsWith(SUFFIX);
+    }
+
+    private static long segmentNumber(Path file) {
+        String name = file.getFileName().toString();
+        return Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length()));
+    }
+
+    static final class Entry {
+        final Document document;
+        final Segment segment;
+        final long acceptedNanos = System.nanoTime();
+
+        Entry(Document document, Segment segment) {
+            this.document = document;
+            this.segment = segment;
+        }
+    }
+
+    static final class Segment {
+        final Path file;
+        final FileChannel channel;
+        // Unflushed entries, plus one until the segment is closed for appends
+        final AtomicInteger refs = new AtomicInteger(1);
+        int entries;
+
+        Segment(Path file, FileChannel channel) {
+            this.file = file;
+            this.channel = channel;
+        }
+
+        void release() {
+            if (refs.decrementAndGet() == 0) {
+                try {
+                    Files.deleteIfExists(file);
+                } catch (IOException e) {
+                    log.warn("Could not delete flushed journal segment {}: {}", file, e.getMessage());
+                }
+            }
+        }
+
+        void closeChannel() {
+            if (channel == null) {
+                return;
+            }
+            try {
+                channel.close();
+            } catch (IOException e) {
+                log.warn("Could not close journal segment {}: {}", file, e.getMessage());
+            }
+        }
+    }
+}
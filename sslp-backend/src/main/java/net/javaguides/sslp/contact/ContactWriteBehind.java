@@ -0,0 +1,242 @@
+package net.javaguides.sslp.contact;
+
+import com.mongodb.ErrorCategory;
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.client.model.InsertManyOptions;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import net.javaguides.sslp.model.ContactForm;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Write-behind mode for POST /api/contacts (sslp.contacts.write-behind.enabled).
+ *
+ * A submission gets its id, is appended to the {@link ContactJournal} and
+ * put on a lock-free queue; the caller answers 202 without waiting for
+ * Atlas. Depth is bounded by sslp.contacts.write-behind.capacity: slots are
+ * reserved with a CAS-based counter before anything is written, and a full
+ * queue is rejected so the caller can answer 503.
+ *
+ * One flusher thread inserts the queue in unordered insertMany calls of up
+ * to batch-size documents, as soon as a batch is full or max-delay after the
+ * first waiting submission. A failed insert is retried with backoff while
+ * new submissions keep being rejected once the queue fills up. Submissions
+ * replayed from the journal after a crash may already be in Mongo; their
+ * duplicate-key errors count as success.
+ *
+ * Metrics: contacts.write.behind.queue.depth, .flush (insertMany latency),
+ * .lag (accepted to inserted) and .rejected.
+ */
+@Component
+@ConditionalOnProperty(name = "sslp.contacts.write-behind.enabled", havingValue = "true")
+public class ContactWriteBehind {
+
+    private static final Logger log = LoggerFactory.getLogger(ContactWriteBehind.class);
+
+    private static final long MAX_RETRY_NANOS = TimeUnit.SECONDS.toNanos(30);
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${sslp.contacts.write-behind.capacity:10000}")
+    private int capacity;
+
+    @Value("${sslp.contacts.write-behind.batch-size:500}")
+    private int batchSize;
+
+    @Value("${sslp.contacts.write-behind.max-delay:200ms}")
+    private Duration maxDelay;
+
+    @Value("${sslp.contacts.write-behind.journal-dir:./contact-journal}")
+    private Path journalDir;
+
+    @Value("${sslp.contacts.write-behind.fsync:false}")
+    private boolean fsync;
+
+    private final ConcurrentLinkedQueue<ContactJournal.Entry> queue = new ConcurrentLinkedQueue<>();
+    // Reserved slots: queued entries plus submissions still being journaled
+    private final AtomicInteger depth = new AtomicInteger();
+
+    private ContactJournal journal;
+    private Thread flusher;
+    private volatile boolean running;
+
+    private Timer flushTimer;
+    private Timer lagTimer;
+    private Counter rejected;
+
+    @PostConstruct
+    public void start() throws IOException {
+        journal = new ContactJournal(journalDir, fsync);
+        List<ContactJournal.Entry> recovered = journal.recover();
+        queue.addAll(recovered);
+        depth.addAndGet(recovered.size());
+        if (!recovered.isEmpty()) {
+            log.info("Recovered {} unflushed contact submissions from {}", recovered.size(), journalDir);
+        }
+
+        Gauge.builder("contacts.write.behind.queue.depth", depth, AtomicInteger::get)
+                .description("Contact submissions accepted but not yet inserted")
+                .register(meterRegistry);
+        flushTimer = Timer.builder("contacts.write.behind.flush")
+                .description("insertMany latency of one batch of contact submissions")
+                .register(meterRegistry);
+        lagTimer = Timer.builder("contacts.write.behind.lag")
+                .description("Time from accepting a contact submission to its insert")
+                .register(meterRegistry);
+        rejected = Counter.builder("contacts.write.behind.rejected")
+                .description("Contact submissions rejected because the queue was full or the journal failed")
+                .register(meterRegistry);
+
+        running = true;
+        flusher = new Thread(this::flushLoop, "contact-write-behind");
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    // The accepted form with its id; empty if the queue is full or the journal cannot be written
+    public Optional<ContactForm> submit(ContactForm contactForm) {
+        int reserved = depth.incrementAndGet();
+        if (reserved > capacity) {
+            depth.decrementAndGet();
+            rejected.increment();
+            return Optional.empty();
+        }
+        Document document = new Document();
+        mongoTemplate.getConverter().write(contactForm, document);
+        document.put("_id", new ObjectId());
+        try {
+            queue.add(journal.append(document));
+        } catch (IOException e) {
+            depth.decrementAndGet();
+            rejected.increment();
+            log.warn("Could not journal contact submission: {}", e.getMessage());
+            return Optional.empty();
+        }
+        if (reserved == 1 || reserved == batchSize) {
+            LockSupport.unpark(flusher);
+        }
+        return Optional.of(mongoTemplate.getConverter().read(ContactForm.class, document));
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        LockSupport.unpark(flusher);
+        flusher.join(maxDelay.toMillis() + TimeUnit.SECONDS.toMillis(10));
+        // Whatever is still queued stays in the journal for the next start
+        journal.close();
+    }
+
+    private void flushLoop() {
+        List<ContactJournal.Entry> batch = new ArrayList<>(batchSize);
+        while (running) {
+            awaitBatch();
+            drain(batch);
+            if (!batch.isEmpty()) {
+                flush(batch);
+            }
+        }
+        // One last attempt on shutdown, without retries
+        drain(batch);
+        if (!batch.isEmpty()) {
+            flush(batch);
+        }
+    }
+
+    private void awaitBatch() {
+        while (running && queue.isEmpty()) {
+            LockSupport.parkNanos(this, maxDelay.toNanos());
+        }
+        long deadline = System.nanoTime() + maxDelay.toNanos();
+        long remaining;
+        while (running && depth.get() < batchSize && (remaining = deadline - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(this, remaining);
+        }
+    }
+
+    private void drain(List<ContactJournal.Entry> batch) {
+        ContactJournal.Entry entry;
+        while (batch.size() < batchSize && (entry = queue.poll()) != null) {
+            batch.add(entry);
+        }
+        // Later submissions go to a new segment, so this batch's segment can be deleted once it is inserted
+        journal.rotate();
+    }
+
+    private void flush(List<ContactJournal.Entry> batch) {
+        List<Document> documents = new ArrayList<>(batch.size());
+        batch.forEach(entry -> documents.add(entry.document));
+        long backoff = maxDelay.toNanos();
+        while (true) {
+            long start = System.nanoTime();
+            try {
+                insertMany(documents);
+                flushTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                break;
+            } catch (RuntimeException e) {
+                if (!running) {
+                    log.warn("{} contact submissions left in the journal at shutdown: {}", batch.size(), e.getMessage());
+                    return;
+                }
+                log.warn("Inserting {} contact submissions failed, retrying in {} ms: {}",
+                        batch.size(), TimeUnit.NANOSECONDS.toMillis(backoff), e.getMessage());
+                LockSupport.parkNanos(this, backoff);
+                backoff = Math.min(backoff * 2, MAX_RETRY_NANOS);
+            }
+        }
+
+        long now = System.nanoTime();
+        for (ContactJournal.Entry entry : batch) {
+            lagTimer.record(now - entry.acceptedNanos, TimeUnit.NANOSECONDS);
+            journal.flushed(entry);
+        }
+        depth.addAndGet(-batch.size());
+        batch.clear();
+    }
+
+    private void insertMany(List<Document> documents) {
+        try {
+            mongoTemplate.getCollection(mongoTemplate.getCollectionName(ContactForm.class))
+                    .insertMany(documents, new InsertManyOptions().ordered(false));
+        } catch (MongoBulkWriteException e) {
+            if (e.getWriteConcernError() != null) {
+                throw e;
+            }
+            for (BulkWriteError error : e.getWriteErrors()) {
+                // Duplicates were inserted before a crash and replayed from the journal
+                if (ErrorCategory.fromErrorCode(error.getCode()) != ErrorCategory.DUPLICATE_KEY) {
+                    log.error("Dropped contact submission {}: {}",
+                            documents.get(error.getIndex()).get("_id"), error.getMessage());
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package net.javaguides.sslp.controller;
+
+import net.javaguides.sslp.config.SlowQueryLog;
+import net.javaguides.sslp.config.VirtualThreadPinningMonitor;
+import net.javaguides.sslp.dto.PinningHotspot;
+import net.javaguides.sslp.dto.SlowQuery;
+import net.javaguides.sslp.leaderboard.ProgressLeaderboard;
+import net.javaguides.sslp.match.SkillMatchIndex;
+import net.javaguides.sslp.recommend.CoEnrollmentIndex;
+import net.javaguides.sslp.search.SkillFacetIndex;
+import net.javaguides.sslp.search.SkillSearchIndex;
+import net.javaguides.sslp.stats.EnrollmentStatistics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/admin")
+@CrossOrigin(origins = "*")
+public class AdminController {
+
+    @Autowired
+    private ObjectProvider<VirtualThreadPinningMonitor> pinningMonitor;
+
+    @Autowired
+    private SkillSearchIndex skillSearchIndex;
+
+    @Autowired
+    private SkillFacetIndex skillFacetIndex;
+
+    @Autowired
+    private EnrollmentStatistics enrollmentStatistics;
+
+    @Autowired
+    private ProgressLeaderboard progressLeaderboard;
+
+    @Autowired
+    private SkillMatchIndex skillMatchIndex;
+
+    @Autowired
+    private CoEnrollmentIndex coEnrollmentIndex;
+
+    @Autowired
+    private SlowQueryLog slowQueryLog;
+
+    // Empty unless the app runs with spring.threads.virtual.enabled=true on Java 21+
+    @GetMapping("/threads/pinning")
+    public List<PinningHotspot> getPinningHotspots() {
+        VirtualThreadPinningMonitor monitor = pinningMonitor.getIfAvailable();
+        return monitor != null ? monitor.getHotspots() : List.of();
+    }
+
+    // Mongo commands over the slow-query threshold, newest first
+    @GetMapping("/mongo/slow-queries")
+    public List<SlowQuery> getSlowQueries() {
+        return slowQueryLog.getRecent();
+    }
+
+    // Reloads the skill search index from Mongo, e.g. after writes made outside the API
+    @PostMapping("/search/skills/rebuild")
+    public ResponseEntity<Void> rebuildSkillSearchIndex() {
+        return skillSearchIndex.rebuild()
+                ? ResponseEntity.noContent().build()
+                : ResponseEntity.status(HttpStatus.CONFLICT).build();
+    }
+
+    @PostMapping("/facets/skills/rebuild")
+    public ResponseEntity<Void> rebuildSkillFacets() {
+        return skillFacetIndex.rebuild()
+                ? ResponseEntity.noContent().build()
+                : ResponseEntity.status(HttpStatus.CONFLICT).build();
+    }
+
+    // Replaces the enrollment counters with a fresh Mongo count; returns how many had drifted
+    @PostMapping("/stats/enrollments/reconcile")
+    public Map<String, Integer> reconcileEnrollmentStats() {
+        return Map.of("drifted", enrollmentStatistics.reconcile());
+    }
+
+    @PostMapping("/leaderboard/rebuild")
+    public ResponseEntity<Void> rebuildLeaderboard() {
+        return progressLeaderboard.rebuild()
+                ? ResponseEntity.noContent().build()
+                : ResponseEntity.status(HttpStatus.CONFLICT).build();
+    }
+
+    @PostMapping("/matches/skills/rebuild")
+    public ResponseEntity<Void> rebuildSkillMatches() {
+        return skillMatchIndex.rebuild()
+                ? ResponseEntity.noContent().build()
+                : ResponseEntity.status(HttpStatus.CONFLICT).build();
+    }
+
+    // Full fork-join recompute of the co-enrollment matrix
+    @PostMapping("/recommendations/rebuild")
+    public ResponseEntity<Void> rebuildRecommendations() {
+        return coEnrollmentIndex.rebuild()
+                ? ResponseEntity.noContent().build()
+                : ResponseEntity.status(HttpStatus.CONFLICT).build();
+    }
+}
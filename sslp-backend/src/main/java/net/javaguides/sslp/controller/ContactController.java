@@ -1,13 +1,23 @@
 package net.javaguides.sslp.controller;
 
+import net.javaguides.sslp.contact.ContactWriteBehind;
+import net.javaguides.sslp.dto.CursorPage;
 import net.javaguides.sslp.model.ContactForm;
 import net.javaguides.sslp.service.ContactFormService;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.net.URI;
 import java.util.List;
 
 @RestController
+@Profile("!reactive")
 @RequestMapping("/api/contacts")
 @CrossOrigin(origins = "*")
 public class ContactController {
@@ -15,9 +25,26 @@ public class ContactController {
     @Autowired
     private ContactFormService contactFormService;
 
+    @Autowired
+    private NdjsonStreamer ndjsonStreamer;
+
+    @Autowired
+    private ObjectProvider<ContactWriteBehind> writeBehind;
+
+    // 202 in write-behind mode: journaled locally, inserted with the next batch; 503 while its queue is full
     @PostMapping
-    public ContactForm createContact(@RequestBody ContactForm contactForm) {
-        return contactFormService.createContact(contactForm);
+    public ResponseEntity<ContactForm> createContact(@RequestBody ContactForm contactForm) {
+        ContactWriteBehind queue = writeBehind.getIfAvailable();
+        if (queue == null) {
+            return ResponseEntity.ok(contactFormService.createContact(contactForm));
+        }
+        return queue.submit(contactForm)
+                .map(accepted -> ResponseEntity.accepted()
+                        .location(URI.create("/api/contacts/" + accepted.getId()))
+                        .body(accepted))
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                        .header(HttpHeaders.RETRY_AFTER, "1")
+                        .build());
     }
 
     @GetMapping
@@ -25,6 +52,17 @@ public class ContactController {
         return contactFormService.getAllContacts();
     }
 
+    @GetMapping(params = "limit")
+    public CursorPage<ContactForm> getContactsPage(@RequestParam(required = false) String after,
+                                                   @RequestParam int limit) {
+        return contactFormService.getContactsPage(after, limit);
+    }
+
+    @GetMapping(produces = NdjsonStreamer.APPLICATION_NDJSON)
+    public ResponseEntity<StreamingResponseBody> streamContacts(@RequestParam(required = false) String after) {
+        return ndjsonStreamer.stream(() -> contactFormService.streamContacts(after));
+    }
+
     @GetMapping("/{id}")
     public ContactForm getContactById(@PathVariable String id) {
         return contactFormService.getContactById(id);
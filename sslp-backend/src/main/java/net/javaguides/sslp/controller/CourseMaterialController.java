@@ -0,0 +1,132 @@
+package net.javaguides.sslp.controller;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import net.javaguides.sslp.model.CourseMaterial;
+import net.javaguides.sslp.service.CourseMaterialService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+
+@RestController
+@Profile("!reactive")
+@RequestMapping("/api/learnings/{courseId}/materials")
+@CrossOrigin(origins = "*")
+public class CourseMaterialController {
+
+    @Autowired
+    private CourseMaterialService materialService;
+
+    @Autowired
+    private RangeFileSender fileSender;
+
+    // The file is the raw request body (not multipart), streamed to disk:
+    // curl --data-binary @intro.mp4 -H 'Content-Type: video/mp4' '.../materials?fileName=intro.mp4&module=m1'
+    // An optional "Content-Digest: sha-256=:<base64>:" is checked against the received body.
+    // fileName and module are read from the query string, not with @RequestParam: getParameter() would make the
+    // container parse a form-encoded body (curl's default for --data-binary) as parameters before it is stored
+    @PostMapping
+    public ResponseEntity<CourseMaterial> uploadMaterial(@PathVariable String courseId,
+                                                         @RequestHeader(value = "Content-Digest", required = false) String contentDigest,
+                                                         HttpServletRequest request) throws IOException {
+        String contentType = request.getContentType();
+        if (contentType != null && (contentType.startsWith("multipart/")
+                || contentType.startsWith(MediaType.APPLICATION_FORM_URLENCODED_VALUE))) {
+            return ResponseEntity.status(HttpStatus.UNSUPPORTED_MEDIA_TYPE).build();
+        }
+        Optional<CourseMaterial> material;
+        try {
+            MultiValueMap<String, String> query = queryParams(request);
+            String fileName = query.getFirst("fileName");
+            if (fileName == null || fileName.isBlank()) {
+                return ResponseEntity.badRequest().build();
+            }
+            material = materialService.uploadMaterial(courseId, query.getFirst("module"), fileName, contentType,
+                    sha256Of(contentDigest), request.getInputStream(), request.getContentLengthLong());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        return material
+                .map(created -> ResponseEntity.created(URI.create(
+                        "/api/learnings/" + courseId + "/materials/" + created.getId() + "/content")).body(created))
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    @GetMapping
+    public List<CourseMaterial> getMaterials(@PathVariable String courseId) {
+        return materialService.getMaterials(courseId);
+    }
+
+    // Supports Range / If-Range for seeking and resuming, and HEAD
+    @GetMapping("/{id}/content")
+    public void downloadMaterial(@PathVariable String courseId, @PathVariable String id,
+                                 HttpServletRequest request, HttpServletResponse response) throws IOException {
+        Optional<CourseMaterial> material = materialService.getMaterial(courseId, id);
+        if (material.isEmpty()) {
+            response.setStatus(HttpStatus.NOT_FOUND.value());
+            return;
+        }
+        CourseMaterial found = material.get();
+        fileSender.send(request, response, materialService.getContentPath(found), found.getContentType(),
+                found.getFileName(), "\"" + found.getId() + "\"", found.getUploadedAt());
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> deleteMaterial(@PathVariable String courseId, @PathVariable String id) {
+        return materialService.deleteMaterial(courseId, id)
+                ? ResponseEntity.noContent().build()
+                : ResponseEntity.notFound().build();
+    }
+
+    // Decoded like the container decodes query parameters, '+' included; malformed escapes throw IllegalArgumentException
+    private static MultiValueMap<String, String> queryParams(HttpServletRequest request) {
+        MultiValueMap<String, String> params = new LinkedMultiValueMap<>();
+        String query = request.getQueryString();
+        if (query == null) {
+            return params;
+        }
+        for (String pair : query.split("&")) {
+            if (pair.isEmpty()) {
+                continue;
+            }
+            int eq = pair.indexOf('=');
+            String name = eq < 0 ? pair : pair.substring(0, eq);
+            String value = eq < 0 ? "" : pair.substring(eq + 1);
+            params.add(URLDecoder.decode(name, StandardCharsets.UTF_8), URLDecoder.decode(value, StandardCharsets.UTF_8));
+        }
+        return params;
+    }
+
+    // The sha-256 member of an RFC 9530 Content-Digest header as hex, e.g. "sha-256=:47DEQpj8...=:"; null without one
+    private static String sha256Of(String contentDigest) {
+        if (contentDigest == null) {
+            return null;
+        }
+        for (String member : contentDigest.split(",")) {
+            String[] pair = member.trim().split("=", 2);
+            if (pair.length == 2 && pair[0].equalsIgnoreCase("sha-256")
+                    && pair[1].length() > 2 && pair[1].startsWith(":") && pair[1].endsWith(":")) {
+                byte[] digest = Base64.getDecoder().decode(pair[1].substring(1, pair[1].length() - 1));
+                if (digest.length != 32) {
+                    throw new IllegalArgumentException("Not a SHA-256 digest: " + member);
+                }
+                return HexFormat.of().formatHex(digest);
+            }
+        }
+        return null;
+    }
+}
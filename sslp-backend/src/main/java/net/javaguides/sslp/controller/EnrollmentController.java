@@ -1,13 +1,25 @@
 package net.javaguides.sslp.controller;
 
+import net.javaguides.sslp.dto.BulkResult;
+import net.javaguides.sslp.dto.CursorPage;
+import net.javaguides.sslp.dto.EnrollmentSummary;
+import net.javaguides.sslp.dto.WithCourse;
+import net.javaguides.sslp.idempotency.IdempotencyStore;
 import net.javaguides.sslp.model.Enrollment;
 import net.javaguides.sslp.service.EnrollmentService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
+import java.util.Set;
 
 @RestController
+@Profile("!reactive")
 @RequestMapping("/api/enrollments")
 @CrossOrigin(origins = "*")
 public class EnrollmentController {
@@ -15,14 +27,37 @@ public class EnrollmentController {
     @Autowired
     private EnrollmentService service;
 
+    @Autowired
+    private NdjsonStreamer ndjsonStreamer;
+
+    @Autowired
+    private SparseFields sparseFields;
+
+    @Autowired
+    private IdempotencyStore idempotencyStore;
+
+    // 409 if the learner is already enrolled in the course; with an Idempotency-Key, retries replay the first response
     @PostMapping
-    public Enrollment createEnrollment(@RequestBody Enrollment enrollment) {
-        return service.createEnrollment(enrollment);
+    public ResponseEntity<?> createEnrollment(@RequestHeader(value = IdempotencyStore.HEADER, required = false) String idempotencyKey,
+                                              @RequestBody Enrollment enrollment) {
+        if (idempotencyKey == null) {
+            return create(enrollment);
+        }
+        return idempotencyStore.execute("POST /api/enrollments", idempotencyKey, enrollment, () -> create(enrollment));
+    }
+
+    @PostMapping("/_bulk")
+    public BulkResult createEnrollments(@RequestBody List<Enrollment> enrollments) {
+        return service.createEnrollments(enrollments);
     }
 
     @PutMapping("/{id}")
-    public Enrollment updateEnrollment(@PathVariable String id, @RequestBody Enrollment enrollment) {
-        return service.updateEnrollment(id, enrollment);
+    public ResponseEntity<Enrollment> updateEnrollment(@PathVariable String id, @RequestBody Enrollment enrollment) {
+        try {
+            return ResponseEntity.ok(service.updateEnrollment(id, enrollment));
+        } catch (DuplicateKeyException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
     }
 
     @DeleteMapping("/{id}")
@@ -39,4 +74,44 @@ public class EnrollmentController {
     public List<Enrollment> getAllEnrollments() {
         return service.getAllEnrollments();
     }
+
+    // ?expand=course joins each enrollment with its course's summary (fee, duration) in the same query
+    @GetMapping(params = {"expand", "!fields", "!limit"})
+    public ResponseEntity<List<WithCourse<Enrollment>>> getEnrollmentsExpanded(@RequestParam String expand) {
+        if (!SparseFields.COURSE.equals(expand)) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(service.getEnrollmentsWithCourse());
+    }
+
+    // ?fields=summary uses the EnrollmentSummary projection, ?fields=a,b projects arbitrary fields
+    @GetMapping(params = {"fields", "!limit"})
+    public List<?> getEnrollmentsWithFields(@RequestParam String fields) {
+        if (SparseFields.SUMMARY.equals(fields)) {
+            return service.getEnrollmentSummaries();
+        }
+        Set<String> names = sparseFields.parse(fields, EnrollmentSummary.FIELDS);
+        return sparseFields.shape(service.getEnrollments(names), names);
+    }
+
+    @GetMapping(params = "limit")
+    public CursorPage<?> getEnrollmentsPage(@RequestParam(required = false) String after,
+                                            @RequestParam int limit,
+                                            @RequestParam(required = false) String fields) {
+        Set<String> names = sparseFields.parse(fields, EnrollmentSummary.FIELDS);
+        return sparseFields.shape(service.getEnrollmentsPage(after, limit, names), names);
+    }
+
+    @GetMapping(produces = NdjsonStreamer.APPLICATION_NDJSON)
+    public ResponseEntity<StreamingResponseBody> streamEnrollments(@RequestParam(required = false) String after) {
+        return ndjsonStreamer.stream(() -> service.streamEnrollments(after));
+    }
+
+    private ResponseEntity<?> create(Enrollment enrollment) {
+        try {
+            return ResponseEntity.ok(service.createEnrollment(enrollment));
+        } catch (DuplicateKeyException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+    }
 }
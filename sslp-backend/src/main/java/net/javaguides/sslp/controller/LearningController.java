@@ -1,15 +1,31 @@
 package net.javaguides.sslp.controller;
 
+import net.javaguides.sslp.cache.CachedPayload;
+import net.javaguides.sslp.dto.BulkResult;
+import net.javaguides.sslp.dto.CourseEnrollmentStats;
+import net.javaguides.sslp.dto.CourseRecommendation;
+import net.javaguides.sslp.dto.CursorPage;
+import net.javaguides.sslp.dto.EnrollmentStatsReport;
+import net.javaguides.sslp.dto.LearningSummary;
 import net.javaguides.sslp.model.Learning;
+import net.javaguides.sslp.service.EnrollmentService;
 import net.javaguides.sslp.service.LearningService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 @RestController
+@Profile("!reactive")
 @RequestMapping("/api/learnings")
 @CrossOrigin(origins = "*")
 public class LearningController {
@@ -17,6 +33,15 @@ public class LearningController {
     @Autowired
     private LearningService learningService;
 
+    @Autowired
+    private EnrollmentService enrollmentService;
+
+    @Autowired
+    private NdjsonStreamer ndjsonStreamer;
+
+    @Autowired
+    private SparseFields sparseFields;
+
     // Create
     @PostMapping
     public ResponseEntity<String> createLearning(@RequestBody Learning learning) {
@@ -25,16 +50,87 @@ public class LearningController {
         return ResponseEntity.ok(message);
     }
 
-    // Read all
+    // Catalog import: unordered bulk insert with a result per course
+    @PostMapping("/_bulk")
+    public BulkResult createLearnings(@RequestBody List<Learning> learnings) {
+        return learningService.createLearnings(learnings);
+    }
+
+    // Read all (served from the catalog cache, 304 when the client's ETag still matches)
     @GetMapping
-    public List<Learning> getAllLearnings() {
-        return learningService.getAllLearnings();
+    public ResponseEntity<byte[]> getAllLearnings(@RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return cachedJson(learningService.getCatalogPayload(), ifNoneMatch);
+    }
+
+    // Read all with a sparse fieldset: ?fields=summary or ?fields=courseId,courseName
+    @GetMapping(params = {"fields", "!limit"})
+    public ResponseEntity<?> getLearningsWithFields(@RequestParam String fields,
+                                                    @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        if (SparseFields.SUMMARY.equals(fields)) {
+            return cachedJson(learningService.getSummaryPayload(), ifNoneMatch);
+        }
+        Set<String> names = sparseFields.parse(fields, LearningSummary.FIELDS);
+        return ResponseEntity.ok(sparseFields.shape(learningService.getLearnings(names), names));
+    }
+
+    // Read one keyset page: ?limit=50&after=<nextCursor>[&fields=...]
+    @GetMapping(params = "limit")
+    public CursorPage<?> getLearningsPage(@RequestParam(required = false) String after,
+                                          @RequestParam int limit,
+                                          @RequestParam(required = false) String fields) {
+        Set<String> names = sparseFields.parse(fields, LearningSummary.FIELDS);
+        return sparseFields.shape(learningService.getLearningsPage(after, limit, names), names);
+    }
+
+    // Read all as NDJSON (Accept: application/x-ndjson), streamed from the cursor
+    @GetMapping(produces = NdjsonStreamer.APPLICATION_NDJSON)
+    public ResponseEntity<StreamingResponseBody> streamLearnings(@RequestParam(required = false) String after) {
+        return ndjsonStreamer.stream(() -> learningService.streamLearnings(after));
+    }
+
+    // Enrollment counts per course and learning mode, from in-memory counters
+    @GetMapping("/stats")
+    public ResponseEntity<EnrollmentStatsReport> getEnrollmentStats() {
+        return enrollmentService.getEnrollmentStats()
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build());
+    }
+
+    // Enrollment counts of one course, keyed by Learning.courseId
+    @GetMapping("/{courseId}/stats")
+    public ResponseEntity<CourseEnrollmentStats> getCourseStats(@PathVariable String courseId) {
+        return enrollmentService.getCourseStats(courseId)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build());
+    }
+
+    // "Learners who enrolled in this course also enrolled in ..."
+    @GetMapping("/{courseId}/recommendations")
+    public ResponseEntity<List<CourseRecommendation>> getCourseRecommendations(@PathVariable String courseId,
+                                                                               @RequestParam(defaultValue = "10") int limit) {
+        if (!enrollmentService.isRecommendationReady()) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+        return ResponseEntity.ok(enrollmentService.getCourseRecommendations(courseId, limit).orElse(List.of()));
+    }
+
+    // Courses for one learner, from the courses they are already enrolled in
+    @GetMapping("/recommendations")
+    public ResponseEntity<List<CourseRecommendation>> getLearnerRecommendations(@RequestParam String email,
+                                                                                @RequestParam(defaultValue = "10") int limit) {
+        if (!enrollmentService.isRecommendationReady()) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+        return ResponseEntity.ok(enrollmentService.getLearnerRecommendations(email, limit).orElse(List.of()));
     }
 
     // Read by ID
     @GetMapping("/{id}")
-    public Optional<Learning> getLearningById(@PathVariable String id) {
-        return learningService.getLearningById(id);
+    public ResponseEntity<byte[]> getLearningById(@PathVariable String id,
+                                                  @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return learningService.getLearningPayload(id)
+                .map(payload -> cachedJson(payload, ifNoneMatch))
+                .orElseGet(() -> ResponseEntity.notFound().build());
     }
 
     // Update
@@ -57,4 +153,18 @@ public class LearningController {
             return ResponseEntity.status(404).body("❌ Course not found for ID: " + id);
         }
     }
+
+    private ResponseEntity<byte[]> cachedJson(CachedPayload<?> payload, String ifNoneMatch) {
+        if (payload.matches(ifNoneMatch)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(payload.getEtag())
+                    .cacheControl(CacheControl.noCache())
+                    .build();
+        }
+        return ResponseEntity.ok()
+                .eTag(payload.getEtag())
+                .cacheControl(CacheControl.noCache())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(payload.getJson());
+    }
 }
@@ -1,14 +1,26 @@
 package net.javaguides.sslp.controller;
 
+import net.javaguides.sslp.dto.BulkResult;
+import net.javaguides.sslp.dto.CursorPage;
+import net.javaguides.sslp.dto.SkillFacets;
+import net.javaguides.sslp.dto.SkillMatch;
+import net.javaguides.sslp.dto.SkillSearchResult;
+import net.javaguides.sslp.dto.SkillSummary;
 import net.javaguides.sslp.model.Skill;
 import net.javaguides.sslp.service.SkillService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 @RestController
+@Profile("!reactive")
 @RequestMapping("/api/skills")
 @CrossOrigin(origins = "*") // Enable CORS if frontend is separate
 public class SkillController {
@@ -16,21 +28,94 @@ public class SkillController {
     @Autowired
     private SkillService skillService;
 
+    @Autowired
+    private NdjsonStreamer ndjsonStreamer;
+
+    @Autowired
+    private SparseFields sparseFields;
+
     @PostMapping
     public Skill createSkill(@RequestBody Skill skill) {
         return skillService.createSkill(skill);
     }
 
+    @PostMapping("/_bulk")
+    public BulkResult createSkills(@RequestBody List<Skill> skills) {
+        return skillService.createSkills(skills);
+    }
+
     @GetMapping
     public List<Skill> getAllSkills() {
         return skillService.getAllSkills();
     }
 
+    // ?fields=summary uses the SkillSummary projection, ?fields=a,b projects arbitrary fields
+    @GetMapping(params = {"fields", "!limit"})
+    public List<?> getSkillsWithFields(@RequestParam String fields) {
+        if (SparseFields.SUMMARY.equals(fields)) {
+            return skillService.getSkillSummaries();
+        }
+        Set<String> names = sparseFields.parse(fields, SkillSummary.FIELDS);
+        return sparseFields.shape(skillService.getSkills(names), names);
+    }
+
+    @GetMapping(params = "limit")
+    public CursorPage<?> getSkillsPage(@RequestParam(required = false) String after,
+                                       @RequestParam int limit,
+                                       @RequestParam(required = false) String fields) {
+        Set<String> names = sparseFields.parse(fields, SkillSummary.FIELDS);
+        return sparseFields.shape(skillService.getSkillsPage(after, limit, names), names);
+    }
+
+    @GetMapping(produces = NdjsonStreamer.APPLICATION_NDJSON)
+    public ResponseEntity<StreamingResponseBody> streamSkills(@RequestParam(required = false) String after) {
+        return ndjsonStreamer.stream(() -> skillService.streamSkills(after));
+    }
+
+    // Ranked over title, tags and description; q may be empty to only filter
+    @GetMapping("/search")
+    public ResponseEntity<SkillSearchResult> searchSkills(@RequestParam(required = false) String q,
+                                                          @RequestParam(required = false) String experienceLevel,
+                                                          @RequestParam(required = false) Boolean available,
+                                                          @RequestParam(defaultValue = "20") int limit) {
+        return skillService.searchSkills(q, experienceLevel, available, limit)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build());
+    }
+
+    // Typeahead over skill titles and tags
+    @GetMapping("/search/suggest")
+    public List<String> suggestSkills(@RequestParam String q,
+                                      @RequestParam(defaultValue = "8") int limit) {
+        return skillService.suggestSkills(q, limit);
+    }
+
+    // Counts per tag and experienceLevel; tags=a,b restricts them to skills carrying all of a and b
+    @GetMapping("/facets")
+    public ResponseEntity<SkillFacets> getSkillFacets(@RequestParam(required = false) List<String> tags,
+                                                      @RequestParam(defaultValue = "50") int tagLimit) {
+        return skillService.getSkillFacets(tags != null ? tags : List.of(), tagLimit)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build());
+    }
+
     @GetMapping("/{id}")
     public Optional<Skill> getSkillById(@PathVariable String id) {
         return skillService.getSkillById(id);
     }
 
+    // Available collaborators with similar tags, from the MinHash/LSH index
+    @GetMapping("/{id}/matches")
+    public ResponseEntity<List<SkillMatch>> getSkillMatches(@PathVariable String id,
+                                                            @RequestParam(defaultValue = "10") int limit) {
+        if (!skillService.isMatchingReady()) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+        return skillService.getSkillMatches(id, limit)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
     @PutMapping("/{id}")
     public Skill updateSkill(@PathVariable String id, @RequestBody Skill skill) {
         return skillService.updateSkill(id, skill);
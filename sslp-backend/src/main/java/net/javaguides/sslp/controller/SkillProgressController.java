@@ -1,13 +1,22 @@
 package net.javaguides.sslp.controller;
 
+import net.javaguides.sslp.dto.CursorPage;
+import net.javaguides.sslp.dto.Leaderboard;
+import net.javaguides.sslp.dto.LeaderboardEntry;
+import net.javaguides.sslp.dto.WithCourse;
 import net.javaguides.sslp.model.SkillProgress;
 import net.javaguides.sslp.service.SkillProgressService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
 @RestController
+@Profile("!reactive")
 @RequestMapping("/api/progress")
 @CrossOrigin(origins = "*")
 public class SkillProgressController {
@@ -15,11 +24,36 @@ public class SkillProgressController {
     @Autowired
     private SkillProgressService service;
 
+    @Autowired
+    private NdjsonStreamer ndjsonStreamer;
+
     @PostMapping
     public SkillProgress createProgress(@RequestBody SkillProgress progress) {
         return service.createProgress(progress);
     }
 
+    // Top learners of one course, or across all courses when courseId is omitted
+    @GetMapping("/leaderboard")
+    public ResponseEntity<Leaderboard> getLeaderboard(@RequestParam(required = false) String courseId,
+                                                      @RequestParam(defaultValue = "10") int limit) {
+        if (!service.isLeaderboardReady()) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+        return ResponseEntity.ok(service.getLeaderboard(courseId, limit));
+    }
+
+    // "My rank" on a course board or the global board
+    @GetMapping("/leaderboard/rank")
+    public ResponseEntity<LeaderboardEntry> getLeaderboardRank(@RequestParam String userId,
+                                                               @RequestParam(required = false) String courseId) {
+        if (!service.isLeaderboardReady()) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+        return service.getLeaderboardRank(userId, courseId)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
     @GetMapping("/{id}")
     public SkillProgress getProgressById(@PathVariable String id) {
         return service.getProgressById(id);
@@ -30,16 +64,47 @@ public class SkillProgressController {
         return service.getAllProgress();
     }
 
+    @GetMapping(params = "limit")
+    public CursorPage<SkillProgress> getProgressPage(@RequestParam(required = false) String after,
+                                                     @RequestParam int limit) {
+        return service.getProgressPage(after, limit);
+    }
+
+    @GetMapping(produces = NdjsonStreamer.APPLICATION_NDJSON)
+    public ResponseEntity<StreamingResponseBody> streamProgress(@RequestParam(required = false) String after) {
+        return ndjsonStreamer.stream(() -> service.streamProgress(after));
+    }
+
     @GetMapping("/user/{userId}")
     public List<SkillProgress> getProgressByUser(@PathVariable String userId) {
         return service.getProgressByUser(userId);
     }
 
+    // ?expand=course joins each progress record with its course's summary in the same query
+    @GetMapping(value = "/user/{userId}", params = "expand")
+    public ResponseEntity<List<WithCourse<SkillProgress>>> getProgressByUserExpanded(@PathVariable String userId,
+                                                                                     @RequestParam String expand) {
+        if (!SparseFields.COURSE.equals(expand)) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(service.getProgressByUserWithCourse(userId));
+    }
+
     @PutMapping("/{id}")
     public SkillProgress updateProgress(@PathVariable String id, @RequestBody SkillProgress progress) {
         return service.updateProgress(id, progress);
     }
 
+    // Server-side, atomic completion; the client no longer computes progressPercentage
+    @PostMapping("/{id}/modules/{moduleId}/complete")
+    public ResponseEntity<SkillProgress> completeModule(@PathVariable String id, @PathVariable String moduleId) {
+        SkillProgress updated = service.completeModule(id, moduleId);
+        if (updated == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(updated);
+    }
+
     @DeleteMapping("/{id}")
     public void deleteProgress(@PathVariable String id) {
         service.deleteProgress(id);
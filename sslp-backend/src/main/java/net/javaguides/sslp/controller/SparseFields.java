@@ -0,0 +1,68 @@
+package net.javaguides.sslp.controller;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import net.javaguides.sslp.dto.CursorPage;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Parses the ?fields= parameter and trims projected entities down to exactly
+ * the requested JSON properties (plus id), so unrequested primitives such as
+ * courseFee do not show up as zero.
+ */
+@Component
+public class SparseFields {
+
+    public static final String SUMMARY = "summary";
+    // ?expand=course: embed the course's LearningSummary
+    public static final String COURSE = "course";
+
+    private static final TypeReference<Map<String, Object>> JSON_OBJECT = new TypeReference<>() {};
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    // "summary" expands to the resource's summary fields; empty means the full document
+    public Set<String> parse(String fields, List<String> summaryFields) {
+        Set<String> names = new LinkedHashSet<>();
+        if (fields == null || fields.isBlank()) {
+            return names;
+        }
+        if (SUMMARY.equals(fields.trim())) {
+            names.addAll(summaryFields);
+            return names;
+        }
+        for (String field : fields.split(",")) {
+            if (!field.isBlank()) {
+                names.add(field.trim());
+            }
+        }
+        return names;
+    }
+
+    public List<?> shape(List<?> items, Set<String> fields) {
+        if (fields.isEmpty()) {
+            return items;
+        }
+        return items.stream().map(item -> shape(item, fields)).toList();
+    }
+
+    public CursorPage<?> shape(CursorPage<?> page, Set<String> fields) {
+        if (fields.isEmpty()) {
+            return page;
+        }
+        return new CursorPage<>(shape(page.getItems(), fields), page.getNextCursor(), page.isHasMore());
+    }
+
+    private Map<String, Object> shape(Object item, Set<String> fields) {
+        Map<String, Object> json = objectMapper.convertValue(item, JSON_OBJECT);
+        json.keySet().removeIf(key -> !key.equals("id") && !fields.contains(key));
+        return json;
+    }
+}
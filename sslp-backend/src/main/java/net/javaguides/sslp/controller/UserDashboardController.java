@@ -0,0 +1,41 @@
+package net.javaguides.sslp.controller;
+
+import net.javaguides.sslp.dto.LearnerDashboard;
+import net.javaguides.sslp.service.DashboardService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.concurrent.RejectedExecutionException;
+
+@RestController
+@Profile("!reactive")
+@RequestMapping("/api/users")
+@CrossOrigin(origins = "*")
+public class UserDashboardController {
+
+    private static final int SECTIONS = 3;
+
+    @Autowired
+    private DashboardService dashboardService;
+
+    // Progress, enrollments and course summaries in one round trip. Enrollments are matched by email address,
+    // which defaults to the userId. Sections that could not be loaded in time are listed in "unavailable"
+    @GetMapping("/{userId}/dashboard")
+    public ResponseEntity<LearnerDashboard> getDashboard(@PathVariable String userId,
+                                                         @RequestParam(required = false) String email) {
+        LearnerDashboard dashboard;
+        try {
+            dashboard = dashboardService.getLearnerDashboard(userId, email != null ? email : userId);
+        } catch (RejectedExecutionException e) {
+            // Too many dashboards in flight
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+        if (dashboard.getUnavailable().size() == SECTIONS) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+        return ResponseEntity.ok(dashboard);
+    }
+}
@@ -0,0 +1,53 @@
+package net.javaguides.sslp.dto;
+
+import java.util.List;
+
+public class BulkResult {
+
+    private int requested;
+    private int created;
+    private int failed;
+    private List<BulkItemResult> items;
+
+    public BulkResult() {
+    }
+
+    public BulkResult(List<BulkItemResult> items) {
+        this.items = items;
+        this.requested = items.size();
+        this.created = (int) items.stream().filter(item -> BulkItemResult.CREATED.equals(item.getStatus())).count();
+        this.failed = requested - created;
+    }
+
+    public int getRequested() {
+        return requested;
+    }
+
+    public void setRequested(int requested) {
+        this.requested = requested;
+    }
+
+    public int getCreated() {
+        return created;
+    }
+
+    public void setCreated(int created) {
+        this.created = created;
+    }
+
+    public int getFailed() {
+        return failed;
+    }
+
+    public void setFailed(int failed) {
+        this.failed = failed;
+    }
+
+    public List<BulkItemResult> getItems() {
+        return items;
+    }
+
+    public void setItems(List<BulkItemResult> items) {
+        this.items = items;
+    }
+}
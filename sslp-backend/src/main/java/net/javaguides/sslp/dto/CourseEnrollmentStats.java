@@ -0,0 +1,29 @@
+package net.javaguides.sslp.dto;
+
+import java.util.Map;
+
+// Enrollment count of one course, in total and per Enrollment.learningMode
+public class CourseEnrollmentStats {
+
+    private final String courseId;
+    private final long total;
+    private final Map<String, Long> byLearningMode;
+
+    public CourseEnrollmentStats(String courseId, long total, Map<String, Long> byLearningMode) {
+        this.courseId = courseId;
+        this.total = total;
+        this.byLearningMode = byLearningMode;
+    }
+
+    public String getCourseId() {
+        return courseId;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    public Map<String, Long> getByLearningMode() {
+        return byLearningMode;
+    }
+}
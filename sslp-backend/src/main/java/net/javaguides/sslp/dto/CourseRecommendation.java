@@ -0,0 +1,27 @@
+package net.javaguides.sslp.dto;
+
+// A recommended course; coEnrolled is the number of learners behind the recommendation
+public class CourseRecommendation {
+
+    private final String courseId;
+    private final double score;
+    private final int coEnrolled;
+
+    public CourseRecommendation(String courseId, double score, int coEnrolled) {
+        this.courseId = courseId;
+        this.score = score;
+        this.coEnrolled = coEnrolled;
+    }
+
+    public String getCourseId() {
+        return courseId;
+    }
+
+    public double getScore() {
+        return score;
+    }
+
+    public int getCoEnrolled() {
+        return coEnrolled;
+    }
+}
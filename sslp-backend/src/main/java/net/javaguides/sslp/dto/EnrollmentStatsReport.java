@@ -0,0 +1,30 @@
+package net.javaguides.sslp.dto;
+
+import java.time.Instant;
+import java.util.List;
+
+// Catalog-wide enrollment counts; reconciledAt is the last time they were checked against Mongo
+public class EnrollmentStatsReport {
+
+    private final long total;
+    private final Instant reconciledAt;
+    private final List<CourseEnrollmentStats> courses;
+
+    public EnrollmentStatsReport(long total, Instant reconciledAt, List<CourseEnrollmentStats> courses) {
+        this.total = total;
+        this.reconciledAt = reconciledAt;
+        this.courses = courses;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    public Instant getReconciledAt() {
+        return reconciledAt;
+    }
+
+    public List<CourseEnrollmentStats> getCourses() {
+        return courses;
+    }
+}
@@ -0,0 +1,43 @@
+package net.javaguides.sslp.dto;
+
+import java.util.List;
+
+// Listing view of Enrollment without contact and identity details
+public class EnrollmentSummary {
+
+    public static final List<String> FIELDS = List.of("fullName", "courseId", "courseName", "learningMode");
+
+    private final String id;
+    private final String fullName;
+    private final String courseId;
+    private final String courseName;
+    private final String learningMode;
+
+    public EnrollmentSummary(String id, String fullName, String courseId, String courseName, String learningMode) {
+        this.id = id;
+        this.fullName = fullName;
+        this.courseId = courseId;
+        this.courseName = courseName;
+        this.learningMode = learningMode;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getFullName() {
+        return fullName;
+    }
+
+    public String getCourseId() {
+        return courseId;
+    }
+
+    public String getCourseName() {
+        return courseName;
+    }
+
+    public String getLearningMode() {
+        return learningMode;
+    }
+}
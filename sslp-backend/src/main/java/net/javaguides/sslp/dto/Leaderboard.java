@@ -0,0 +1,29 @@
+package net.javaguides.sslp.dto;
+
+import java.util.List;
+
+// Top entries of a course board (courseId set) or the global board; size is the number of ranked learners
+public class Leaderboard {
+
+    private final String courseId;
+    private final int size;
+    private final List<LeaderboardEntry> entries;
+
+    public Leaderboard(String courseId, int size, List<LeaderboardEntry> entries) {
+        this.courseId = courseId;
+        this.size = size;
+        this.entries = entries;
+    }
+
+    public String getCourseId() {
+        return courseId;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public List<LeaderboardEntry> getEntries() {
+        return entries;
+    }
+}
@@ -0,0 +1,43 @@
+package net.javaguides.sslp.dto;
+
+/**
+ * One learner's position. On a course board score is the progressPercentage
+ * of that course; on the global board it is the sum over all the learner's
+ * courses (100 per completed course) and courseId is null.
+ */
+public class LeaderboardEntry {
+
+    private final int rank;
+    private final String userId;
+    private final String courseId;
+    private final double score;
+    private final int badges;
+
+    public LeaderboardEntry(int rank, String userId, String courseId, double score, int badges) {
+        this.rank = rank;
+        this.userId = userId;
+        this.courseId = courseId;
+        this.score = score;
+        this.badges = badges;
+    }
+
+    public int getRank() {
+        return rank;
+    }
+
+    public String getUserId() {
+        return userId;
+    }
+
+    public String getCourseId() {
+        return courseId;
+    }
+
+    public double getScore() {
+        return score;
+    }
+
+    public int getBadges() {
+        return badges;
+    }
+}
@@ -0,0 +1,54 @@
+package net.javaguides.sslp.dto;
+
+import net.javaguides.sslp.model.SkillProgress;
+
+import java.util.List;
+
+// Everything the learner dashboard shows, in one response (GET /api/users/{userId}/dashboard)
+public class LearnerDashboard {
+
+    public static final String PROGRESS = "progress";
+    public static final String ENROLLMENTS = "enrollments";
+    public static final String COURSES = "courses";
+
+    private final String userId;
+    private final List<SkillProgress> progress;
+    private final List<EnrollmentSummary> enrollments;
+    private final List<LearningSummary> courses;
+    private final List<String> unavailable;
+
+    public LearnerDashboard(String userId, List<SkillProgress> progress, List<EnrollmentSummary> enrollments,
+                            List<LearningSummary> courses, List<String> unavailable) {
+        this.userId = userId;
+        this.progress = progress;
+        this.enrollments = enrollments;
+        this.courses = courses;
+        this.unavailable = unavailable;
+    }
+
+    public String getUserId() {
+        return userId;
+    }
+
+    public List<SkillProgress> getProgress() {
+        return progress;
+    }
+
+    public List<EnrollmentSummary> getEnrollments() {
+        return enrollments;
+    }
+
+    // Summaries of the courses the learner has progress on or is enrolled in
+    public List<LearningSummary> getCourses() {
+        return courses;
+    }
+
+    // Sections that failed or timed out and are returned empty: progress, enrollments, courses
+    public List<String> getUnavailable() {
+        return unavailable;
+    }
+
+    public boolean isPartial() {
+        return !unavailable.isEmpty();
+    }
+}
@@ -0,0 +1,50 @@
+package net.javaguides.sslp.dto;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.List;
+
+// Catalog listing view of Learning; Spring Data only reads these fields from Mongo
+public class LearningSummary {
+
+    public static final List<String> FIELDS = List.of("courseId", "courseName", "courseFee", "duration");
+
+    private final String id;
+    private final String courseId;
+    private final String courseName;
+    private final double courseFee;
+    private final String duration;
+
+    // Also the Jackson creator: cached summaries are decoded from their JSON (see CachedPayload)
+    @JsonCreator
+    public LearningSummary(@JsonProperty("id") String id, @JsonProperty("courseId") String courseId,
+                           @JsonProperty("courseName") String courseName, @JsonProperty("courseFee") double courseFee,
+                           @JsonProperty("duration") String duration) {
+        this.id = id;
+        this.courseId = courseId;
+        this.courseName = courseName;
+        this.courseFee = courseFee;
+        this.duration = duration;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getCourseId() {
+        return courseId;
+    }
+
+    public String getCourseName() {
+        return courseName;
+    }
+
+    public double getCourseFee() {
+        return courseFee;
+    }
+
+    public String getDuration() {
+        return duration;
+    }
+}
@@ -0,0 +1,52 @@
+package net.javaguides.sslp.dto;
+
+// A code location where virtual threads were pinned to their carrier, aggregated from JFR events
+public class PinningHotspot {
+
+    private String frame;
+    private boolean mongoDriver;
+    private long count;
+    private double maxPinnedMillis;
+
+    public PinningHotspot() {
+    }
+
+    public PinningHotspot(String frame, boolean mongoDriver, long count, double maxPinnedMillis) {
+        this.frame = frame;
+        this.mongoDriver = mongoDriver;
+        this.count = count;
+        this.maxPinnedMillis = maxPinnedMillis;
+    }
+
+    public String getFrame() {
+        return frame;
+    }
+
+    public void setFrame(String frame) {
+        this.frame = frame;
+    }
+
+    public boolean isMongoDriver() {
+        return mongoDriver;
+    }
+
+    public void setMongoDriver(boolean mongoDriver) {
+        this.mongoDriver = mongoDriver;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public void setCount(long count) {
+        this.count = count;
+    }
+
+    public double getMaxPinnedMillis() {
+        return maxPinnedMillis;
+    }
+
+    public void setMaxPinnedMillis(double maxPinnedMillis) {
+        this.maxPinnedMillis = maxPinnedMillis;
+    }
+}
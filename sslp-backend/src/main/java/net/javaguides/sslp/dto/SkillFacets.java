@@ -0,0 +1,36 @@
+package net.javaguides.sslp.dto;
+
+import java.util.List;
+import java.util.Map;
+
+// Facet counts for the skills browse page, ordered by count; restricted to selectedTags when given
+public class SkillFacets {
+
+    private final int total;
+    private final List<String> selectedTags;
+    private final Map<String, Integer> tags;
+    private final Map<String, Integer> experienceLevels;
+
+    public SkillFacets(int total, List<String> selectedTags, Map<String, Integer> tags, Map<String, Integer> experienceLevels) {
+        this.total = total;
+        this.selectedTags = selectedTags;
+        this.tags = tags;
+        this.experienceLevels = experienceLevels;
+    }
+
+    public int getTotal() {
+        return total;
+    }
+
+    public List<String> getSelectedTags() {
+        return selectedTags;
+    }
+
+    public Map<String, Integer> getTags() {
+        return tags;
+    }
+
+    public Map<String, Integer> getExperienceLevels() {
+        return experienceLevels;
+    }
+}
@@ -0,0 +1,37 @@
+package net.javaguides.sslp.dto;
+
+import net.javaguides.sslp.model.Skill;
+
+import java.util.List;
+
+// A collaborator's skill; tagSimilarity is the Jaccard index of the tags, score also weighs experienceLevel
+public class SkillMatch {
+
+    private final Skill skill;
+    private final double score;
+    private final double tagSimilarity;
+    private final List<String> sharedTags;
+
+    public SkillMatch(Skill skill, double score, double tagSimilarity, List<String> sharedTags) {
+        this.skill = skill;
+        this.score = score;
+        this.tagSimilarity = tagSimilarity;
+        this.sharedTags = sharedTags;
+    }
+
+    public Skill getSkill() {
+        return skill;
+    }
+
+    public double getScore() {
+        return score;
+    }
+
+    public double getTagSimilarity() {
+        return tagSimilarity;
+    }
+
+    public List<String> getSharedTags() {
+        return sharedTags;
+    }
+}
@@ -0,0 +1,23 @@
+package net.javaguides.sslp.dto;
+
+import net.javaguides.sslp.model.Skill;
+
+// One ranked search result; score is the BM25 relevance (0 for filter-only queries)
+public class SkillSearchHit {
+
+    private final Skill skill;
+    private final double score;
+
+    public SkillSearchHit(Skill skill, double score) {
+        this.skill = skill;
+        this.score = score;
+    }
+
+    public Skill getSkill() {
+        return skill;
+    }
+
+    public double getScore() {
+        return score;
+    }
+}
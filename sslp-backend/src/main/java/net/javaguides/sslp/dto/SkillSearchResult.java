@@ -0,0 +1,23 @@
+package net.javaguides.sslp.dto;
+
+import java.util.List;
+
+// total counts every matching skill, hits holds the top "limit" of them
+public class SkillSearchResult {
+
+    private final int total;
+    private final List<SkillSearchHit> hits;
+
+    public SkillSearchResult(int total, List<SkillSearchHit> hits) {
+        this.total = total;
+        this.hits = hits;
+    }
+
+    public int getTotal() {
+        return total;
+    }
+
+    public List<SkillSearchHit> getHits() {
+        return hits;
+    }
+}
@@ -0,0 +1,50 @@
+package net.javaguides.sslp.dto;
+
+import java.util.List;
+
+// Browse view of Skill without the long free-text fields
+public class SkillSummary {
+
+    public static final List<String> FIELDS = List.of("name", "skillTitle", "experienceLevel", "tags", "availabilityForCollaboration");
+
+    private final String id;
+    private final String name;
+    private final String skillTitle;
+    private final String experienceLevel;
+    private final List<String> tags;
+    private final boolean availabilityForCollaboration;
+
+    public SkillSummary(String id, String name, String skillTitle, String experienceLevel,
+                        List<String> tags, boolean availabilityForCollaboration) {
+        this.id = id;
+        this.name = name;
+        this.skillTitle = skillTitle;
+        this.experienceLevel = experienceLevel;
+        this.tags = tags;
+        this.availabilityForCollaboration = availabilityForCollaboration;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getSkillTitle() {
+        return skillTitle;
+    }
+
+    public String getExperienceLevel() {
+        return experienceLevel;
+    }
+
+    public List<String> getTags() {
+        return tags;
+    }
+
+    public boolean isAvailabilityForCollaboration() {
+        return availabilityForCollaboration;
+    }
+}
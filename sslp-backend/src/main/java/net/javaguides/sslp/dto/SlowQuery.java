@@ -0,0 +1,70 @@
+package net.javaguides.sslp.dto;
+
+import java.time.Instant;
+
+// A Mongo command that ran over the slow-query threshold; filter values are redacted to "?"
+public class SlowQuery {
+
+    private final long sequence;
+    private final Instant at;
+    private final String database;
+    private final String collection;
+    private final String command;
+    private final double durationMillis;
+    private final boolean failed;
+    private final String filter;
+    private final SlowQueryPlan plan;
+
+    public SlowQuery(long sequence, Instant at, String database, String collection, String command,
+                     double durationMillis, boolean failed, String filter, SlowQueryPlan plan) {
+        this.sequence = sequence;
+        this.at = at;
+        this.database = database;
+        this.collection = collection;
+        this.command = command;
+        this.durationMillis = durationMillis;
+        this.failed = failed;
+        this.filter = filter;
+        this.plan = plan;
+    }
+
+    public SlowQuery withPlan(SlowQueryPlan plan) {
+        return new SlowQuery(sequence, at, database, collection, command, durationMillis, failed, filter, plan);
+    }
+
+    public long getSequence() {
+        return sequence;
+    }
+
+    public Instant getAt() {
+        return at;
+    }
+
+    public String getDatabase() {
+        return database;
+    }
+
+    public String getCollection() {
+        return collection;
+    }
+
+    public String getCommand() {
+        return command;
+    }
+
+    public double getDurationMillis() {
+        return durationMillis;
+    }
+
+    public boolean isFailed() {
+        return failed;
+    }
+
+    public String getFilter() {
+        return filter;
+    }
+
+    public SlowQueryPlan getPlan() {
+        return plan;
+    }
+}
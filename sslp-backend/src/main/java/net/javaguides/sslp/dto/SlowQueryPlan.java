@@ -0,0 +1,47 @@
+package net.javaguides.sslp.dto;
+
+// Winning plan of a sampled slow command, from explain with executionStats
+public class SlowQueryPlan {
+
+    private final String stages;
+    private final String indexName;
+    private final boolean collectionScan;
+    private final long docsExamined;
+    private final long keysExamined;
+    private final long returned;
+
+    public SlowQueryPlan(String stages, String indexName, boolean collectionScan,
+                         long docsExamined, long keysExamined, long returned) {
+        this.stages = stages;
+        this.indexName = indexName;
+        this.collectionScan = collectionScan;
+        this.docsExamined = docsExamined;
+        this.keysExamined = keysExamined;
+        this.returned = returned;
+    }
+
+    // Outermost stage first, e.g. "FETCH > IXSCAN"
+    public String getStages() {
+        return stages;
+    }
+
+    public String getIndexName() {
+        return indexName;
+    }
+
+    public boolean isCollectionScan() {
+        return collectionScan;
+    }
+
+    public long getDocsExamined() {
+        return docsExamined;
+    }
+
+    public long getKeysExamined() {
+        return keysExamined;
+    }
+
+    public long getReturned() {
+        return returned;
+    }
+}
@@ -0,0 +1,25 @@
+package net.javaguides.sslp.dto;
+
+import com.fasterxml.jackson.annotation.JsonUnwrapped;
+
+// An entity plus the summary of its course (?expand=course); the entity's own fields stay at the top level
+public class WithCourse<T> {
+
+    private final T item;
+    private final LearningSummary course;
+
+    public WithCourse(T item, LearningSummary course) {
+        this.item = item;
+        this.course = course;
+    }
+
+    @JsonUnwrapped
+    public T getItem() {
+        return item;
+    }
+
+    // null when no course has the entity's courseId
+    public LearningSummary getCourse() {
+        return course;
+    }
+}
@@ -0,0 +1,46 @@
+package net.javaguides.sslp.event;
+
+import net.javaguides.sslp.model.Enrollment;
+
+/**
+ * Published by EnrollmentServiceImpl after an enrollment was written.
+ * {@code before} is null for a create and {@code after} is null for a
+ * delete; on update both are present, so listeners can move counts from the
+ * old course / learning mode to the new one.
+ */
+public class EnrollmentChangedEvent {
+
+    private final String enrollmentId;
+    private final Enrollment before;
+    private final Enrollment after;
+
+    public EnrollmentChangedEvent(String enrollmentId, Enrollment before, Enrollment after) {
+        this.enrollmentId = enrollmentId;
+        this.before = before;
+        this.after = after;
+    }
+
+    public static EnrollmentChangedEvent created(Enrollment enrollment) {
+        return new EnrollmentChangedEvent(enrollment.getId(), null, enrollment);
+    }
+
+    public static EnrollmentChangedEvent updated(Enrollment before, Enrollment after) {
+        return new EnrollmentChangedEvent(after.getId(), before, after);
+    }
+
+    public static EnrollmentChangedEvent deleted(Enrollment enrollment) {
+        return new EnrollmentChangedEvent(enrollment.getId(), enrollment, null);
+    }
+
+    public String getEnrollmentId() {
+        return enrollmentId;
+    }
+
+    public Enrollment getBefore() {
+        return before;
+    }
+
+    public Enrollment getAfter() {
+        return after;
+    }
+}
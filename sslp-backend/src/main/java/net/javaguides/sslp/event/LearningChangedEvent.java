@@ -0,0 +1,59 @@
+package net.javaguides.sslp.event;
+
+import net.javaguides.sslp.model.Learning;
+
+import java.util.Objects;
+
+/**
+ * Published by LearningServiceImpl after a course was written.
+ * {@code learning} is the stored document, or null when the course was
+ * deleted; {@code previous} is the document an update replaced, null for a
+ * create. Copies of course fields in other collections (e.g.
+ * Enrollment.courseName) are brought up to date from this.
+ */
+public class LearningChangedEvent {
+
+    private final String learningId;
+    private final Learning previous;
+    private final Learning learning;
+
+    public LearningChangedEvent(String learningId, Learning previous, Learning learning) {
+        this.learningId = learningId;
+        this.previous = previous;
+        this.learning = learning;
+    }
+
+    public static LearningChangedEvent saved(Learning learning) {
+        return new LearningChangedEvent(learning.getId(), null, learning);
+    }
+
+    public static LearningChangedEvent updated(Learning previous, Learning learning) {
+        return new LearningChangedEvent(learning.getId(), previous, learning);
+    }
+
+    public static LearningChangedEvent deleted(String learningId) {
+        return new LearningChangedEvent(learningId, null, null);
+    }
+
+    public String getLearningId() {
+        return learningId;
+    }
+
+    public Learning getPrevious() {
+        return previous;
+    }
+
+    public Learning getLearning() {
+        return learning;
+    }
+
+    // True only for an update that changed the stored course name
+    public boolean isRenamed() {
+        return previous != null && learning != null
+                && !Objects.equals(previous.getCourseName(), learning.getCourseName());
+    }
+
+    public boolean isDeleted() {
+        return learning == null;
+    }
+}
@@ -0,0 +1,39 @@
+package net.javaguides.sslp.event;
+
+import net.javaguides.sslp.model.Skill;
+
+/**
+ * Published by SkillService after a skill was written. {@code skill} is the
+ * stored document, or null when the skill was deleted. In-memory views over
+ * skills (search, facets, ...) listen for this instead of re-reading Mongo.
+ */
+public class SkillChangedEvent {
+
+    private final String skillId;
+    private final Skill skill;
+
+    public SkillChangedEvent(String skillId, Skill skill) {
+        this.skillId = skillId;
+        this.skill = skill;
+    }
+
+    public static SkillChangedEvent saved(Skill skill) {
+        return new SkillChangedEvent(skill.getId(), skill);
+    }
+
+    public static SkillChangedEvent deleted(String skillId) {
+        return new SkillChangedEvent(skillId, null);
+    }
+
+    public String getSkillId() {
+        return skillId;
+    }
+
+    public Skill getSkill() {
+        return skill;
+    }
+
+    public boolean isDeleted() {
+        return skill == null;
+    }
+}
@@ -0,0 +1,34 @@
+package net.javaguides.sslp.event;
+
+import net.javaguides.sslp.model.SkillProgress;
+
+/**
+ * Published by SkillProgressServiceImpl after a progress record was written.
+ * {@code progress} is the stored document, or null when it was deleted.
+ */
+public class SkillProgressChangedEvent {
+
+    private final String progressId;
+    private final SkillProgress progress;
+
+    public SkillProgressChangedEvent(String progressId, SkillProgress progress) {
+        this.progressId = progressId;
+        this.progress = progress;
+    }
+
+    public static SkillProgressChangedEvent saved(SkillProgress progress) {
+        return new SkillProgressChangedEvent(progress.getId(), progress);
+    }
+
+    public static SkillProgressChangedEvent deleted(String progressId) {
+        return new SkillProgressChangedEvent(progressId, null);
+    }
+
+    public String getProgressId() {
+        return progressId;
+    }
+
+    public SkillProgress getProgress() {
+        return progress;
+    }
+}
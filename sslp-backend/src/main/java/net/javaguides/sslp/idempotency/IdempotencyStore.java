@@ -0,0 +1,179 @@
+package net.javaguides.sslp.idempotency;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import net.javaguides.sslp.model.IdempotencyRecord;
+import net.javaguides.sslp.repo.IdempotencyRecordRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Idempotency-Key support: the first request with a key runs, its response
+ * is recorded, and retries with the same key and the same body get that
+ * response replayed (marked Idempotent-Replayed) without running again.
+ * A retry while the first request is still running gets 409, a key reused
+ * with a different body 422. 5xx responses and exceptions are not recorded,
+ * so those can be retried.
+ *
+ * Keys live in a bounded in-memory cache (sslp.idempotency.max-keys, expiring
+ * after sslp.idempotency.ttl). With sslp.idempotency.mongo.enabled, completed
+ * responses are also written to the idempotency_keys collection with a TTL
+ * index, so a retry after a restart or on another instance is still
+ * replayed; that costs one lookup for keys not held in memory.
+ */
+@Component
+public class IdempotencyStore {
+
+    private static final Logger log = LoggerFactory.getLogger(IdempotencyStore.class);
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+    private static final int MAX_KEY_LENGTH = 255;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private IdempotencyRecordRepository recordRepository;
+
+    @Value("${sslp.idempotency.mongo.enabled:false}")
+    private boolean mongoEnabled;
+
+    private final Duration ttl;
+    private final Cache<String, Slot> slots;
+
+    public IdempotencyStore(@Value("${sslp.idempotency.max-keys:100000}") long maxKeys,
+                            @Value("${sslp.idempotency.ttl:24h}") Duration ttl) {
+        this.ttl = ttl;
+        this.slots = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    // scope separates endpoints (e.g. "POST /api/enrollments"); request is the body the key must keep matching
+    public ResponseEntity<?> execute(String scope, String key, Object request, Supplier<ResponseEntity<?>> action) {
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            return ResponseEntity.badRequest().build();
+        }
+        String id = scope + " " + key;
+        String fingerprint = fingerprint(request);
+        Slot claim = new Slot(fingerprint, 0, null);
+
+        Slot existing = slots.asMap().putIfAbsent(id, claim);
+        if (existing == null && mongoEnabled) {
+            existing = findRecorded(id).orElse(null);
+            if (existing != null) {
+                slots.put(id, existing);
+            }
+        }
+        if (existing != null) {
+            return replay(existing, fingerprint);
+        }
+
+        ResponseEntity<?> response;
+        try {
+            response = action.get();
+        } catch (RuntimeException e) {
+            slots.asMap().remove(id, claim);
+            throw e;
+        }
+        if (response.getStatusCode().is5xxServerError()) {
+            slots.asMap().remove(id, claim);
+            return response;
+        }
+        Slot completed = new Slot(fingerprint, response.getStatusCode().value(), serialize(response.getBody()));
+        slots.put(id, completed);
+        if (mongoEnabled) {
+            record(id, completed);
+        }
+        return response;
+    }
+
+    private ResponseEntity<?> replay(Slot slot, String fingerprint) {
+        if (!slot.fingerprint.equals(fingerprint)) {
+            return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY).build();
+        }
+        if (slot.isInFlight()) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+        ResponseEntity.BodyBuilder builder = ResponseEntity.status(slot.status).header(REPLAYED_HEADER, "true");
+        return slot.body != null
+                ? builder.contentType(MediaType.APPLICATION_JSON).body(slot.body)
+                : builder.build();
+    }
+
+    private Optional<Slot> findRecorded(String id) {
+        try {
+            return recordRepository.findById(id)
+                    // The TTL monitor only runs once a minute
+                    .filter(record -> record.getExpiresAt().isAfter(Instant.now()))
+                    .map(record -> new Slot(record.getFingerprint(), record.getStatus(), record.getBody()));
+        } catch (RuntimeException e) {
+            log.warn("Could not look up idempotency key: {}", e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private void record(String id, Slot slot) {
+        try {
+            recordRepository.save(new IdempotencyRecord(id, slot.fingerprint, slot.status, slot.body,
+                    Instant.now().plus(ttl)));
+        } catch (RuntimeException e) {
+            // Still replayed from memory on this instance
+            log.warn("Could not store idempotency key: {}", e.getMessage());
+        }
+    }
+
+    private String fingerprint(Object request) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(serialize(request)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private byte[] serialize(Object value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return objectMapper.writeValueAsBytes(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize idempotent request or response", e);
+        }
+    }
+
+    // A claimed key (status 0 while its request runs) or a recorded response
+    private static final class Slot {
+        final String fingerprint;
+        final int status;
+        final byte[] body;
+
+        Slot(String fingerprint, int status, byte[] body) {
+            this.fingerprint = fingerprint;
+            this.status = status;
+            this.body = body;
+        }
+
+        boolean isInFlight() {
+            return status == 0;
+        }
+    }
+}
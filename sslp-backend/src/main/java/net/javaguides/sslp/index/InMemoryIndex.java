@@ -0,0 +1,156 @@
+package net.javaguides.sslp.index;
+
+import net.javaguides.sslp.repo.KeysetPager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Base for in-memory views over one Mongo collection.
+ *
+ * The view is loaded from Mongo once the application is up and then kept
+ * current by the subclass forwarding its change events to applyChange(). A rebuild loads into a fresh state off the
+ * lock and replays the changes that arrived meanwhile before swapping it in,
+ * so queries keep being answered during the rebuild.
+ *
+ * @param <T> the document type
+ * @param <S> the mutable state, only touched under the lock
+ */
+public abstract class InMemoryIndex<T, S> {
+
+    protected final Logger log = LoggerFactory.getLogger(getClass());
+
+    @Autowired
+    private KeysetPager keysetPager;
+
+    @Value("${sslp.indexes.build-on-startup:true}")
+    private boolean buildOnStartup;
+
+    private final Class<T> documentType;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+
+    // Guarded by lock
+    private S state = newState();
+    // Non-null while a rebuild runs; the latest state of every document changed meanwhile (null = deleted)
+    private Map<String, T> changedDuringRebuild;
+
+    private volatile boolean ready;
+
+    protected InMemoryIndex(Class<T> documentType) {
+        this.documentType = documentType;
+    }
+
+    protected abstract S newState();
+
+    // Inserts the document or replaces the version already held under its id
+    protected abstract void put(S state, T document);
+
+    protected abstract void remove(S state, String id);
+
+    // Builds a fresh state from the whole collection; override to build it in bulk or in parallel
+    protected S load(Stream<T> documents) {
+        S fresh = newState();
+        documents.forEach(document -> put(fresh, document));
+        return fresh;
+    }
+
+    // One-line size summary for the rebuild log message
+    protected abstract String describe(S state);
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (!buildOnStartup) {
+            return;
+        }
+        try {
+            rebuild();
+        } catch (RuntimeException e) {
+            log.warn("{} was not built: {}", getClass().getSimpleName(), e.getMessage());
+        }
+    }
+
+    // document is the stored state, or null when it was deleted
+    protected void applyChange(String id, T document) {
+        lock.writeLock().lock();
+        try {
+            apply(state, id, document);
+            if (changedDuringRebuild != null) {
+                changedDuringRebuild.put(id, document);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Returns false without doing anything if a rebuild is already running
+    public boolean rebuild() {
+        if (!rebuildLock.tryLock()) {
+            return false;
+        }
+        try {
+            setChangedDuringRebuild(new HashMap<>());
+            S fresh;
+            try (Stream<T> documents = keysetPager.stream(documentType, null)) {
+                fresh = load(documents);
+            }
+
+            lock.writeLock().lock();
+            try {
+                changedDuringRebuild.forEach((id, document) -> apply(fresh, id, document));
+                state = fresh;
+                ready = true;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            log.info("{} built: {}", getClass().getSimpleName(), describe(fresh));
+            return true;
+        } finally {
+            setChangedDuringRebuild(null);
+            rebuildLock.unlock();
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    protected <R> R read(Function<S, R> query) {
+        lock.readLock().lock();
+        try {
+            return query.apply(state);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void apply(S target, String id, T document) {
+        if (document == null) {
+            remove(target, id);
+        } else {
+            put(target, document);
+        }
+    }
+
+    private void setChangedDuringRebuild(Map<String, T> changes) {
+        lock.writeLock().lock();
+        try {
+            changedDuringRebuild = changes;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package net.javaguides.sslp.leaderboard;
+
+import net.javaguides.sslp.dto.Leaderboard;
+import net.javaguides.sslp.dto.LeaderboardEntry;
+import net.javaguides.sslp.event.SkillProgressChangedEvent;
+import net.javaguides.sslp.index.InMemoryIndex;
+import net.javaguides.sslp.model.SkillProgress;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Learner rankings by progressPercentage, then number of badgesEarned.
+ *
+ * One RankedSkipList per course holds a standing per progress record, and a
+ * global list holds one standing per user with the sums over their courses.
+ * A write removes the record's old standings and inserts the new ones, so
+ * top-N and "my rank" are O(log n) without sorting skill_progress.
+ */
+@Component
+public class ProgressLeaderboard extends InMemoryIndex<SkillProgress, ProgressLeaderboard.Boards> {
+
+    // Best first; userId and member id make the order total so equal scores stay distinct
+    private static final Comparator<Standing> BEST_FIRST = Comparator
+            .comparingDouble((Standing standing) -> -standing.score)
+            .thenComparingInt(standing -> -standing.badges)
+            .thenComparing(standing -> standing.userId)
+            .thenComparing(standing -> standing.memberId);
+
+    public ProgressLeaderboard() {
+        super(SkillProgress.class);
+    }
+
+    @EventListener
+    public void onProgressChanged(SkillProgressChangedEvent event) {
+        applyChange(event.getProgressId(), event.getProgress());
+    }
+
+    @Override
+    protected Boards newState() {
+        return new Boards();
+    }
+
+    @Override
+    protected void put(Boards boards, SkillProgress progress) {
+        boards.remove(progress.getId());
+        boards.add(progress);
+    }
+
+    @Override
+    protected void remove(Boards boards, String progressId) {
+        boards.remove(progressId);
+    }
+
+    @Override
+    protected String describe(Boards boards) {
+        return boards.records.size() + " progress records, " + boards.courses.size() + " courses, "
+                + boards.global.size() + " learners";
+    }
+
+    // courseId null means the global board
+    public Leaderboard top(String courseId, int limit) {
+        return read(boards -> {
+            RankedSkipList<Standing> board = boards.board(courseId);
+            if (board == null) {
+                return new Leaderboard(courseId, 0, List.of());
+            }
+            List<LeaderboardEntry> entries = new ArrayList<>();
+            int rank = 1;
+            for (Standing standing : board.range(1, limit)) {
+                entries.add(standing.toEntry(rank++));
+            }
+            return new Leaderboard(courseId, board.size(), entries);
+        });
+    }
+
+    public Optional<LeaderboardEntry> rankOf(String userId, String courseId) {
+        return read(boards -> {
+            Standing standing = courseId == null
+                    ? boards.userTotals.get(userId)
+                    : boards.records.get(boards.recordByCourseAndUser.get(Boards.courseUserKey(courseId, userId)));
+            if (standing == null) {
+                return Optional.empty();
+            }
+            return Optional.of(standing.toEntry(boards.board(courseId).rank(standing)));
+        });
+    }
+
+    private static final class Standing {
+        // Progress id on a course board, user id on the global board
+        final String memberId;
+        final String userId;
+        final String courseId;
+        final double score;
+        final int badges;
+
+        Standing(String memberId, String userId, String courseId, double score, int badges) {
+            this.memberId = memberId;
+            this.userId = userId;
+            this.courseId = courseId;
+            this.score = score;
+            this.badges = badges;
+        }
+
+        LeaderboardEntry toEntry(int rank) {
+            return new LeaderboardEntry(rank, userId, courseId, score, badges);
+        }
+    }
+
+    static final class Boards {
+        // progress id -> its standing on the course board
+        final Map<String, Standing> records = new HashMap<>();
+        final Map<String, RankedSkipList<Standing>> courses = new HashMap<>();
+        // user id -> summed standing on the global board
+        final Map<String, Standing> userTotals = new HashMap<>();
+        final RankedSkipList<Standing> global = new RankedSkipList<>(BEST_FIRST);
+        final Map<String, Integer> recordsPerUser = new HashMap<>();
+        // (course, user) -> progress id, for course-scoped "my rank"
+        final Map<String, String> recordByCourseAndUser = new HashMap<>();
+
+        static String courseUserKey(String courseId, String userId) {
+            return courseId + '\u0000' + userId;
+        }
+
+        RankedSkipList<Standing> board(String courseId) {
+            return courseId == null ? global : courses.get(courseId);
+        }
+
+        void add(SkillProgress progress) {
+            if (progress.getUserId() == null || progress.getCourseId() == null) {
+                return;
+            }
+            int badges = progress.getBadgesEarned() == null ? 0 : progress.getBadgesEarned().size();
+            Standing standing = new Standing(progress.getId(), progress.getUserId(), progress.getCourseId(),
+                    progress.getProgressPercentage(), badges);
+            records.put(progress.getId(), standing);
+            recordsPerUser.merge(standing.userId, 1, Integer::sum);
+            recordByCourseAndUser.put(courseUserKey(standing.courseId, standing.userId), standing.memberId);
+            courses.computeIfAbsent(progress.getCourseId(), id -> new RankedSkipList<>(BEST_FIRST)).add(standing);
+            adjustTotal(standing.userId, standing.score, standing.badges);
+        }
+
+        void remove(String progressId) {
+            Standing standing = records.remove(progressId);
+            if (standing == null) {
+                return;
+            }
+            RankedSkipList<Standing> board = courses.get(standing.courseId);
+            board.remove(standing);
+            if (board.size() == 0) {
+                courses.remove(standing.courseId);
+            }
+            recordsPerUser.computeIfPresent(standing.userId, (user, count) -> count > 1 ? count - 1 : null);
+            recordByCourseAndUser.remove(courseUserKey(standing.courseId, standing.userId), standing.memberId);
+            adjustTotal(standing.userId, -standing.score, -standing.badges);
+        }
+
+        private void adjustTotal(String userId, double score, int badges) {
+            Standing previous = userTotals.remove(userId);
+            double total = score;
+            int totalBadges = badges;
+            if (previous != null) {
+                global.remove(previous);
+                total += previous.score;
+                totalBadges += previous.badges;
+            }
+            if (!recordsPerUser.containsKey(userId)) {
+                return;
+            }
+            // Percentages carry two decimals; rounding keeps repeated +/- from accumulating float error
+            Standing updated = new Standing(userId, userId, null, Math.round(total * 100) / 100.0, totalBadges);
+            userTotals.put(userId, updated);
+            global.add(updated);
+        }
+    }
+}
@@ -0,0 +1,262 @@
+package net.javaguides.sslp.match;
+
+import net.javaguides.sslp.dto.SkillMatch;
+import net.javaguides.sslp.model.Skill;
+import net.javaguides.sslp.search.AbstractSkillIndex;
+import net.javaguides.sslp.search.TextAnalyzer;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * Collaboration partner matching over Skill.tags.
+ *
+ * Each skill's tag set gets a MinHash signature of SIGNATURE_SIZE values,
+ * cut into BANDS bands of ROWS values. Available skills are put in one LSH
+ * bucket per band, so a lookup only compares against skills that share at
+ * least one band, i.e. that are likely to have a high tag Jaccard index
+ * (16 bands of 2 rows put the 50% recall point near Jaccard 0.25).
+ * Candidates are then scored exactly from their sorted tag-id arrays and
+ * weighted by how close their experienceLevel is to the query skill's.
+ */
+@Component
+public class SkillMatchIndex extends AbstractSkillIndex<SkillMatchIndex.Buckets> {
+
+    private static final int BANDS = 16;
+    private static final int ROWS = 2;
+    private static final int SIGNATURE_SIZE = BANDS * ROWS;
+    private static final long[] SEEDS = new long[SIGNATURE_SIZE];
+
+    static {
+        long seed = 0x5DEECE66DL;
+        for (int i = 0; i < SIGNATURE_SIZE; i++) {
+            seed = mix(seed + 0x9E3779B97F4A7C15L);
+            SEEDS[i] = seed;
+        }
+    }
+
+    private static final List<String> LEVELS = List.of("beginner", "intermediate", "advanced", "expert");
+
+    @Override
+    protected Buckets newState() {
+        return new Buckets();
+    }
+
+    @Override
+    protected void put(Buckets buckets, Skill skill) {
+        buckets.remove(skill.getId());
+        buckets.add(skill);
+    }
+
+    @Override
+    protected void remove(Buckets buckets, String skillId) {
+        buckets.remove(skillId);
+    }
+
+    @Override
+    protected String describe(Buckets buckets) {
+        return buckets.entries.size() + " skills, " + buckets.tagIds.size() + " distinct tags";
+    }
+
+    // Empty when the skill is not indexed; otherwise the best available partners, best first
+    public Optional<List<SkillMatch>> findMatches(String skillId, int limit) {
+        return read(buckets -> {
+            Entry query = buckets.entries.get(skillId);
+            if (query == null) {
+                return Optional.empty();
+            }
+            Set<String> candidates = new HashSet<>();
+            for (int band = 0; band < BANDS; band++) {
+                Set<String> bucket = buckets.bands.get(band).get(query.bandKeys[band]);
+                if (bucket != null) {
+                    candidates.addAll(bucket);
+                }
+            }
+
+            Comparator<SkillMatch> byScore = Comparator.comparingDouble(SkillMatch::getScore)
+                    .thenComparing(match -> match.getSkill().getId(), Comparator.reverseOrder());
+            PriorityQueue<SkillMatch> top = new PriorityQueue<>(byScore);
+            for (String candidateId : candidates) {
+                Entry candidate = buckets.entries.get(candidateId);
+                if (candidateId.equals(skillId) || samePerson(query.skill, candidate.skill)) {
+                    continue;
+                }
+                int shared = intersectionSize(query.tags, candidate.tags);
+                if (shared == 0) {
+                    continue;
+                }
+                double jaccard = (double) shared / (query.tags.length + candidate.tags.length - shared);
+                double score = jaccard * levelWeight(query.level, candidate.level);
+                top.add(new SkillMatch(candidate.skill, score, jaccard, sharedTags(buckets, query.tags, candidate.tags)));
+                if (top.size() > limit) {
+                    top.poll();
+                }
+            }
+            List<SkillMatch> matches = new ArrayList<>(top);
+            matches.sort(byScore.reversed());
+            return Optional.of(matches);
+        });
+    }
+
+    // 1 for the same level, 0.8 one level apart, ... ; unknown levels count as one level apart
+    private static double levelWeight(int a, int b) {
+        int distance = a < 0 || b < 0 ? 1 : Math.abs(a - b);
+        return 1.0 / (1 + 0.25 * distance);
+    }
+
+    private static boolean samePerson(Skill a, Skill b) {
+        return a.getEmailAddress() != null && a.getEmailAddress().equalsIgnoreCase(b.getEmailAddress());
+    }
+
+    private static int intersectionSize(int[] a, int[] b) {
+        int i = 0;
+        int j = 0;
+        int shared = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] == b[j]) {
+                shared++;
+                i++;
+                j++;
+            } else if (a[i] < b[j]) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return shared;
+    }
+
+    private static List<String> sharedTags(Buckets buckets, int[] a, int[] b) {
+        List<String> shared = new ArrayList<>();
+        for (int tagId : a) {
+            if (Arrays.binarySearch(b, tagId) >= 0) {
+                shared.add(buckets.tagNames.get(tagId));
+            }
+        }
+        return shared;
+    }
+
+    // SplitMix64 finalizer
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    private static final class Entry {
+        final Skill skill;
+        // sorted tag ids
+        final int[] tags;
+        final int level;
+        final long[] bandKeys;
+        final boolean bucketed;
+
+        Entry(Skill skill, int[] tags, int level, long[] bandKeys, boolean bucketed) {
+            this.skill = skill;
+            this.tags = tags;
+            this.level = level;
+            this.bandKeys = bandKeys;
+            this.bucketed = bucketed;
+        }
+    }
+
+    static final class Buckets {
+        final Map<String, Entry> entries = new HashMap<>();
+        // tag dictionary; ids are never reused so removals cannot alias tags
+        final Map<String, Integer> tagIds = new HashMap<>();
+        final Map<Integer, String> tagNames = new HashMap<>();
+        final Map<String, Integer> tagUsage = new HashMap<>();
+        // band -> band key -> ids of available skills in that bucket
+        final List<Map<Long, Set<String>>> bands = new ArrayList<>();
+        int nextTagId;
+
+        Buckets() {
+            for (int band = 0; band < BANDS; band++) {
+                bands.add(new HashMap<>());
+            }
+        }
+
+        void add(Skill skill) {
+            Map<String, String> tags = new LinkedHashMap<>();
+            if (skill.getTags() != null) {
+                skill.getTags().stream()
+                        .filter(tag -> tag != null && !tag.isBlank())
+                        .forEach(tag -> tags.putIfAbsent(TextAnalyzer.normalize(tag), tag.trim()));
+            }
+            int[] ids = new int[tags.size()];
+            long[] signature = new long[SIGNATURE_SIZE];
+            Arrays.fill(signature, Long.MAX_VALUE);
+            int n = 0;
+            for (Map.Entry<String, String> tag : tags.entrySet()) {
+                ids[n++] = tagIds.computeIfAbsent(tag.getKey(), key -> {
+                    tagNames.put(nextTagId, tag.getValue());
+                    return nextTagId++;
+                });
+                tagUsage.merge(tag.getKey(), 1, Integer::sum);
+                long base = mix(tag.getKey().hashCode() * 0x9E3779B97F4A7C15L);
+                for (int i = 0; i < SIGNATURE_SIZE; i++) {
+                    signature[i] = Math.min(signature[i], mix(base ^ SEEDS[i]));
+                }
+            }
+            Arrays.sort(ids);
+
+            long[] bandKeys = new long[BANDS];
+            for (int band = 0; band < BANDS; band++) {
+                long key = band;
+                for (int row = 0; row < ROWS; row++) {
+                    key = mix(key * 31 + signature[band * ROWS + row]);
+                }
+                bandKeys[band] = key;
+            }
+
+            // Untagged skills are kept so they can be queried, but nothing can match them
+            boolean bucketed = skill.isAvailabilityForCollaboration() && ids.length > 0;
+            if (bucketed) {
+                for (int band = 0; band < BANDS; band++) {
+                    bands.get(band).computeIfAbsent(bandKeys[band], key -> new HashSet<>()).add(skill.getId());
+                }
+            }
+            entries.put(skill.getId(), new Entry(skill, ids, levelOf(skill.getExperienceLevel()), bandKeys, bucketed));
+        }
+
+        void remove(String skillId) {
+            Entry entry = entries.remove(skillId);
+            if (entry == null) {
+                return;
+            }
+            if (entry.bucketed) {
+                for (int band = 0; band < BANDS; band++) {
+                    Map<Long, Set<String>> buckets = bands.get(band);
+                    Set<String> bucket = buckets.get(entry.bandKeys[band]);
+                    bucket.remove(skillId);
+                    if (bucket.isEmpty()) {
+                        buckets.remove(entry.bandKeys[band]);
+                    }
+                }
+            }
+            for (int tagId : entry.tags) {
+                String key = TextAnalyzer.normalize(tagNames.get(tagId));
+                if (tagUsage.merge(key, -1, Integer::sum) == 0) {
+                    tagUsage.remove(key);
+                    tagIds.remove(key);
+                    tagNames.remove(tagId);
+                }
+            }
+        }
+
+        private static int levelOf(String experienceLevel) {
+            return experienceLevel == null ? -1 : LEVELS.indexOf(experienceLevel.trim().toLowerCase(Locale.ROOT));
+        }
+    }
+}
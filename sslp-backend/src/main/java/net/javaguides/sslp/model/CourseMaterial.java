@@ -0,0 +1,107 @@
+package net.javaguides.sslp.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+// A file (video, PDF, ...) attached to a course, optionally to one of its CourseContent modules
+@Document(collection = "course_materials")
+public class CourseMaterial {
+
+    @Id
+    private String id;
+
+    @Indexed
+    private String courseId;
+    private String module;
+    private String fileName;
+    private String contentType;
+    private long size;
+    // Names the stored blob; kept out of API responses so content hashes cannot be used to probe for files
+    @JsonIgnore
+    private String sha256;
+    private Instant uploadedAt;
+
+    // Constructors
+    public CourseMaterial() {
+    }
+
+    public CourseMaterial(String courseId, String module, String fileName, String contentType,
+                          long size, String sha256, Instant uploadedAt) {
+        this.courseId = courseId;
+        this.module = module;
+        this.fileName = fileName;
+        this.contentType = contentType;
+        this.size = size;
+        this.sha256 = sha256;
+        this.uploadedAt = uploadedAt;
+    }
+
+    // Getters and Setters
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getCourseId() {
+        return courseId;
+    }
+
+    public void setCourseId(String courseId) {
+        this.courseId = courseId;
+    }
+
+    public String getModule() {
+        return module;
+    }
+
+    public void setModule(String module) {
+        this.module = module;
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    public void setFileName(String fileName) {
+        this.fileName = fileName;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public void setContentType(String contentType) {
+        this.contentType = contentType;
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    public void setSize(long size) {
+        this.size = size;
+    }
+
+    public String getSha256() {
+        return sha256;
+    }
+
+    public void setSha256(String sha256) {
+        this.sha256 = sha256;
+    }
+
+    public Instant getUploadedAt() {
+        return uploadedAt;
+    }
+
+    public void setUploadedAt(Instant uploadedAt) {
+        this.uploadedAt = uploadedAt;
+    }
+}
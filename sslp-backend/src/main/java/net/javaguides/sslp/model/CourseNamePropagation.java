@@ -0,0 +1,84 @@
+package net.javaguides.sslp.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+// Progress of copying a course's current name into its enrollments; one document per courseId
+@Document(collection = "course_name_propagations")
+public class CourseNamePropagation {
+
+    // The courseId
+    @Id
+    private String id;
+    private String courseName;
+    // Incremented by every rename, so a run that was overtaken by a newer rename stops writing its checkpoints
+    private long generation;
+    private Instant requestedAt;
+    // Checkpoint: enrollments of the course up to this _id have the name
+    private String lastEnrollmentId;
+    private long updatedCount;
+    private Instant completedAt;
+
+    // Constructors
+    public CourseNamePropagation() {
+    }
+
+    // Getters and Setters
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getCourseName() {
+        return courseName;
+    }
+
+    public void setCourseName(String courseName) {
+        this.courseName = courseName;
+    }
+
+    public long getGeneration() {
+        return generation;
+    }
+
+    public void setGeneration(long generation) {
+        this.generation = generation;
+    }
+
+    public Instant getRequestedAt() {
+        return requestedAt;
+    }
+
+    public void setRequestedAt(Instant requestedAt) {
+        this.requestedAt = requestedAt;
+    }
+
+    public String getLastEnrollmentId() {
+        return lastEnrollmentId;
+    }
+
+    public void setLastEnrollmentId(String lastEnrollmentId) {
+        this.lastEnrollmentId = lastEnrollmentId;
+    }
+
+    public long getUpdatedCount() {
+        return updatedCount;
+    }
+
+    public void setUpdatedCount(long updatedCount) {
+        this.updatedCount = updatedCount;
+    }
+
+    public Instant getCompletedAt() {
+        return completedAt;
+    }
+
+    public void setCompletedAt(Instant completedAt) {
+        this.completedAt = completedAt;
+    }
+}
@@ -1,9 +1,14 @@
 package net.javaguides.sslp.model;
 
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 @Document(collection = "enrollments")
+// Unique: one enrollment per learner and course, so retried or double-submitted enrollments fail with a duplicate key
+@CompoundIndex(name = "email_course", def = "{'emailAddress': 1, 'courseId': 1}", unique = true)
+// Serves courseId lookups and walking one course's enrollments in _id order (course name propagation)
+@CompoundIndex(name = "courseId_id", def = "{'courseId': 1, '_id': 1}")
 public class Enrollment {
 
     @Id
@@ -1,6 +1,7 @@
 package net.javaguides.sslp.model;
 
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.util.List;
@@ -11,6 +12,7 @@ public class Learning {
     @Id
     private String id;
 
+    @Indexed
     private String courseId;
     private String courseName;
     private double courseFee;
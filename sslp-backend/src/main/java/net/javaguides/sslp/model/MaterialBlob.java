@@ -0,0 +1,73 @@
+package net.javaguides.sslp.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+// One stored file content, keyed by its SHA-256; refCount is the number of CourseMaterials that use it
+@Document(collection = "material_blobs")
+@CompoundIndex(name = "refCount_releasedAt", def = "{'refCount': 1, 'releasedAt': 1}")
+public class MaterialBlob {
+
+    @Id
+    private String id;
+    private long size;
+    private long refCount;
+    private Instant createdAt;
+    // Last time a reference was dropped; unreferenced blobs are collected a grace period after it
+    private Instant releasedAt;
+
+    // Constructors
+    public MaterialBlob() {
+    }
+
+    public MaterialBlob(String id, long size, long refCount, Instant createdAt) {
+        this.id = id;
+        this.size = size;
+        this.refCount = refCount;
+        this.createdAt = createdAt;
+    }
+
+    // Getters and Setters
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    public void setSize(long size) {
+        this.size = size;
+    }
+
+    public long getRefCount() {
+        return refCount;
+    }
+
+    public void setRefCount(long refCount) {
+        this.refCount = refCount;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(Instant createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public Instant getReleasedAt() {
+        return releasedAt;
+    }
+
+    public void setReleasedAt(Instant releasedAt) {
+        this.releasedAt = releasedAt;
+    }
+}
@@ -1,6 +1,8 @@
 package net.javaguides.sslp.model;
 
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.IndexDirection;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.LocalDate;
@@ -19,8 +21,10 @@ public class Skill {
     private String skillDescription;
     private String experienceLevel;
     private String howYouUseIt;
+    @Indexed
     private List<String> tags; // Category or tags
     private boolean availabilityForCollaboration;
+    @Indexed(direction = IndexDirection.DESCENDING)
     private LocalDate date;
     private LocalTime time;
 
@@ -1,6 +1,7 @@
 package net.javaguides.sslp.model;
 
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.util.List;
@@ -12,7 +13,9 @@ public class SkillProgress {
     @Id
     private String id;
 
+    @Indexed
     private String userId;
+    @Indexed
     private String courseId;
     private List<String> completedModules;
     private int totalModules;
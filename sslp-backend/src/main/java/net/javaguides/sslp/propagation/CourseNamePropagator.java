@@ -0,0 +1,204 @@
+package net.javaguides.sslp.propagation;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.MultiGauge;
+import io.micrometer.core.instrument.Tags;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import net.javaguides.sslp.event.LearningChangedEvent;
+import net.javaguides.sslp.model.CourseNamePropagation;
+import net.javaguides.sslp.model.Enrollment;
+import net.javaguides.sslp.model.Learning;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Copies a course's name into Enrollment.courseName after the course was
+ * renamed, in the background.
+ *
+ * An update that changes the stored course name records (or restarts) a job
+ * in course_name_propagations; creates and other updates schedule nothing. A worker
+ * thread walks the course's enrollments in _id order over the
+ * {courseId, _id} index: each batch is one updateMany over the next
+ * batch-size enrollments, and the last _id of the batch is saved as the
+ * checkpoint, so after a restart the job resumes where it stopped. Jobs of
+ * several courses take turns batch by batch.
+ *
+ * The worker throttles itself to max-duty-cycle: after a batch that took t
+ * it pauses t * (1 - duty) / duty, so slower batches (a busy cluster) mean
+ * proportionally longer pauses. A course renamed again while its job runs
+ * gets a new generation, and the old run's checkpoints are discarded.
+ *
+ * course.name.propagation.lag (seconds since the pending rename, tagged
+ * with courseId) covers every job that has not completed.
+ */
+@Component
+public class CourseNamePropagator {
+
+    private static final Logger log = LoggerFactory.getLogger(CourseNamePropagator.class);
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${sslp.propagation.course-name.batch-size:500}")
+    private int batchSize;
+
+    @Value("${sslp.propagation.course-name.max-duty-cycle:0.2}")
+    private double maxDutyCycle;
+
+    @Value("${sslp.propagation.course-name.poll-interval:PT30S}")
+    private Duration pollInterval;
+
+    private MultiGauge lag;
+    private Thread worker;
+    private volatile boolean running;
+
+    @PostConstruct
+    public void start() {
+        if (batchSize <= 0) {
+            throw new IllegalStateException("sslp.propagation.course-name.batch-size must be positive, was " + batchSize);
+        }
+        if (!(maxDutyCycle > 0 && maxDutyCycle <= 1)) {
+            throw new IllegalStateException("sslp.propagation.course-name.max-duty-cycle must be in (0, 1], was " + maxDutyCycle);
+        }
+        lag = MultiGauge.builder("course.name.propagation.lag")
+                .description("Seconds since a course rename that is not yet in all its enrollments")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        running = true;
+        worker = new Thread(this::work, "course-name-propagation");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        LockSupport.unpark(worker);
+        worker.join(TimeUnit.SECONDS.toMillis(10));
+    }
+
+    @EventListener
+    public void onLearningChanged(LearningChangedEvent event) {
+        if (!event.isRenamed()) {
+            return;
+        }
+        Learning learning = event.getLearning();
+        if (learning.getCourseId() == null || learning.getCourseName() == null) {
+            return;
+        }
+        Update restart = new Update()
+                .set("courseName", learning.getCourseName())
+                .inc("generation", 1)
+                .set("requestedAt", Instant.now())
+                .unset("lastEnrollmentId")
+                .set("updatedCount", 0)
+                .unset("completedAt");
+        try {
+            mongoTemplate.upsert(Query.query(Criteria.where("id").is(learning.getCourseId())), restart,
+                    CourseNamePropagation.class);
+        } catch (RuntimeException e) {
+            // The course itself is saved; its enrollments keep the old name until it is saved again
+            log.warn("Could not schedule course name propagation for {}: {}", learning.getCourseId(), e.getMessage());
+            return;
+        }
+        LockSupport.unpark(worker);
+    }
+
+    private void work() {
+        while (running) {
+            List<CourseNamePropagation> pending;
+            try {
+                pending = mongoTemplate.find(Query.query(Criteria.where("completedAt").is(null))
+                        .with(Sort.by("requestedAt")), CourseNamePropagation.class);
+            } catch (RuntimeException e) {
+                log.warn("Could not read pending course name propagations: {}", e.getMessage());
+                LockSupport.parkNanos(this, pollInterval.toNanos());
+                continue;
+            }
+            lag.register(pending.stream()
+                    .map(job -> MultiGauge.Row.of(Tags.of("courseId", job.getId()), job.getRequestedAt(),
+                            requestedAt -> Duration.between(requestedAt, Instant.now()).toMillis() / 1000.0))
+                    .toList(), true);
+            if (pending.isEmpty()) {
+                LockSupport.parkNanos(this, pollInterval.toNanos());
+                continue;
+            }
+            for (CourseNamePropagation job : pending) {
+                if (!running) {
+                    return;
+                }
+                long start = System.nanoTime();
+                try {
+                    runBatch(job);
+                } catch (RuntimeException e) {
+                    log.warn("Course name propagation for {} failed, will resume from its checkpoint: {}",
+                            job.getId(), e.getMessage());
+                }
+                long elapsed = System.nanoTime() - start;
+                LockSupport.parkNanos(this, (long) (elapsed * (1 - maxDutyCycle) / maxDutyCycle));
+            }
+        }
+    }
+
+    // Enrollments of the course with after < _id <= upTo; either bound may be null
+    private static Criteria enrollments(String courseId, String after, String upTo) {
+        Criteria criteria = Criteria.where("courseId").is(courseId);
+        if (after != null || upTo != null) {
+            Criteria id = criteria.and("id");
+            if (after != null) {
+                id.gt(after);
+            }
+            if (upTo != null) {
+                id.lte(upTo);
+            }
+        }
+        return criteria;
+    }
+
+    private void runBatch(CourseNamePropagation job) {
+        String after = job.getLastEnrollmentId();
+        // The batch's last enrollment, or none when fewer than batch-size remain
+        Query batchEnd = Query.query(enrollments(job.getId(), after, null)).with(Sort.by("id"))
+                .skip(batchSize - 1).limit(1);
+        batchEnd.fields().include("id");
+        Enrollment last = mongoTemplate.findOne(batchEnd, Enrollment.class);
+
+        Criteria stale = enrollments(job.getId(), after, last != null ? last.getId() : null);
+        stale.and("courseName").ne(job.getCourseName());
+        long modified = mongoTemplate.updateMulti(Query.query(stale),
+                Update.update("courseName", job.getCourseName()), Enrollment.class).getModifiedCount();
+
+        Update checkpoint = new Update().inc("updatedCount", modified);
+        if (last != null) {
+            checkpoint.set("lastEnrollmentId", last.getId());
+        } else {
+            checkpoint.set("completedAt", Instant.now());
+        }
+        // No match if the course was renamed again meanwhile; the new generation starts over
+        mongoTemplate.updateFirst(Query.query(Criteria.where("id").is(job.getId()).and("generation").is(job.getGeneration())),
+                checkpoint, CourseNamePropagation.class);
+        if (last == null) {
+            log.info("Course name of {} propagated to its enrollments ({} updated)", job.getId(),
+                    job.getUpdatedCount() + modified);
+        }
+    }
+}
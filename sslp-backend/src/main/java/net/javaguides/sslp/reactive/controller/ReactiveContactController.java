@@ -0,0 +1,35 @@
+package net.javaguides.sslp.reactive.controller;
+
+import net.javaguides.sslp.model.ContactForm;
+import net.javaguides.sslp.reactive.service.ReactiveContactFormService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@RestController
+@RequestMapping("/api/contacts")
+@CrossOrigin(origins = "*")
+@Profile("reactive")
+public class ReactiveContactController {
+
+    @Autowired
+    private ReactiveContactFormService contactFormService;
+
+    @PostMapping
+    public Mono<ContactForm> createContact(@RequestBody ContactForm contactForm) {
+        return contactFormService.createContact(contactForm);
+    }
+
+    @GetMapping(produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<ContactForm> getAllContacts() {
+        return contactFormService.getAllContacts();
+    }
+
+    @GetMapping("/{id}")
+    public Mono<ContactForm> getContactById(@PathVariable String id) {
+        return contactFormService.getContactById(id);
+    }
+}
@@ -0,0 +1,51 @@
+package net.javaguides.sslp.reactive.controller;
+
+import net.javaguides.sslp.model.Enrollment;
+import net.javaguides.sslp.reactive.service.ReactiveEnrollmentService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@RestController
+@RequestMapping("/api/enrollments")
+@CrossOrigin(origins = "*")
+@Profile("reactive")
+public class ReactiveEnrollmentController {
+
+    @Autowired
+    private ReactiveEnrollmentService service;
+
+    // 409 if the learner is already enrolled in the course
+    @PostMapping
+    public Mono<ResponseEntity<Enrollment>> createEnrollment(@RequestBody Enrollment enrollment) {
+        return service.createEnrollment(enrollment)
+                .map(ResponseEntity::ok)
+                .onErrorResume(DuplicateKeyException.class, e -> Mono.just(ResponseEntity.status(HttpStatus.CONFLICT).build()));
+    }
+
+    @PutMapping("/{id}")
+    public Mono<Enrollment> updateEnrollment(@PathVariable String id, @RequestBody Enrollment enrollment) {
+        return service.updateEnrollment(id, enrollment);
+    }
+
+    @DeleteMapping("/{id}")
+    public Mono<Void> deleteEnrollment(@PathVariable String id) {
+        return service.deleteEnrollment(id);
+    }
+
+    @GetMapping("/{id}")
+    public Mono<Enrollment> getEnrollmentById(@PathVariable String id) {
+        return service.getEnrollmentById(id);
+    }
+
+    @GetMapping(produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<Enrollment> getAllEnrollments() {
+        return service.getAllEnrollments();
+    }
+}
@@ -0,0 +1,58 @@
+package net.javaguides.sslp.reactive.controller;
+
+import net.javaguides.sslp.model.Learning;
+import net.javaguides.sslp.reactive.service.ReactiveLearningService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@RestController
+@RequestMapping("/api/learnings")
+@CrossOrigin(origins = "*")
+@Profile("reactive")
+public class ReactiveLearningController {
+
+    @Autowired
+    private ReactiveLearningService learningService;
+
+    // Create
+    @PostMapping
+    public Mono<ResponseEntity<String>> createLearning(@RequestBody Learning learning) {
+        return learningService.createLearning(learning)
+                .map(created -> ResponseEntity.ok(String.format("✅ Successfully added course '%s' with ID '%s'.", created.getCourseName(), created.getCourseId())));
+    }
+
+    // Read all; a JSON array or, with Accept: application/x-ndjson, one document per line
+    @GetMapping(produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<Learning> getAllLearnings() {
+        return learningService.getAllLearnings();
+    }
+
+    // Read by ID
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<Learning>> getLearningById(@PathVariable String id) {
+        return learningService.getLearningById(id)
+                .map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    // Update
+    @PutMapping("/{id}")
+    public Mono<ResponseEntity<String>> updateLearning(@PathVariable String id, @RequestBody Learning updatedLearning) {
+        return learningService.updateLearning(id, updatedLearning)
+                .map(updated -> ResponseEntity.ok(String.format("✅ Successfully updated course '%s' with ID '%s'.", updated.getCourseName(), updated.getCourseId())));
+    }
+
+    // Delete
+    @DeleteMapping("/{id}")
+    public Mono<ResponseEntity<String>> deleteLearning(@PathVariable String id) {
+        return learningService.getLearningById(id)
+                .flatMap(learning -> learningService.deleteLearning(id)
+                        .thenReturn(ResponseEntity.ok(String.format("🗑️ Successfully deleted course '%s' with ID '%s'.", learning.getCourseName(), learning.getCourseId()))))
+                .defaultIfEmpty(ResponseEntity.status(404).body("❌ Course not found for ID: " + id));
+    }
+}
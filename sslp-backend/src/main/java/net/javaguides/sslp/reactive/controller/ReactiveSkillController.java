@@ -0,0 +1,45 @@
+package net.javaguides.sslp.reactive.controller;
+
+import net.javaguides.sslp.model.Skill;
+import net.javaguides.sslp.reactive.service.ReactiveSkillService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@RestController
+@RequestMapping("/api/skills")
+@CrossOrigin(origins = "*")
+@Profile("reactive")
+public class ReactiveSkillController {
+
+    @Autowired
+    private ReactiveSkillService skillService;
+
+    @PostMapping
+    public Mono<Skill> createSkill(@RequestBody Skill skill) {
+        return skillService.createSkill(skill);
+    }
+
+    @GetMapping(produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<Skill> getAllSkills() {
+        return skillService.getAllSkills();
+    }
+
+    @GetMapping("/{id}")
+    public Mono<Skill> getSkillById(@PathVariable String id) {
+        return skillService.getSkillById(id);
+    }
+
+    @PutMapping("/{id}")
+    public Mono<Skill> updateSkill(@PathVariable String id, @RequestBody Skill skill) {
+        return skillService.updateSkill(id, skill);
+    }
+
+    @DeleteMapping("/{id}")
+    public Mono<Void> deleteSkill(@PathVariable String id) {
+        return skillService.deleteSkill(id);
+    }
+}
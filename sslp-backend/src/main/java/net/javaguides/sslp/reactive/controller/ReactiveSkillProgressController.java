@@ -0,0 +1,50 @@
+package net.javaguides.sslp.reactive.controller;
+
+import net.javaguides.sslp.model.SkillProgress;
+import net.javaguides.sslp.reactive.service.ReactiveSkillProgressService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@RestController
+@RequestMapping("/api/progress")
+@CrossOrigin(origins = "*")
+@Profile("reactive")
+public class ReactiveSkillProgressController {
+
+    @Autowired
+    private ReactiveSkillProgressService service;
+
+    @PostMapping
+    public Mono<SkillProgress> createProgress(@RequestBody SkillProgress progress) {
+        return service.createProgress(progress);
+    }
+
+    @GetMapping("/{id}")
+    public Mono<SkillProgress> getProgressById(@PathVariable String id) {
+        return service.getProgressById(id);
+    }
+
+    @GetMapping(produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<SkillProgress> getAllProgress() {
+        return service.getAllProgress();
+    }
+
+    @GetMapping(value = "/user/{userId}", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<SkillProgress> getProgressByUser(@PathVariable String userId) {
+        return service.getProgressByUser(userId);
+    }
+
+    @PutMapping("/{id}")
+    public Mono<SkillProgress> updateProgress(@PathVariable String id, @RequestBody SkillProgress progress) {
+        return service.updateProgress(id, progress);
+    }
+
+    @DeleteMapping("/{id}")
+    public Mono<Void> deleteProgress(@PathVariable String id) {
+        return service.deleteProgress(id);
+    }
+}
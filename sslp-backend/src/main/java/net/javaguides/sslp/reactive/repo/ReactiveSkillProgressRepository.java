@@ -0,0 +1,12 @@
+package net.javaguides.sslp.reactive.repo;
+
+import net.javaguides.sslp.model.SkillProgress;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import reactor.core.publisher.Flux;
+
+@Profile("reactive")
+public interface ReactiveSkillProgressRepository extends ReactiveMongoRepository<SkillProgress, String> {
+    Flux<SkillProgress> findByUserId(String userId);
+    Flux<SkillProgress> findByCourseId(String courseId);
+}
@@ -0,0 +1,9 @@
+package net.javaguides.sslp.reactive.repo;
+
+import net.javaguides.sslp.model.Skill;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+
+@Profile("reactive")
+public interface ReactiveSkillRepository extends ReactiveMongoRepository<Skill, String> {
+}
@@ -0,0 +1,29 @@
+package net.javaguides.sslp.reactive.service;
+
+import net.javaguides.sslp.model.ContactForm;
+import net.javaguides.sslp.reactive.repo.ReactiveContactFormRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Service
+@Profile("reactive")
+public class ReactiveContactFormService {
+
+    @Autowired
+    private ReactiveContactFormRepository contactFormRepository;
+
+    public Mono<ContactForm> createContact(ContactForm contactForm) {
+        return contactFormRepository.save(contactForm);
+    }
+
+    public Flux<ContactForm> getAllContacts() {
+        return contactFormRepository.findAll();
+    }
+
+    public Mono<ContactForm> getContactById(String id) {
+        return contactFormRepository.findById(id);
+    }
+}
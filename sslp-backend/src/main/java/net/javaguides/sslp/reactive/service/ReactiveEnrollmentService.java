@@ -0,0 +1,79 @@
+package net.javaguides.sslp.reactive.service;
+
+import net.javaguides.sslp.event.EnrollmentChangedEvent;
+import net.javaguides.sslp.model.Enrollment;
+import net.javaguides.sslp.reactive.repo.ReactiveEnrollmentRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Publishes the same EnrollmentChangedEvents as EnrollmentServiceImpl, so the
+ * in-memory statistics and co-enrollment matrix stay current under this
+ * profile. Listeners run synchronously and may block, so events are published
+ * from boundedElastic rather than the event loop.
+ */
+@Service
+@Profile("reactive")
+public class ReactiveEnrollmentService {
+
+    @Autowired
+    private ReactiveEnrollmentRepository repository;
+
+    @Autowired
+    private ReactiveMongoTemplate mongoTemplate;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    public Mono<Enrollment> createEnrollment(Enrollment enrollment) {
+        return repository.save(enrollment)
+                .publishOn(Schedulers.boundedElastic())
+                .doOnNext(saved -> eventPublisher.publishEvent(EnrollmentChangedEvent.created(saved)));
+    }
+
+    public Mono<Enrollment> updateEnrollment(String id, Enrollment enrollment) {
+        return repository.findById(id).flatMap(e -> {
+            Enrollment before = snapshot(e);
+            e.setFullName(enrollment.getFullName());
+            e.setEmailAddress(enrollment.getEmailAddress());
+            e.setNicNumber(enrollment.getNicNumber());
+            e.setPhoneNumber(enrollment.getPhoneNumber());
+            e.setCourseId(enrollment.getCourseId());
+            e.setCourseName(enrollment.getCourseName());
+            e.setLearningMode(enrollment.getLearningMode());
+            return repository.save(e)
+                    .publishOn(Schedulers.boundedElastic())
+                    .doOnNext(saved -> eventPublisher.publishEvent(EnrollmentChangedEvent.updated(before, saved)));
+        });
+    }
+
+    public Mono<Void> deleteEnrollment(String id) {
+        return mongoTemplate.findAndRemove(Query.query(Criteria.where("id").is(id)), Enrollment.class)
+                .publishOn(Schedulers.boundedElastic())
+                .doOnNext(removed -> eventPublisher.publishEvent(EnrollmentChangedEvent.deleted(removed)))
+                .then();
+    }
+
+    public Mono<Enrollment> getEnrollmentById(String id) {
+        return repository.findById(id);
+    }
+
+    public Flux<Enrollment> getAllEnrollments() {
+        return repository.findAll();
+    }
+
+    private static Enrollment snapshot(Enrollment e) {
+        Enrollment copy = new Enrollment(e.getFullName(), e.getEmailAddress(), e.getNicNumber(), e.getPhoneNumber(),
+                e.getCourseId(), e.getCourseName(), e.getLearningMode());
+        copy.setId(e.getId());
+        return copy;
+    }
+}
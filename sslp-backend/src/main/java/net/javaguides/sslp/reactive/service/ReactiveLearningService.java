@@ -0,0 +1,71 @@
+package net.javaguides.sslp.reactive.service;
+
+import net.javaguides.sslp.cache.LearningCatalogCache;
+import net.javaguides.sslp.event.LearningChangedEvent;
+import net.javaguides.sslp.model.Learning;
+import net.javaguides.sslp.reactive.repo.ReactiveLearningRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.Optional;
+
+// Mirrors LearningServiceImpl's cache eviction and LearningChangedEvents; see ReactiveEnrollmentService
+@Service
+@Profile("reactive")
+public class ReactiveLearningService {
+
+    @Autowired
+    private ReactiveLearningRepository learningRepository;
+
+    @Autowired
+    private LearningCatalogCache catalogCache;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    public Mono<Learning> createLearning(Learning learning) {
+        return learningRepository.save(learning)
+                .publishOn(Schedulers.boundedElastic())
+                .doOnNext(saved -> {
+                    catalogCache.invalidateCatalog();
+                    eventPublisher.publishEvent(LearningChangedEvent.saved(saved));
+                });
+    }
+
+    public Flux<Learning> getAllLearnings() {
+        return learningRepository.findAll();
+    }
+
+    public Mono<Learning> getLearningById(String id) {
+        return learningRepository.findById(id);
+    }
+
+    public Mono<Learning> updateLearning(String id, Learning updatedLearning) {
+        updatedLearning.setId(id);
+        return learningRepository.findById(id)
+                .map(Optional::of)
+                .defaultIfEmpty(Optional.empty())
+                .flatMap(previous -> learningRepository.save(updatedLearning)
+                        .publishOn(Schedulers.boundedElastic())
+                        .doOnNext(saved -> {
+                            catalogCache.invalidateLearning(id);
+                            eventPublisher.publishEvent(previous
+                                    .map(before -> LearningChangedEvent.updated(before, saved))
+                                    .orElseGet(() -> LearningChangedEvent.saved(saved)));
+                        }));
+    }
+
+    public Mono<Void> deleteLearning(String id) {
+        return learningRepository.deleteById(id)
+                .publishOn(Schedulers.boundedElastic())
+                .then(Mono.fromRunnable(() -> {
+                    catalogCache.invalidateLearning(id);
+                    eventPublisher.publishEvent(LearningChangedEvent.deleted(id));
+                }));
+    }
+}
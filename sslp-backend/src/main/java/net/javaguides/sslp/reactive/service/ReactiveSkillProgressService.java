@@ -0,0 +1,59 @@
+package net.javaguides.sslp.reactive.service;
+
+import net.javaguides.sslp.event.SkillProgressChangedEvent;
+import net.javaguides.sslp.model.SkillProgress;
+import net.javaguides.sslp.reactive.repo.ReactiveSkillProgressRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+// Publishes SkillProgressChangedEvents like SkillProgressServiceImpl; see ReactiveEnrollmentService
+@Service
+@Profile("reactive")
+public class ReactiveSkillProgressService {
+
+    @Autowired
+    private ReactiveSkillProgressRepository repository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    public Mono<SkillProgress> createProgress(SkillProgress progress) {
+        return repository.save(progress)
+                .publishOn(Schedulers.boundedElastic())
+                .doOnNext(saved -> eventPublisher.publishEvent(SkillProgressChangedEvent.saved(saved)));
+    }
+
+    public Mono<SkillProgress> getProgressById(String id) {
+        return repository.findById(id);
+    }
+
+    public Flux<SkillProgress> getAllProgress() {
+        return repository.findAll();
+    }
+
+    public Flux<SkillProgress> getProgressByUser(String userId) {
+        return repository.findByUserId(userId);
+    }
+
+    public Mono<SkillProgress> updateProgress(String id, SkillProgress progress) {
+        return repository.existsById(id)
+                .filter(Boolean::booleanValue)
+                .flatMap(exists -> {
+                    progress.setId(id);
+                    return repository.save(progress);
+                })
+                .publishOn(Schedulers.boundedElastic())
+                .doOnNext(saved -> eventPublisher.publishEvent(SkillProgressChangedEvent.saved(saved)));
+    }
+
+    public Mono<Void> deleteProgress(String id) {
+        return repository.deleteById(id)
+                .publishOn(Schedulers.boundedElastic())
+                .then(Mono.fromRunnable(() -> eventPublisher.publishEvent(SkillProgressChangedEvent.deleted(id))));
+    }
+}
@@ -0,0 +1,51 @@
+package net.javaguides.sslp.reactive.service;
+
+import net.javaguides.sslp.event.SkillChangedEvent;
+import net.javaguides.sslp.model.Skill;
+import net.javaguides.sslp.reactive.repo.ReactiveSkillRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+// Publishes SkillChangedEvents like SkillService; see ReactiveEnrollmentService
+@Service
+@Profile("reactive")
+public class ReactiveSkillService {
+
+    @Autowired
+    private ReactiveSkillRepository skillRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    public Mono<Skill> createSkill(Skill skill) {
+        return skillRepository.save(skill)
+                .publishOn(Schedulers.boundedElastic())
+                .doOnNext(saved -> eventPublisher.publishEvent(SkillChangedEvent.saved(saved)));
+    }
+
+    public Flux<Skill> getAllSkills() {
+        return skillRepository.findAll();
+    }
+
+    public Mono<Skill> getSkillById(String id) {
+        return skillRepository.findById(id);
+    }
+
+    public Mono<Skill> updateSkill(String id, Skill updatedSkill) {
+        updatedSkill.setId(id);
+        return skillRepository.save(updatedSkill)
+                .publishOn(Schedulers.boundedElastic())
+                .doOnNext(saved -> eventPublisher.publishEvent(SkillChangedEvent.saved(saved)));
+    }
+
+    public Mono<Void> deleteSkill(String id) {
+        return skillRepository.deleteById(id)
+                .publishOn(Schedulers.boundedElastic())
+                .then(Mono.fromRunnable(() -> eventPublisher.publishEvent(SkillChangedEvent.deleted(id))));
+    }
+}
@@ -0,0 +1,292 @@
+package net.javaguides.sslp.recommend;
+
+import net.javaguides.sslp.dto.CourseRecommendation;
+import net.javaguides.sslp.event.EnrollmentChangedEvent;
+import net.javaguides.sslp.index.InMemoryIndex;
+import net.javaguides.sslp.model.Enrollment;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.stream.Stream;
+
+/**
+ * "Learners who enrolled in X also enrolled in Y", from emailAddress x courseId.
+ *
+ * Courses and learners are mapped to dense ints. Each course has a sparse
+ * IntIntHashMap row counting, per other course, the learners enrolled in
+ * both; the diagonal holds the course's own learner count. An enrollment
+ * only touches the rows of the learner's other courses. Scores are cosine
+ * similarities, co(X, Y) / sqrt(n(X) * n(Y)), so popular courses do not
+ * dominate every list.
+ *
+ * A rebuild reads all enrollments and then counts the pairs with fork-join
+ * over slices of learners, merging the partial rows.
+ */
+@Component
+public class CoEnrollmentIndex extends InMemoryIndex<Enrollment, CoEnrollmentIndex.Matrix> {
+
+    // Learners per fork-join leaf
+    private static final int LEARNERS_PER_TASK = 2048;
+
+    public CoEnrollmentIndex() {
+        super(Enrollment.class);
+    }
+
+    @EventListener
+    public void onEnrollmentChanged(EnrollmentChangedEvent event) {
+        applyChange(event.getEnrollmentId(), event.getAfter());
+    }
+
+    @Override
+    protected Matrix newState() {
+        return new Matrix();
+    }
+
+    @Override
+    protected void put(Matrix matrix, Enrollment enrollment) {
+        matrix.remove(enrollment.getId());
+        matrix.add(enrollment);
+    }
+
+    @Override
+    protected void remove(Matrix matrix, String enrollmentId) {
+        matrix.remove(enrollmentId);
+    }
+
+    @Override
+    protected Matrix load(Stream<Enrollment> enrollments) {
+        Matrix matrix = new Matrix();
+        enrollments.forEach(matrix::collect);
+        IntIntHashMap[] rows = ForkJoinPool.commonPool().invoke(new CountPairs(matrix, 0, matrix.learnerCourses.size()));
+        for (int course = 0; course < rows.length; course++) {
+            matrix.rows.set(course, rows[course] != null ? rows[course] : new IntIntHashMap());
+        }
+        return matrix;
+    }
+
+    @Override
+    protected String describe(Matrix matrix) {
+        long pairs = matrix.rows.stream().mapToLong(IntIntHashMap::size).sum();
+        return matrix.enrollments.size() + " enrollments, " + matrix.learnerCourses.size() + " learners, "
+                + matrix.courseIds.size() + " courses, " + pairs + " non-zero cells";
+    }
+
+    // Empty when no learner is enrolled in the course
+    public Optional<List<CourseRecommendation>> forCourse(String courseId, int limit) {
+        return read(matrix -> {
+            Integer course = matrix.courseIds.get(courseId);
+            if (course == null || matrix.rows.get(course).get(course) == 0) {
+                return Optional.empty();
+            }
+            double[] scores = new double[matrix.courseIdByOrdinal.size()];
+            int[] support = new int[scores.length];
+            int own = matrix.rows.get(course).get(course);
+            matrix.rows.get(course).forEach((other, both) -> {
+                if (other != course) {
+                    scores[other] = both / Math.sqrt((double) own * matrix.rows.get(other).get(other));
+                    support[other] = both;
+                }
+            });
+            return Optional.of(top(matrix, scores, support, limit));
+        });
+    }
+
+    // Empty when the learner has no enrollments; courses they already take are never recommended
+    public Optional<List<CourseRecommendation>> forLearner(String emailAddress, int limit) {
+        return read(matrix -> {
+            Integer learner = emailAddress == null ? null : matrix.learnerIds.get(learnerKey(emailAddress));
+            if (learner == null || matrix.learnerCourses.get(learner).isEmpty()) {
+                return Optional.empty();
+            }
+            IntIntHashMap taken = matrix.learnerCourses.get(learner);
+            double[] scores = new double[matrix.courseIdByOrdinal.size()];
+            int[] support = new int[scores.length];
+            taken.forEach((course, enrollments) -> {
+                int own = matrix.rows.get(course).get(course);
+                matrix.rows.get(course).forEach((other, both) -> {
+                    if (!taken.containsKey(other)) {
+                        scores[other] += both / Math.sqrt((double) own * matrix.rows.get(other).get(other));
+                        support[other] += both;
+                    }
+                });
+            });
+            return Optional.of(top(matrix, scores, support, limit));
+        });
+    }
+
+    private static List<CourseRecommendation> top(Matrix matrix, double[] scores, int[] support, int limit) {
+        Integer[] candidates = new Integer[scores.length];
+        int n = 0;
+        for (int course = 0; course < scores.length; course++) {
+            if (scores[course] > 0) {
+                candidates[n++] = course;
+            }
+        }
+        Integer[] ranked = Arrays.copyOf(candidates, n);
+        Arrays.sort(ranked, Comparator.comparingDouble((Integer course) -> -scores[course])
+                .thenComparing(course -> matrix.courseIdByOrdinal.get(course)));
+        List<CourseRecommendation> result = new ArrayList<>();
+        for (int i = 0; i < Math.min(limit, ranked.length); i++) {
+            int course = ranked[i];
+            result.add(new CourseRecommendation(matrix.courseIdByOrdinal.get(course), scores[course], support[course]));
+        }
+        return result;
+    }
+
+    private static String learnerKey(String emailAddress) {
+        return emailAddress.trim().toLowerCase(Locale.ROOT);
+    }
+
+    // Counts course pairs for learners [from, to) into one sparse row per course
+    private static final class CountPairs extends RecursiveTask<IntIntHashMap[]> {
+
+        private final Matrix matrix;
+        private final int from;
+        private final int to;
+
+        CountPairs(Matrix matrix, int from, int to) {
+            this.matrix = matrix;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected IntIntHashMap[] compute() {
+            if (to - from <= LEARNERS_PER_TASK) {
+                IntIntHashMap[] rows = new IntIntHashMap[matrix.courseIdByOrdinal.size()];
+                for (int learner = from; learner < to; learner++) {
+                    int[] courses = courseIds(matrix.learnerCourses.get(learner));
+                    for (int i = 0; i < courses.length; i++) {
+                        row(rows, courses[i]).addTo(courses[i], 1);
+                        for (int j = i + 1; j < courses.length; j++) {
+                            row(rows, courses[i]).addTo(courses[j], 1);
+                            row(rows, courses[j]).addTo(courses[i], 1);
+                        }
+                    }
+                }
+                return rows;
+            }
+            int middle = (from + to) >>> 1;
+            CountPairs left = new CountPairs(matrix, from, middle);
+            left.fork();
+            IntIntHashMap[] right = new CountPairs(matrix, middle, to).compute();
+            IntIntHashMap[] merged = left.join();
+            for (int course = 0; course < merged.length; course++) {
+                if (right[course] == null) {
+                    continue;
+                }
+                if (merged[course] == null) {
+                    merged[course] = right[course];
+                } else {
+                    merged[course].addAll(right[course]);
+                }
+            }
+            return merged;
+        }
+
+        private static IntIntHashMap row(IntIntHashMap[] rows, int course) {
+            if (rows[course] == null) {
+                rows[course] = new IntIntHashMap();
+            }
+            return rows[course];
+        }
+
+        private static int[] courseIds(IntIntHashMap courses) {
+            int[] ids = new int[courses.size()];
+            int[] n = {0};
+            courses.forEach((course, enrollments) -> ids[n[0]++] = course);
+            return ids;
+        }
+    }
+
+    static final class Matrix {
+        // Dictionaries between course ids and their ordinals; ordinals are never reused
+        final Map<String, Integer> courseIds = new HashMap<>();
+        final List<String> courseIdByOrdinal = new ArrayList<>();
+        final Map<String, Integer> learnerIds = new HashMap<>();
+        // learner -> course -> number of enrollments (duplicates count once in the matrix)
+        final List<IntIntHashMap> learnerCourses = new ArrayList<>();
+        // course -> course -> learners enrolled in both; [c][c] = learners in c
+        final List<IntIntHashMap> rows = new ArrayList<>();
+        // enrollment id -> learner << 32 | course, to undo it on update or delete
+        final Map<String, Long> enrollments = new HashMap<>();
+
+        void add(Enrollment enrollment) {
+            long pair = register(enrollment);
+            if (pair < 0) {
+                return;
+            }
+            int learner = (int) (pair >>> 32);
+            int course = (int) pair;
+            IntIntHashMap taken = learnerCourses.get(learner);
+            if (taken.addTo(course, 1) != 1) {
+                return;
+            }
+            IntIntHashMap row = rows.get(course);
+            taken.forEach((other, count) -> {
+                if (other != course) {
+                    row.addTo(other, 1);
+                    rows.get(other).addTo(course, 1);
+                }
+            });
+            row.addTo(course, 1);
+        }
+
+        void remove(String enrollmentId) {
+            Long pair = enrollments.remove(enrollmentId);
+            if (pair == null) {
+                return;
+            }
+            int learner = (int) (pair >>> 32);
+            int course = (int) (long) pair;
+            IntIntHashMap taken = learnerCourses.get(learner);
+            if (taken.addTo(course, -1) != 0) {
+                return;
+            }
+            IntIntHashMap row = rows.get(course);
+            taken.forEach((other, count) -> {
+                row.addTo(other, -1);
+                rows.get(other).addTo(course, -1);
+            });
+            row.addTo(course, -1);
+        }
+
+        // Records the enrollment and the learner's course without touching the rows (bulk load)
+        void collect(Enrollment enrollment) {
+            long pair = register(enrollment);
+            if (pair >= 0) {
+                learnerCourses.get((int) (pair >>> 32)).addTo((int) pair, 1);
+            }
+        }
+
+        // Assigns ids and records the enrollment; -1 if it cannot be counted
+        long register(Enrollment enrollment) {
+            if (enrollment.getEmailAddress() == null || enrollment.getEmailAddress().isBlank()
+                    || enrollment.getCourseId() == null) {
+                return -1;
+            }
+            int learner = learnerIds.computeIfAbsent(learnerKey(enrollment.getEmailAddress()), key -> {
+                learnerCourses.add(new IntIntHashMap());
+                return learnerCourses.size() - 1;
+            });
+            int course = courseIds.computeIfAbsent(enrollment.getCourseId(), key -> {
+                courseIdByOrdinal.add(key);
+                rows.add(new IntIntHashMap());
+                return courseIdByOrdinal.size() - 1;
+            });
+            long pair = (long) learner << 32 | course;
+            enrollments.put(enrollment.getId(), pair);
+            return pair;
+        }
+    }
+}
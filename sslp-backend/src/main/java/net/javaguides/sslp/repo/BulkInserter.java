@@ -0,0 +1,112 @@
+package net.javaguides.sslp.repo;
+
+import com.mongodb.bulk.BulkWriteError;
+import jakarta.annotation.PostConstruct;
+import net.javaguides.sslp.dto.BulkItemResult;
+import net.javaguides.sslp.dto.BulkResult;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Inserts many documents with unordered bulk writes, one insertMany-sized
+ * chunk at a time. Unordered means a bad document (e.g. a duplicate key) only
+ * fails itself; the rest of its chunk and the following chunks still go in.
+ *
+ * Ids are assigned up front so every item can be reported with its id,
+ * whether or not the server accepted it. Null elements are reported as
+ * failed items without being sent.
+ */
+@Component
+public class BulkInserter {
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Value("${sslp.bulk.chunk-size:500}")
+    private int chunkSize;
+
+    @PostConstruct
+    public void validate() {
+        if (chunkSize <= 0) {
+            throw new IllegalStateException("sslp.bulk.chunk-size must be positive, was " + chunkSize);
+        }
+    }
+
+    public <T> BulkResult insertAll(Class<T> type, List<T> documents) {
+        BulkItemResult[] results = new BulkItemResult[documents.size()];
+        List<T> present = new ArrayList<>(documents.size());
+        List<Integer> positions = new ArrayList<>(documents.size());
+        for (int i = 0; i < documents.size(); i++) {
+            if (documents.get(i) == null) {
+                results[i] = new BulkItemResult(i, null, BulkItemResult.FAILED, "Element is null");
+            } else {
+                present.add(documents.get(i));
+                positions.add(i);
+            }
+        }
+        for (int start = 0; start < present.size(); start += chunkSize) {
+            int end = Math.min(start + chunkSize, present.size());
+            for (BulkItemResult result : insertChunk(type, present.subList(start, end), positions.subList(start, end))) {
+                results[result.getIndex()] = result;
+            }
+        }
+        return new BulkResult(List.of(results));
+    }
+
+    // positions holds each chunk element's index in the request
+    private <T> List<BulkItemResult> insertChunk(Class<T> type, List<T> chunk, List<Integer> positions) {
+        List<String> ids = new ArrayList<>(chunk.size());
+        for (T document : chunk) {
+            ids.add(assignId(document));
+        }
+
+        String[] errors = new String[chunk.size()];
+        try {
+            mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, type)
+                    .insert(chunk)
+                    .execute();
+        } catch (BulkOperationException e) {
+            for (BulkWriteError error : e.getErrors()) {
+                errors[error.getIndex()] = error.getMessage();
+            }
+        } catch (DataAccessException e) {
+            // The whole chunk failed (e.g. a network error); report it and move on to the next one
+            String message = e.getMostSpecificCause().getMessage();
+            for (int i = 0; i < errors.length; i++) {
+                errors[i] = message;
+            }
+        }
+
+        List<BulkItemResult> results = new ArrayList<>(chunk.size());
+        for (int i = 0; i < chunk.size(); i++) {
+            results.add(errors[i] == null
+                    ? new BulkItemResult(positions.get(i), ids.get(i), BulkItemResult.CREATED, null)
+                    : new BulkItemResult(positions.get(i), ids.get(i), BulkItemResult.FAILED, errors[i]));
+        }
+        return results;
+    }
+
+    private String assignId(Object document) {
+        MongoPersistentEntity<?> entity = mongoTemplate.getConverter().getMappingContext()
+                .getRequiredPersistentEntity(document.getClass());
+        MongoPersistentProperty idProperty = entity.getRequiredIdProperty();
+        var accessor = entity.getPropertyAccessor(document);
+        Object id = accessor.getProperty(idProperty);
+        if (id == null) {
+            id = new ObjectId().toHexString();
+            accessor.setProperty(idProperty, id);
+        }
+        return id.toString();
+    }
+}
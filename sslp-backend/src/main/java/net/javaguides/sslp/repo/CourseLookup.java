@@ -0,0 +1,61 @@
+package net.javaguides.sslp.repo;
+
+import net.javaguides.sslp.dto.LearningSummary;
+import net.javaguides.sslp.dto.WithCourse;
+import net.javaguides.sslp.model.Learning;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Joins documents that carry a courseId with the LearningSummary of their
+ * course in one $lookup aggregation, instead of one course query per
+ * document. The lookup sub-pipeline matches learnings on their indexed
+ * courseId and only returns the summary fields.
+ */
+@Component
+public class CourseLookup {
+
+    private static final String COURSE_FIELD = "course";
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    public <T> List<WithCourse<T>> findWithCourse(Class<T> type, Criteria criteria) {
+        Document summaryFields = new Document("_id", 1);
+        LearningSummary.FIELDS.forEach(field -> summaryFields.append(field, 1));
+
+        AggregationOperation lookup = context -> new Document("$lookup", new Document()
+                .append("from", mongoTemplate.getCollectionName(Learning.class))
+                .append("let", new Document("courseId", "$courseId"))
+                .append("pipeline", List.of(
+                        new Document("$match", new Document("$expr", new Document("$eq", List.of("$courseId", "$$courseId")))),
+                        new Document("$limit", 1),
+                        new Document("$project", summaryFields)))
+                .append("as", COURSE_FIELD));
+
+        List<AggregationOperation> stages = new ArrayList<>();
+        if (criteria != null) {
+            stages.add(Aggregation.match(criteria));
+        }
+        stages.add(lookup);
+
+        var converter = mongoTemplate.getConverter();
+        List<WithCourse<T>> results = new ArrayList<>();
+        for (Document document : mongoTemplate.aggregate(Aggregation.newAggregation(type, stages), Document.class)) {
+            List<?> courses = document.get(COURSE_FIELD, List.class);
+            document.remove(COURSE_FIELD);
+            LearningSummary course = courses == null || courses.isEmpty()
+                    ? null : converter.read(LearningSummary.class, (Document) courses.get(0));
+            results.add(new WithCourse<>(converter.read(type, document), course));
+        }
+        return results;
+    }
+}
@@ -0,0 +1,12 @@
+package net.javaguides.sslp.repo;
+
+import net.javaguides.sslp.model.CourseMaterial;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface CourseMaterialRepository extends MongoRepository<CourseMaterial, String> {
+    List<CourseMaterial> findByCourseId(String courseId);
+    Optional<CourseMaterial> findByIdAndCourseId(String id, String courseId);
+}
@@ -1,7 +1,12 @@
 package net.javaguides.sslp.repo;
 
+import net.javaguides.sslp.dto.EnrollmentSummary;
 import net.javaguides.sslp.model.Enrollment;
 import org.springframework.data.mongodb.repository.MongoRepository;
 
+import java.util.List;
+
 public interface EnrollmentRepository extends MongoRepository<Enrollment, String> {
+    List<EnrollmentSummary> findAllProjectedBy();
+    List<EnrollmentSummary> findByEmailAddress(String emailAddress);
 }
@@ -0,0 +1,40 @@
+package net.javaguides.sslp.repo;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentProperty;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Turns a client supplied sparse fieldset into a Mongo field projection, so
+ * unrequested fields are neither sent by the server nor mapped by the driver.
+ * Names that are not properties of the entity are ignored.
+ */
+@Component
+public class FieldProjector {
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    public <T> List<T> findAll(Class<T> type, Collection<String> fields) {
+        return mongoTemplate.find(project(new Query(), type, fields), type);
+    }
+
+    public Query project(Query query, Class<?> type, Collection<String> fields) {
+        if (fields == null || fields.isEmpty()) {
+            return query;
+        }
+        var entity = mongoTemplate.getConverter().getMappingContext().getRequiredPersistentEntity(type);
+        for (String field : fields) {
+            MongoPersistentProperty property = entity.getPersistentProperty(field);
+            if (property != null) {
+                query.fields().include(property.getFieldName());
+            }
+        }
+        return query;
+    }
+}
@@ -0,0 +1,7 @@
+package net.javaguides.sslp.repo;
+
+import net.javaguides.sslp.model.IdempotencyRecord;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+public interface IdempotencyRecordRepository extends MongoRepository<IdempotencyRecord, String> {
+}
@@ -0,0 +1,76 @@
+package net.javaguides.sslp.repo;
+
+import net.javaguides.sslp.dto.CursorPage;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Keyset (seek) pagination over the _id index, shared by all list endpoints.
+ * Pages are fetched with {@code _id > after} instead of skip/offset so every
+ * page costs the same regardless of how deep the client has scrolled.
+ */
+@Component
+public class KeysetPager {
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private FieldProjector fieldProjector;
+
+    @Value("${sslp.pagination.max-limit:500}")
+    private int maxLimit;
+
+    @Value("${sslp.pagination.stream-batch-size:200}")
+    private int streamBatchSize;
+
+    public <T> CursorPage<T> findPage(Class<T> type, String after, int limit) {
+        return findPage(type, after, limit, null);
+    }
+
+    public <T> CursorPage<T> findPage(Class<T> type, String after, int limit, Collection<String> fields) {
+        int pageSize = Math.max(1, Math.min(limit, maxLimit));
+
+        // Ask for one extra document to know whether another page exists
+        Query query = fieldProjector.project(afterQuery(after).limit(pageSize + 1), type, fields);
+        List<T> items = mongoTemplate.find(query, type);
+
+        boolean hasMore = items.size() > pageSize;
+        if (hasMore) {
+            items = items.subList(0, pageSize);
+        }
+        String nextCursor = hasMore ? idOf(items.get(items.size() - 1)) : null;
+        return new CursorPage<>(items, nextCursor, hasMore);
+    }
+
+    // Backed by a live Mongo cursor; callers must close the stream
+    public <T> Stream<T> stream(Class<T> type, String after) {
+        Query query = afterQuery(after).cursorBatchSize(streamBatchSize);
+        return mongoTemplate.stream(query, type);
+    }
+
+    private Query afterQuery(String after) {
+        Query query = new Query().with(Sort.by(Sort.Direction.ASC, "id"));
+        if (after != null && !after.isBlank()) {
+            query.addCriteria(Criteria.where("id").gt(after));
+        }
+        return query;
+    }
+
+    private String idOf(Object entity) {
+        Object id = mongoTemplate.getConverter().getMappingContext()
+                .getRequiredPersistentEntity(entity.getClass())
+                .getIdentifierAccessor(entity)
+                .getIdentifier();
+        return id != null ? id.toString() : null;
+    }
+}
@@ -1,9 +1,14 @@
 package net.javaguides.sslp.repo;
 
+import net.javaguides.sslp.dto.LearningSummary;
 import net.javaguides.sslp.model.Learning;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository
 public interface LearningRepository extends MongoRepository<Learning, String> {
+    List<LearningSummary> findAllProjectedBy();
+    boolean existsByCourseId(String courseId);
 }
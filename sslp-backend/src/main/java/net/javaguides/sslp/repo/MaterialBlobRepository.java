@@ -0,0 +1,7 @@
+package net.javaguides.sslp.repo;
+
+import net.javaguides.sslp.model.MaterialBlob;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+public interface MaterialBlobRepository extends MongoRepository<MaterialBlob, String>, MaterialBlobRepositoryCustom {
+}
@@ -0,0 +1,20 @@
+package net.javaguides.sslp.repo;
+
+import net.javaguides.sslp.model.MaterialBlob;
+
+import java.time.Instant;
+import java.util.List;
+
+public interface MaterialBlobRepositoryCustom {
+
+    // Adds a reference, creating the blob with one reference if it is new
+    MaterialBlob acquire(String sha256, long size);
+
+    void release(String sha256);
+
+    // Unreferenced blobs whose last reference was dropped before the given time, oldest first
+    List<MaterialBlob> findCollectable(Instant releasedBefore, int limit);
+
+    // Removes the blob only if it is still unreferenced
+    boolean deleteIfUnreferenced(String sha256);
+}
@@ -0,0 +1,56 @@
+package net.javaguides.sslp.repo;
+
+import net.javaguides.sslp.model.MaterialBlob;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Reference counts as single-document $inc writes, so concurrent uploads
+ * and deletions of materials sharing a blob never lose a count.
+ */
+public class MaterialBlobRepositoryCustomImpl implements MaterialBlobRepositoryCustom {
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Override
+    public MaterialBlob acquire(String sha256, long size) {
+        Update update = new Update().inc("refCount", 1)
+                .setOnInsert("size", size)
+                .setOnInsert("createdAt", Instant.now());
+        return mongoTemplate.findAndModify(byId(sha256), update,
+                FindAndModifyOptions.options().upsert(true).returnNew(true), MaterialBlob.class);
+    }
+
+    @Override
+    public void release(String sha256) {
+        mongoTemplate.updateFirst(byId(sha256), new Update().inc("refCount", -1).set("releasedAt", Instant.now()),
+                MaterialBlob.class);
+    }
+
+    @Override
+    public List<MaterialBlob> findCollectable(Instant releasedBefore, int limit) {
+        Query query = Query.query(Criteria.where("refCount").lte(0).and("releasedAt").lt(releasedBefore))
+                .with(Sort.by("releasedAt"))
+                .limit(limit);
+        return mongoTemplate.find(query, MaterialBlob.class);
+    }
+
+    @Override
+    public boolean deleteIfUnreferenced(String sha256) {
+        Query query = Query.query(Criteria.where("id").is(sha256).and("refCount").lte(0));
+        return mongoTemplate.remove(query, MaterialBlob.class).getDeletedCount() > 0;
+    }
+
+    private static Query byId(String sha256) {
+        return Query.query(Criteria.where("id").is(sha256));
+    }
+}
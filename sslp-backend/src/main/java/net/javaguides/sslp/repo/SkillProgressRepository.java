@@ -4,7 +4,7 @@ import net.javaguides.sslp.model.SkillProgress;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import java.util.List;
 
-public interface SkillProgressRepository extends MongoRepository<SkillProgress, String> {
+public interface SkillProgressRepository extends MongoRepository<SkillProgress, String>, SkillProgressRepositoryCustom {
     List<SkillProgress> findByUserId(String userId);
     List<SkillProgress> findByCourseId(String courseId);
 }
@@ -0,0 +1,9 @@
+package net.javaguides.sslp.repo;
+
+import net.javaguides.sslp.model.SkillProgress;
+
+public interface SkillProgressRepositoryCustom {
+
+    // Atomically marks a module complete and recomputes the derived fields; null if no such progress
+    SkillProgress completeModule(String id, String moduleId);
+}
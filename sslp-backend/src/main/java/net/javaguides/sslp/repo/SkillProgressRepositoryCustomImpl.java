@@ -0,0 +1,59 @@
+package net.javaguides.sslp.repo;
+
+import net.javaguides.sslp.model.SkillProgress;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
+import org.springframework.data.mongodb.core.aggregation.AggregationUpdate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.util.List;
+
+/**
+ * Module completion as one findAndModify with an update pipeline: the module
+ * is added set-wise to completedModules and progressPercentage /
+ * isCertificateEligible are derived from the stored document in the same
+ * write, so concurrent completions cannot overwrite each other.
+ */
+public class SkillProgressRepositoryCustomImpl implements SkillProgressRepositoryCustom {
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Override
+    public SkillProgress completeModule(String id, String moduleId) {
+        Query query = Query.query(Criteria.where("id").is(id));
+        return mongoTemplate.findAndModify(query, completeModuleUpdate(moduleId),
+                FindAndModifyOptions.options().returnNew(true), SkillProgress.class);
+    }
+
+    private AggregationUpdate completeModuleUpdate(String moduleId) {
+        Document completed = new Document("$ifNull", List.of("$completedModules", List.of()));
+        // $literal so a module id starting with '$' is not read as a field path
+        Document module = new Document("$literal", moduleId);
+
+        // $addToSet semantics that keep completion order: append only when not already present
+        AggregationOperation addModule = context -> new Document("$set", new Document("completedModules",
+                new Document("$cond", List.of(
+                        new Document("$in", List.of(module, completed)),
+                        completed,
+                        new Document("$concatArrays", List.of(completed, List.of(module)))))));
+
+        AggregationOperation recomputePercentage = context -> new Document("$set", new Document("progressPercentage",
+                new Document("$cond", List.of(
+                        new Document("$gt", List.of("$totalModules", 0)),
+                        new Document("$min", List.of(100, new Document("$round", List.of(
+                                new Document("$multiply", List.of(100, new Document("$divide", List.of(
+                                        new Document("$size", "$completedModules"), "$totalModules")))),
+                                2)))),
+                        0))));
+
+        AggregationOperation recomputeEligibility = context -> new Document("$set", new Document("isCertificateEligible",
+                new Document("$gte", List.of("$progressPercentage", 100))));
+
+        return AggregationUpdate.from(List.of(addModule, recomputePercentage, recomputeEligibility));
+    }
+}
@@ -1,8 +1,12 @@
 package net.javaguides.sslp.repo;
 
+import net.javaguides.sslp.dto.SkillSummary;
 import net.javaguides.sslp.model.Skill;
 import org.springframework.data.mongodb.repository.MongoRepository;
 
+import java.util.List;
+
 public interface SkillRepository extends MongoRepository<Skill, String> {
     // You can add custom queries if needed
+    List<SkillSummary> findAllProjectedBy();
 }
@@ -0,0 +1,19 @@
+package net.javaguides.sslp.search;
+
+import net.javaguides.sslp.event.SkillChangedEvent;
+import net.javaguides.sslp.index.InMemoryIndex;
+import net.javaguides.sslp.model.Skill;
+import org.springframework.context.event.EventListener;
+
+// In-memory view over skills, kept current from SkillChangedEvent
+public abstract class AbstractSkillIndex<S> extends InMemoryIndex<Skill, S> {
+
+    protected AbstractSkillIndex() {
+        super(Skill.class);
+    }
+
+    @EventListener
+    public void onSkillChanged(SkillChangedEvent event) {
+        applyChange(event.getSkillId(), event.getSkill());
+    }
+}
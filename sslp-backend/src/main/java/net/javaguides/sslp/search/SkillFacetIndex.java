@@ -0,0 +1,205 @@
+package net.javaguides.sslp.search;
+
+import net.javaguides.sslp.dto.SkillFacets;
+import net.javaguides.sslp.model.Skill;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Per-tag and per-experienceLevel skill counts.
+ *
+ * Every skill gets a dense ordinal and every facet value a BitSet of the
+ * ordinals carrying it, plus a counter kept equal to its cardinality. An
+ * update only touches the tags that were added or removed. Counts under a
+ * tag selection are the cardinalities of each facet's BitSet ANDed with the
+ * intersection of the selected tags' BitSets.
+ */
+@Component
+public class SkillFacetIndex extends AbstractSkillIndex<SkillFacetIndex.Facets> {
+
+    @Override
+    protected Facets newState() {
+        return new Facets();
+    }
+
+    @Override
+    protected void put(Facets facets, Skill skill) {
+        facets.put(skill);
+    }
+
+    @Override
+    protected void remove(Facets facets, String skillId) {
+        facets.remove(skillId);
+    }
+
+    @Override
+    protected String describe(Facets facets) {
+        return facets.ordinals.size() + " skills, " + facets.tags.size() + " tags, " + facets.levels.size() + " levels";
+    }
+
+    // selectedTags are ANDed; an empty selection returns the plain counters
+    public SkillFacets getFacets(Collection<String> selectedTags, int tagLimit) {
+        Set<String> keys = new LinkedHashSet<>();
+        selectedTags.stream().filter(tag -> !tag.isBlank()).map(TextAnalyzer::normalize).forEach(keys::add);
+
+        return read(facets -> {
+            if (keys.isEmpty()) {
+                return new SkillFacets(facets.ordinals.size(), List.of(),
+                        top(facets.tags.values(), null, tagLimit), top(facets.levels.values(), null, Integer.MAX_VALUE));
+            }
+            BitSet selection = null;
+            for (String key : keys) {
+                Facet tag = facets.tags.get(key);
+                if (tag == null) {
+                    selection = new BitSet();
+                    break;
+                }
+                if (selection == null) {
+                    selection = (BitSet) tag.skills.clone();
+                } else {
+                    selection.and(tag.skills);
+                }
+            }
+            List<String> selected = keys.stream()
+                    .map(key -> facets.tags.containsKey(key) ? facets.tags.get(key).display : key)
+                    .toList();
+            return new SkillFacets(selection.cardinality(), selected,
+                    top(facets.tags.values(), selection, tagLimit), top(facets.levels.values(), selection, Integer.MAX_VALUE));
+        });
+    }
+
+    // Counts in descending order, restricted to the selection when there is one; zero counts are dropped
+    private static Map<String, Integer> top(Collection<Facet> values, BitSet selection, int limit) {
+        List<Map.Entry<String, Integer>> counts = new ArrayList<>();
+        BitSet scratch = new BitSet();
+        for (Facet facet : values) {
+            int count;
+            if (selection == null) {
+                count = facet.count;
+            } else {
+                scratch.clear();
+                scratch.or(facet.skills);
+                scratch.and(selection);
+                count = scratch.cardinality();
+            }
+            if (count > 0) {
+                counts.add(Map.entry(facet.display, count));
+            }
+        }
+        counts.sort(Map.Entry.<String, Integer>comparingByValue(Comparator.reverseOrder())
+                .thenComparing(Map.Entry.comparingByKey()));
+        Map<String, Integer> result = new LinkedHashMap<>();
+        counts.stream().limit(limit).forEach(entry -> result.put(entry.getKey(), entry.getValue()));
+        return result;
+    }
+
+    private static final class Facet {
+        final String display;
+        final BitSet skills = new BitSet();
+        int count;
+
+        Facet(String display) {
+            this.display = display;
+        }
+    }
+
+    // Facet values as stored for one skill, so an update can diff against it
+    private static final class Entry {
+        final int ordinal;
+        final String level;
+        final Set<String> tags;
+
+        Entry(int ordinal, String level, Set<String> tags) {
+            this.ordinal = ordinal;
+            this.level = level;
+            this.tags = tags;
+        }
+    }
+
+    static final class Facets {
+        final Map<String, Entry> ordinals = new HashMap<>();
+        // Ordinals of deleted skills, reused so the BitSets stay dense
+        final Deque<Integer> free = new ArrayDeque<>();
+        int nextOrdinal;
+        // normalized value -> facet
+        final Map<String, Facet> tags = new HashMap<>();
+        final Map<String, Facet> levels = new HashMap<>();
+
+        void put(Skill skill) {
+            Map<String, String> newTags = new LinkedHashMap<>();
+            if (skill.getTags() != null) {
+                skill.getTags().stream()
+                        .filter(tag -> tag != null && !tag.isBlank())
+                        .forEach(tag -> newTags.putIfAbsent(TextAnalyzer.normalize(tag), tag.trim()));
+            }
+            String levelDisplay = skill.getExperienceLevel() == null || skill.getExperienceLevel().isBlank()
+                    ? null : skill.getExperienceLevel().trim();
+            String level = levelDisplay == null ? null : TextAnalyzer.normalize(levelDisplay);
+
+            Entry previous = ordinals.get(skill.getId());
+            int ordinal;
+            if (previous == null) {
+                ordinal = free.isEmpty() ? nextOrdinal++ : free.pop();
+            } else {
+                ordinal = previous.ordinal;
+                for (String tag : previous.tags) {
+                    if (!newTags.containsKey(tag)) {
+                        clear(tags, tag, ordinal);
+                    }
+                }
+                if (previous.level != null && !previous.level.equals(level)) {
+                    clear(levels, previous.level, ordinal);
+                }
+            }
+
+            Set<String> previousTags = previous == null ? Set.of() : previous.tags;
+            newTags.forEach((tag, display) -> {
+                if (!previousTags.contains(tag)) {
+                    set(tags, tag, display, ordinal);
+                }
+            });
+            if (level != null && (previous == null || !level.equals(previous.level))) {
+                set(levels, level, levelDisplay, ordinal);
+            }
+            ordinals.put(skill.getId(), new Entry(ordinal, level, Set.copyOf(newTags.keySet())));
+        }
+
+        void remove(String skillId) {
+            Entry entry = ordinals.remove(skillId);
+            if (entry == null) {
+                return;
+            }
+            entry.tags.forEach(tag -> clear(tags, tag, entry.ordinal));
+            if (entry.level != null) {
+                clear(levels, entry.level, entry.ordinal);
+            }
+            free.push(entry.ordinal);
+        }
+
+        private static void set(Map<String, Facet> values, String key, String display, int ordinal) {
+            Facet facet = values.computeIfAbsent(key, k -> new Facet(display));
+            facet.skills.set(ordinal);
+            facet.count++;
+        }
+
+        private static void clear(Map<String, Facet> values, String key, int ordinal) {
+            Facet facet = values.get(key);
+            facet.skills.clear(ordinal);
+            if (--facet.count == 0) {
+                values.remove(key);
+            }
+        }
+    }
+}
@@ -0,0 +1,279 @@
+package net.javaguides.sslp.search;
+
+import net.javaguides.sslp.dto.SkillSearchHit;
+import net.javaguides.sslp.dto.SkillSearchResult;
+import net.javaguides.sslp.model.Skill;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.function.Predicate;
+
+/**
+ * In-memory inverted index over skillTitle, tags and skillDescription.
+ *
+ * Search ranks with BM25 over field-weighted term frequencies (a title hit
+ * counts three times, a tag hit twice). Typeahead is a prefix range scan over
+ * a sorted map keyed by every word start of every title and tag, so "boo"
+ * finds "Spring Boot".
+ *
+ * An empty query browses: skills are also kept in a newest-first sorted set,
+ * maintained on every change, so the first page is read off its head
+ * instead of sorting the whole index per request.
+ */
+@Component
+public class SkillSearchIndex extends AbstractSkillIndex<SkillSearchIndex.Postings> {
+
+    private static final float TITLE_WEIGHT = 3f;
+    private static final float TAG_WEIGHT = 2f;
+    private static final float DESCRIPTION_WEIGHT = 1f;
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    // Bounds the work of very short prefixes such as "a"
+    private static final int SUGGEST_SCAN_LIMIT = 2000;
+
+    private static final Comparator<Skill> NEWEST_FIRST = Comparator
+            .comparing(Skill::getDate, Comparator.nullsLast(Comparator.reverseOrder()))
+            .thenComparing(Skill::getId);
+
+    @Override
+    protected Postings newState() {
+        return new Postings();
+    }
+
+    @Override
+    protected void put(Postings postings, Skill skill) {
+        postings.remove(skill.getId());
+        postings.add(skill);
+    }
+
+    @Override
+    protected void remove(Postings postings, String skillId) {
+        postings.remove(skillId);
+    }
+
+    @Override
+    protected String describe(Postings postings) {
+        return postings.skills.size() + " skills, " + postings.terms.size() + " terms";
+    }
+
+    public SkillSearchResult search(String query, String experienceLevel, Boolean available, int limit) {
+        Predicate<Skill> filter = skill ->
+                (experienceLevel == null || experienceLevel.equalsIgnoreCase(skill.getExperienceLevel()))
+                        && (available == null || available == skill.isAvailabilityForCollaboration());
+        List<String> queryTerms = new ArrayList<>(new LinkedHashSet<>(TextAnalyzer.terms(query)));
+
+        return read(postings -> {
+            if (queryTerms.isEmpty()) {
+                return browse(postings, filter, experienceLevel == null && available == null, limit);
+            }
+            return rank(postings, queryTerms, filter, limit);
+        });
+    }
+
+    public List<String> suggest(String prefix, int limit) {
+        String key = prefix == null ? "" : TextAnalyzer.normalize(prefix);
+        if (key.isEmpty()) {
+            return List.of();
+        }
+        return read(postings -> {
+            NavigableMap<String, Set<String>> range = postings.phraseKeys.subMap(key, true, key + Character.MAX_VALUE, false);
+            Set<String> candidates = new LinkedHashSet<>();
+            int scanned = 0;
+            for (Set<String> phrases : range.values()) {
+                candidates.addAll(phrases);
+                if (++scanned == SUGGEST_SCAN_LIMIT) {
+                    break;
+                }
+            }
+            return candidates.stream()
+                    .map(postings.phrases::get)
+                    .sorted(Comparator.comparingInt((Phrase phrase) -> -phrase.skills)
+                            .thenComparingInt(phrase -> phrase.display.length())
+                            .thenComparing(phrase -> phrase.display))
+                    .limit(limit)
+                    .map(phrase -> phrase.display)
+                    .toList();
+        });
+    }
+
+    // Newest first; without a filter only the page is visited, with one the rest is only counted
+    private SkillSearchResult browse(Postings postings, Predicate<Skill> filter, boolean unfiltered, int limit) {
+        List<SkillSearchHit> hits = new ArrayList<>(Math.min(limit, postings.skills.size()));
+        int total = 0;
+        for (Skill skill : postings.newestFirst) {
+            if (!unfiltered && !filter.test(skill)) {
+                continue;
+            }
+            total++;
+            if (hits.size() < limit) {
+                hits.add(new SkillSearchHit(skill, 0));
+            } else if (unfiltered) {
+                total = postings.skills.size();
+                break;
+            }
+        }
+        return new SkillSearchResult(total, hits);
+    }
+
+    private SkillSearchResult rank(Postings postings, List<String> queryTerms, Predicate<Skill> filter, int limit) {
+        int documents = postings.skills.size();
+        double averageLength = documents == 0 ? 0 : postings.totalLength / documents;
+
+        Map<String, Double> scores = new HashMap<>();
+        for (String term : queryTerms) {
+            Map<String, Float> termPostings = postings.terms.get(term);
+            if (termPostings == null) {
+                continue;
+            }
+            int df = termPostings.size();
+            double idf = Math.log(1 + (documents - df + 0.5) / (df + 0.5));
+            termPostings.forEach((skillId, tf) -> {
+                double norm = 1 - B + B * postings.lengths.get(skillId) / averageLength;
+                scores.merge(skillId, idf * tf * (K1 + 1) / (tf + K1 * norm), Double::sum);
+            });
+        }
+
+        // Min-heap holding the best "limit" hits seen so far
+        Comparator<SkillSearchHit> byRelevance = Comparator.comparingDouble(SkillSearchHit::getScore)
+                .thenComparing(hit -> hit.getSkill().getId(), Comparator.reverseOrder());
+        PriorityQueue<SkillSearchHit> top = new PriorityQueue<>(byRelevance);
+        int total = 0;
+        for (Map.Entry<String, Double> entry : scores.entrySet()) {
+            Skill skill = postings.skills.get(entry.getKey());
+            if (!filter.test(skill)) {
+                continue;
+            }
+            total++;
+            top.add(new SkillSearchHit(skill, entry.getValue()));
+            if (top.size() > limit) {
+                top.poll();
+            }
+        }
+        List<SkillSearchHit> hits = new ArrayList<>(top);
+        hits.sort(byRelevance.reversed());
+        return new SkillSearchResult(total, hits);
+    }
+
+    private static final class Phrase {
+        final String display;
+        int skills;
+
+        Phrase(String display) {
+            this.display = display;
+        }
+    }
+
+    static final class Postings {
+        final Map<String, Skill> skills = new HashMap<>();
+        // The same skills in browse order
+        final TreeSet<Skill> newestFirst = new TreeSet<>(NEWEST_FIRST);
+        // term -> skill id -> field-weighted term frequency
+        final Map<String, Map<String, Float>> terms = new HashMap<>();
+        final Map<String, Set<String>> termsBySkill = new HashMap<>();
+        final Map<String, Float> lengths = new HashMap<>();
+        double totalLength;
+        // normalized title/tag -> display form and number of skills using it
+        final Map<String, Phrase> phrases = new HashMap<>();
+        final Map<String, Set<String>> phrasesBySkill = new HashMap<>();
+        // every word-start suffix of a phrase -> phrases, for prefix scans
+        final TreeMap<String, Set<String>> phraseKeys = new TreeMap<>();
+
+        void add(Skill skill) {
+            String id = skill.getId();
+            Map<String, Float> weighted = new HashMap<>();
+            TextAnalyzer.terms(skill.getSkillTitle()).forEach(term -> weighted.merge(term, TITLE_WEIGHT, Float::sum));
+            TextAnalyzer.terms(skill.getSkillDescription()).forEach(term -> weighted.merge(term, DESCRIPTION_WEIGHT, Float::sum));
+            List<String> tags = skill.getTags() == null ? List.of() : skill.getTags();
+            tags.forEach(tag -> TextAnalyzer.terms(tag).forEach(term -> weighted.merge(term, TAG_WEIGHT, Float::sum)));
+
+            float length = 0;
+            for (Map.Entry<String, Float> entry : weighted.entrySet()) {
+                terms.computeIfAbsent(entry.getKey(), term -> new HashMap<>()).put(id, entry.getValue());
+                length += entry.getValue();
+            }
+            skills.put(id, skill);
+            newestFirst.add(skill);
+            termsBySkill.put(id, weighted.keySet());
+            lengths.put(id, length);
+            totalLength += length;
+
+            Set<String> skillPhrases = new LinkedHashSet<>();
+            if (skill.getSkillTitle() != null && !skill.getSkillTitle().isBlank()) {
+                skillPhrases.add(skill.getSkillTitle().trim());
+            }
+            tags.stream().filter(tag -> tag != null && !tag.isBlank()).map(String::trim).forEach(skillPhrases::add);
+            Set<String> normalized = new LinkedHashSet<>();
+            for (String display : skillPhrases) {
+                String key = TextAnalyzer.normalize(display);
+                if (normalized.add(key)) {
+                    addPhrase(key, display);
+                }
+            }
+            phrasesBySkill.put(id, normalized);
+        }
+
+        void remove(String id) {
+            Skill removed = skills.remove(id);
+            if (removed == null) {
+                return;
+            }
+            newestFirst.remove(removed);
+            for (String term : termsBySkill.remove(id)) {
+                Map<String, Float> termPostings = terms.get(term);
+                termPostings.remove(id);
+                if (termPostings.isEmpty()) {
+                    terms.remove(term);
+                }
+            }
+            totalLength -= lengths.remove(id);
+            phrasesBySkill.remove(id).forEach(this::removePhrase);
+        }
+
+        private void addPhrase(String key, String display) {
+            Phrase phrase = phrases.get(key);
+            if (phrase == null) {
+                phrase = new Phrase(display);
+                phrases.put(key, phrase);
+                for (String suffix : wordStarts(key)) {
+                    phraseKeys.computeIfAbsent(suffix, s -> new LinkedHashSet<>()).add(key);
+                }
+            }
+            phrase.skills++;
+        }
+
+        private void removePhrase(String key) {
+            Phrase phrase = phrases.get(key);
+            if (--phrase.skills > 0) {
+                return;
+            }
+            phrases.remove(key);
+            for (String suffix : wordStarts(key)) {
+                Set<String> keys = phraseKeys.get(suffix);
+                keys.remove(key);
+                if (keys.isEmpty()) {
+                    phraseKeys.remove(suffix);
+                }
+            }
+        }
+
+        // "spring boot 3" -> "spring boot 3", "boot 3", "3"
+        private static List<String> wordStarts(String key) {
+            List<String> starts = new ArrayList<>();
+            starts.add(key);
+            for (int i = key.indexOf(' '); i >= 0; i = key.indexOf(' ', i + 1)) {
+                starts.add(key.substring(i + 1));
+            }
+            return starts;
+        }
+    }
+}
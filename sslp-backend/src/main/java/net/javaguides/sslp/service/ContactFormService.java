@@ -1,10 +1,14 @@
 package net.javaguides.sslp.service;
 
+import net.javaguides.sslp.dto.CursorPage;
 import net.javaguides.sslp.model.ContactForm;
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface ContactFormService {
     ContactForm createContact(ContactForm contactForm);
     List<ContactForm> getAllContacts();
+    CursorPage<ContactForm> getContactsPage(String after, int limit);
+    Stream<ContactForm> streamContacts(String after);
     ContactForm getContactById(String id);
 }
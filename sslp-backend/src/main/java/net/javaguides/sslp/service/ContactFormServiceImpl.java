@@ -1,12 +1,15 @@
 package net.javaguides.sslp.service;
 
+import net.javaguides.sslp.dto.CursorPage;
 import net.javaguides.sslp.model.ContactForm;
 import net.javaguides.sslp.repo.ContactFormRepository;
+import net.javaguides.sslp.repo.KeysetPager;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Service
 public class ContactFormServiceImpl implements ContactFormService {
@@ -14,6 +17,9 @@ public class ContactFormServiceImpl implements ContactFormService {
     @Autowired
     private ContactFormRepository contactFormRepository;
 
+    @Autowired
+    private KeysetPager keysetPager;
+
     @Override
     public ContactForm createContact(ContactForm contactForm) {
         return contactFormRepository.save(contactForm);
@@ -24,6 +30,16 @@ public class ContactFormServiceImpl implements ContactFormService {
         return contactFormRepository.findAll();
     }
 
+    @Override
+    public CursorPage<ContactForm> getContactsPage(String after, int limit) {
+        return keysetPager.findPage(ContactForm.class, after, limit);
+    }
+
+    @Override
+    public Stream<ContactForm> streamContacts(String after) {
+        return keysetPager.stream(ContactForm.class, after);
+    }
+
     @Override
     public ContactForm getContactById(String id) {
         Optional<ContactForm> optional = contactFormRepository.findById(id);
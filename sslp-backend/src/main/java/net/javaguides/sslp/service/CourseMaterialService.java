@@ -0,0 +1,20 @@
+package net.javaguides.sslp.service;
+
+import net.javaguides.sslp.model.CourseMaterial;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+
+public interface CourseMaterialService {
+    // Empty when no course has this courseId; the body is not read in that case.
+    // IllegalArgumentException if the body does not match sha256 (optional, hex)
+    Optional<CourseMaterial> uploadMaterial(String courseId, String module, String fileName, String contentType,
+                                            String sha256, InputStream body, long contentLength) throws IOException;
+    List<CourseMaterial> getMaterials(String courseId);
+    Optional<CourseMaterial> getMaterial(String courseId, String id);
+    Path getContentPath(CourseMaterial material);
+    boolean deleteMaterial(String courseId, String id);
+}
@@ -0,0 +1,8 @@
+package net.javaguides.sslp.service;
+
+import net.javaguides.sslp.dto.LearnerDashboard;
+
+public interface DashboardService {
+    // RejectedExecutionException when too many dashboards are being loaded at once
+    LearnerDashboard getLearnerDashboard(String userId, String emailAddress);
+}
@@ -1,13 +1,34 @@
 package net.javaguides.sslp.service;
 
+import net.javaguides.sslp.dto.BulkResult;
+import net.javaguides.sslp.dto.CourseEnrollmentStats;
+import net.javaguides.sslp.dto.CourseRecommendation;
+import net.javaguides.sslp.dto.CursorPage;
+import net.javaguides.sslp.dto.EnrollmentStatsReport;
+import net.javaguides.sslp.dto.EnrollmentSummary;
+import net.javaguides.sslp.dto.WithCourse;
 import net.javaguides.sslp.model.Enrollment;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface EnrollmentService {
     Enrollment createEnrollment(Enrollment enrollment);
+    BulkResult createEnrollments(List<Enrollment> enrollments);
     Enrollment updateEnrollment(String id, Enrollment enrollment);
     void deleteEnrollment(String id);
     Enrollment getEnrollmentById(String id);
     List<Enrollment> getAllEnrollments();
+    List<EnrollmentSummary> getEnrollmentSummaries();
+    List<WithCourse<Enrollment>> getEnrollmentsWithCourse();
+    List<Enrollment> getEnrollments(Collection<String> fields);
+    CursorPage<Enrollment> getEnrollmentsPage(String after, int limit, Collection<String> fields);
+    Stream<Enrollment> streamEnrollments(String after);
+    Optional<CourseEnrollmentStats> getCourseStats(String courseId);
+    Optional<EnrollmentStatsReport> getEnrollmentStats();
+    boolean isRecommendationReady();
+    Optional<List<CourseRecommendation>> getCourseRecommendations(String courseId, int limit);
+    Optional<List<CourseRecommendation>> getLearnerRecommendations(String emailAddress, int limit);
 }
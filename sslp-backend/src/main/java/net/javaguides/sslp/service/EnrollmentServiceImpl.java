@@ -1,22 +1,82 @@
 package net.javaguides.sslp.service;
 
+import net.javaguides.sslp.dto.BulkItemResult;
+import net.javaguides.sslp.dto.BulkResult;
+import net.javaguides.sslp.dto.CourseEnrollmentStats;
+import net.javaguides.sslp.dto.CourseRecommendation;
+import net.javaguides.sslp.dto.CursorPage;
+import net.javaguides.sslp.dto.EnrollmentStatsReport;
+import net.javaguides.sslp.dto.EnrollmentSummary;
+import net.javaguides.sslp.dto.WithCourse;
+import net.javaguides.sslp.event.EnrollmentChangedEvent;
 import net.javaguides.sslp.model.Enrollment;
+import net.javaguides.sslp.repo.BulkInserter;
+import net.javaguides.sslp.repo.CourseLookup;
 import net.javaguides.sslp.repo.EnrollmentRepository;
+import net.javaguides.sslp.repo.FieldProjector;
+import net.javaguides.sslp.recommend.CoEnrollmentIndex;
+import net.javaguides.sslp.repo.KeysetPager;
+import net.javaguides.sslp.stats.EnrollmentStatistics;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.stereotype.Service;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Service
 public class EnrollmentServiceImpl implements EnrollmentService {
 
+    private static final int MAX_RECOMMENDATIONS = 50;
+
     @Autowired
     private EnrollmentRepository repository;
 
+    @Autowired
+    private KeysetPager keysetPager;
+
+    @Autowired
+    private FieldProjector fieldProjector;
+
+    @Autowired
+    private BulkInserter bulkInserter;
+
+    @Autowired
+    private CourseLookup courseLookup;
+
+    @Autowired
+    private EnrollmentStatistics enrollmentStatistics;
+
+    @Autowired
+    private CoEnrollmentIndex coEnrollmentIndex;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     @Override
     public Enrollment createEnrollment(Enrollment enrollment) {
-        return repository.save(enrollment);
+        Enrollment saved = repository.save(enrollment);
+        eventPublisher.publishEvent(EnrollmentChangedEvent.created(saved));
+        return saved;
+    }
+
+    @Override
+    public BulkResult createEnrollments(List<Enrollment> enrollments) {
+        BulkResult result = bulkInserter.insertAll(Enrollment.class, enrollments);
+        for (BulkItemResult item : result.getItems()) {
+            if (BulkItemResult.CREATED.equals(item.getStatus())) {
+                eventPublisher.publishEvent(EnrollmentChangedEvent.created(enrollments.get(item.getIndex())));
+            }
+        }
+        return result;
     }
 
     @Override
@@ -24,6 +84,7 @@ public class EnrollmentServiceImpl implements EnrollmentService {
         Optional<Enrollment> existing = repository.findById(id);
         if (existing.isPresent()) {
             Enrollment e = existing.get();
+            Enrollment before = snapshot(e);
             e.setFullName(enrollment.getFullName());
             e.setEmailAddress(enrollment.getEmailAddress());
             e.setNicNumber(enrollment.getNicNumber());
@@ -31,14 +92,20 @@ public class EnrollmentServiceImpl implements EnrollmentService {
             e.setCourseId(enrollment.getCourseId());
             e.setCourseName(enrollment.getCourseName());
             e.setLearningMode(enrollment.getLearningMode());
-            return repository.save(e);
+            Enrollment saved = repository.save(e);
+            eventPublisher.publishEvent(EnrollmentChangedEvent.updated(before, saved));
+            return saved;
         }
         return null;
     }
 
     @Override
     public void deleteEnrollment(String id) {
-        repository.deleteById(id);
+        // One round trip, and of two concurrent deletes only the one that removed the document publishes
+        Enrollment removed = mongoTemplate.findAndRemove(Query.query(Criteria.where("id").is(id)), Enrollment.class);
+        if (removed != null) {
+            eventPublisher.publishEvent(EnrollmentChangedEvent.deleted(removed));
+        }
     }
 
     @Override
@@ -50,4 +117,68 @@ public class EnrollmentServiceImpl implements EnrollmentService {
     public List<Enrollment> getAllEnrollments() {
         return repository.findAll();
     }
+
+    @Override
+    public List<EnrollmentSummary> getEnrollmentSummaries() {
+        return repository.findAllProjectedBy();
+    }
+
+    @Override
+    public List<WithCourse<Enrollment>> getEnrollmentsWithCourse() {
+        return courseLookup.findWithCourse(Enrollment.class, null);
+    }
+
+    @Override
+    public List<Enrollment> getEnrollments(Collection<String> fields) {
+        return fieldProjector.findAll(Enrollment.class, fields);
+    }
+
+    @Override
+    public CursorPage<Enrollment> getEnrollmentsPage(String after, int limit, Collection<String> fields) {
+        return keysetPager.findPage(Enrollment.class, after, limit, fields);
+    }
+
+    @Override
+    public Stream<Enrollment> streamEnrollments(String after) {
+        return keysetPager.stream(Enrollment.class, after);
+    }
+
+    @Override
+    public Optional<CourseEnrollmentStats> getCourseStats(String courseId) {
+        if (!enrollmentStatistics.isReady()) {
+            return Optional.empty();
+        }
+        return Optional.of(enrollmentStatistics.getCourseStats(courseId));
+    }
+
+    @Override
+    public Optional<EnrollmentStatsReport> getEnrollmentStats() {
+        if (!enrollmentStatistics.isReady()) {
+            return Optional.empty();
+        }
+        return Optional.of(enrollmentStatistics.getReport());
+    }
+
+    @Override
+    public boolean isRecommendationReady() {
+        return coEnrollmentIndex.isReady();
+    }
+
+    @Override
+    public Optional<List<CourseRecommendation>> getCourseRecommendations(String courseId, int limit) {
+        return coEnrollmentIndex.forCourse(courseId, Math.max(1, Math.min(limit, MAX_RECOMMENDATIONS)));
+    }
+
+    @Override
+    public Optional<List<CourseRecommendation>> getLearnerRecommendations(String emailAddress, int limit) {
+        return coEnrollmentIndex.forLearner(emailAddress, Math.max(1, Math.min(limit, MAX_RECOMMENDATIONS)));
+    }
+
+    // The stored state before an in-place update, for the change event
+    private static Enrollment snapshot(Enrollment e) {
+        Enrollment copy = new Enrollment(e.getFullName(), e.getEmailAddress(), e.getNicNumber(), e.getPhoneNumber(),
+                e.getCourseId(), e.getCourseName(), e.getLearningMode());
+        copy.setId(e.getId());
+        return copy;
+    }
 }
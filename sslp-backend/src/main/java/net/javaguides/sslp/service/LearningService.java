@@ -1,13 +1,26 @@
 package net.javaguides.sslp.service;
 
+import net.javaguides.sslp.cache.CachedPayload;
+import net.javaguides.sslp.dto.BulkResult;
+import net.javaguides.sslp.dto.CursorPage;
+import net.javaguides.sslp.dto.LearningSummary;
 import net.javaguides.sslp.model.Learning;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface LearningService {
     Learning createLearning(Learning learning);
+    BulkResult createLearnings(List<Learning> learnings);
     List<Learning> getAllLearnings();
+    List<Learning> getLearnings(Collection<String> fields);
+    CursorPage<Learning> getLearningsPage(String after, int limit, Collection<String> fields);
+    Stream<Learning> streamLearnings(String after);
     Optional<Learning> getLearningById(String id);
+    CachedPayload<List<Learning>> getCatalogPayload();
+    CachedPayload<List<LearningSummary>> getSummaryPayload();
+    Optional<CachedPayload<Learning>> getLearningPayload(String id);
     Learning updateLearning(String id, Learning updatedLearning);
     void deleteLearning(String id);
 }
@@ -1,13 +1,26 @@
 package net.javaguides.sslp.service;
 
+import net.javaguides.sslp.dto.CursorPage;
+import net.javaguides.sslp.dto.Leaderboard;
+import net.javaguides.sslp.dto.LeaderboardEntry;
+import net.javaguides.sslp.dto.WithCourse;
 import net.javaguides.sslp.model.SkillProgress;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface SkillProgressService {
     SkillProgress createProgress(SkillProgress progress);
     SkillProgress getProgressById(String id);
     List<SkillProgress> getAllProgress();
+    CursorPage<SkillProgress> getProgressPage(String after, int limit);
+    Stream<SkillProgress> streamProgress(String after);
     List<SkillProgress> getProgressByUser(String userId);
+    List<WithCourse<SkillProgress>> getProgressByUserWithCourse(String userId);
     SkillProgress updateProgress(String id, SkillProgress progress);
+    SkillProgress completeModule(String id, String moduleId);
     void deleteProgress(String id);
+    boolean isLeaderboardReady();
+    Leaderboard getLeaderboard(String courseId, int limit);
+    Optional<LeaderboardEntry> getLeaderboardRank(String userId, String courseId);
 }
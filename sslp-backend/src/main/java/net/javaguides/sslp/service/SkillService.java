@@ -1,36 +1,139 @@
 package net.javaguides.sslp.service;
 
+import net.javaguides.sslp.dto.BulkItemResult;
+import net.javaguides.sslp.dto.BulkResult;
+import net.javaguides.sslp.dto.CursorPage;
+import net.javaguides.sslp.dto.SkillFacets;
+import net.javaguides.sslp.dto.SkillMatch;
+import net.javaguides.sslp.dto.SkillSearchResult;
+import net.javaguides.sslp.dto.SkillSummary;
+import net.javaguides.sslp.event.SkillChangedEvent;
+import net.javaguides.sslp.match.SkillMatchIndex;
 import net.javaguides.sslp.model.Skill;
+import net.javaguides.sslp.repo.BulkInserter;
+import net.javaguides.sslp.repo.FieldProjector;
+import net.javaguides.sslp.repo.KeysetPager;
 import net.javaguides.sslp.repo.SkillRepository;
+import net.javaguides.sslp.search.SkillFacetIndex;
+import net.javaguides.sslp.search.SkillSearchIndex;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 @Service
 public class SkillService {
 
+    private static final int MAX_SEARCH_HITS = 100;
+    private static final int MAX_SUGGESTIONS = 20;
+    private static final int MAX_MATCHES = 50;
+
     @Autowired
     private SkillRepository skillRepository;
 
+    @Autowired
+    private KeysetPager keysetPager;
+
+    @Autowired
+    private FieldProjector fieldProjector;
+
+    @Autowired
+    private BulkInserter bulkInserter;
+
+    @Autowired
+    private SkillSearchIndex skillSearchIndex;
+
+    @Autowired
+    private SkillFacetIndex skillFacetIndex;
+
+    @Autowired
+    private SkillMatchIndex skillMatchIndex;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     public Skill createSkill(Skill skill) {
-        return skillRepository.save(skill);
+        Skill saved = skillRepository.save(skill);
+        eventPublisher.publishEvent(SkillChangedEvent.saved(saved));
+        return saved;
+    }
+
+    public BulkResult createSkills(List<Skill> skills) {
+        BulkResult result = bulkInserter.insertAll(Skill.class, skills);
+        for (BulkItemResult item : result.getItems()) {
+            if (BulkItemResult.CREATED.equals(item.getStatus())) {
+                eventPublisher.publishEvent(SkillChangedEvent.saved(skills.get(item.getIndex())));
+            }
+        }
+        return result;
     }
 
     public List<Skill> getAllSkills() {
         return skillRepository.findAll();
     }
 
+    public List<SkillSummary> getSkillSummaries() {
+        return skillRepository.findAllProjectedBy();
+    }
+
+    public List<Skill> getSkills(Collection<String> fields) {
+        return fieldProjector.findAll(Skill.class, fields);
+    }
+
+    public CursorPage<Skill> getSkillsPage(String after, int limit, Collection<String> fields) {
+        return keysetPager.findPage(Skill.class, after, limit, fields);
+    }
+
+    public Stream<Skill> streamSkills(String after) {
+        return keysetPager.stream(Skill.class, after);
+    }
+
+    // Empty until the search index has been loaded
+    public Optional<SkillSearchResult> searchSkills(String query, String experienceLevel, Boolean available, int limit) {
+        if (!skillSearchIndex.isReady()) {
+            return Optional.empty();
+        }
+        int hits = Math.max(1, Math.min(limit, MAX_SEARCH_HITS));
+        return Optional.of(skillSearchIndex.search(query, experienceLevel, available, hits));
+    }
+
+    public List<String> suggestSkills(String prefix, int limit) {
+        return skillSearchIndex.suggest(prefix, Math.max(1, Math.min(limit, MAX_SUGGESTIONS)));
+    }
+
+    // Empty until the facet counters have been seeded
+    public Optional<SkillFacets> getSkillFacets(Collection<String> tags, int tagLimit) {
+        if (!skillFacetIndex.isReady()) {
+            return Optional.empty();
+        }
+        return Optional.of(skillFacetIndex.getFacets(tags, Math.max(1, tagLimit)));
+    }
+
+    public boolean isMatchingReady() {
+        return skillMatchIndex.isReady();
+    }
+
+    // Empty when the skill is unknown
+    public Optional<List<SkillMatch>> getSkillMatches(String id, int limit) {
+        return skillMatchIndex.findMatches(id, Math.max(1, Math.min(limit, MAX_MATCHES)));
+    }
+
     public Optional<Skill> getSkillById(String id) {
         return skillRepository.findById(id);
     }
 
     public Skill updateSkill(String id, Skill updatedSkill) {
         updatedSkill.setId(id);
-        return skillRepository.save(updatedSkill);
+        Skill saved = skillRepository.save(updatedSkill);
+        eventPublisher.publishEvent(SkillChangedEvent.saved(saved));
+        return saved;
     }
 
     public void deleteSkill(String id) {
         skillRepository.deleteById(id);
+        eventPublisher.publishEvent(SkillChangedEvent.deleted(id));
     }
 }
@@ -0,0 +1,92 @@
+package net.javaguides.sslp.service.impl;
+
+import net.javaguides.sslp.model.CourseMaterial;
+import net.javaguides.sslp.repo.CourseMaterialRepository;
+import net.javaguides.sslp.repo.LearningRepository;
+import net.javaguides.sslp.service.CourseMaterialService;
+import net.javaguides.sslp.storage.MaterialStorage;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+@Service
+public class CourseMaterialServiceImpl implements CourseMaterialService {
+
+    @Autowired
+    private CourseMaterialRepository materialRepository;
+
+    @Autowired
+    private LearningRepository learningRepository;
+
+    @Autowired
+    private MaterialStorage storage;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Override
+    public Optional<CourseMaterial> uploadMaterial(String courseId, String module, String fileName, String contentType,
+                                                   String sha256, InputStream body, long contentLength) throws IOException {
+        if (!learningRepository.existsByCourseId(courseId)) {
+            return Optional.empty();
+        }
+        // Content is only ever deduplicated after the body was hashed here; a client-supplied digest just
+        // verifies the upload, so knowing a hash never grants access to content the uploader did not send
+        MaterialStorage.StoredFile file = storage.receive(body, contentLength);
+        if (sha256 != null && !sha256.equals(file.getSha256())) {
+            storage.discard(file);
+            throw new IllegalArgumentException("Upload does not match its digest");
+        }
+        storage.store(file);
+        sha256 = file.getSha256();
+        long size = file.getSize();
+
+        CourseMaterial material = new CourseMaterial(courseId, module, fileName,
+                contentType != null ? contentType : MediaType.APPLICATION_OCTET_STREAM_VALUE,
+                size, sha256, Instant.now());
+        try {
+            return Optional.of(materialRepository.save(material));
+        } catch (RuntimeException e) {
+            storage.release(sha256);
+            throw e;
+        }
+    }
+
+    @Override
+    public List<CourseMaterial> getMaterials(String courseId) {
+        return materialRepository.findByCourseId(courseId);
+    }
+
+    @Override
+    public Optional<CourseMaterial> getMaterial(String courseId, String id) {
+        return materialRepository.findByIdAndCourseId(id, courseId);
+    }
+
+    @Override
+    public Path getContentPath(CourseMaterial material) {
+        return storage.path(material.getSha256());
+    }
+
+    @Override
+    public boolean deleteMaterial(String courseId, String id) {
+        // Only the delete that actually removed the document drops its blob reference; with find-then-delete two
+        // concurrent deletes would both release it and let the blob be collected while another material uses it
+        CourseMaterial removed = mongoTemplate.findAndRemove(
+                Query.query(Criteria.where("id").is(id).and("courseId").is(courseId)), CourseMaterial.class);
+        if (removed == null) {
+            return false;
+        }
+        storage.release(removed.getSha256());
+        return true;
+    }
+}
@@ -0,0 +1,142 @@
+package net.javaguides.sslp.service.impl;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import net.javaguides.sslp.dto.EnrollmentSummary;
+import net.javaguides.sslp.dto.LearnerDashboard;
+import net.javaguides.sslp.dto.LearningSummary;
+import net.javaguides.sslp.model.SkillProgress;
+import net.javaguides.sslp.repo.EnrollmentRepository;
+import net.javaguides.sslp.repo.SkillProgressRepository;
+import net.javaguides.sslp.service.DashboardService;
+import net.javaguides.sslp.service.LearningService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Loads the three parts of the learner dashboard concurrently, so the
+ * response takes as long as the slowest part rather than their sum.
+ *
+ * The parts run on a pool of their own rather than the shared application
+ * task executor, whose queue is unbounded and also takes index rebuilds and
+ * slow-query explains. The pool's threads and queue are bounded
+ * (sslp.dashboard.executor.*); once both are full a dashboard is refused
+ * with RejectedExecutionException (503) instead of queueing parts behind
+ * each other until they all time out.
+ *
+ * Each part has its own timeout; a part that fails or times out comes back
+ * empty and is listed in LearnerDashboard.unavailable instead of failing the
+ * whole response. A timed-out query is not cancelled, it finishes in the
+ * background and its result is dropped.
+ */
+@Service
+public class DashboardServiceImpl implements DashboardService {
+
+    private static final Logger log = LoggerFactory.getLogger(DashboardServiceImpl.class);
+
+    @Autowired
+    private SkillProgressRepository progressRepository;
+
+    @Autowired
+    private EnrollmentRepository enrollmentRepository;
+
+    @Autowired
+    private LearningService learningService;
+
+    @Value("${sslp.dashboard.executor.threads:24}")
+    private int threads;
+
+    @Value("${sslp.dashboard.executor.queue-capacity:24}")
+    private int queueCapacity;
+
+    private ThreadPoolExecutor executor;
+
+    @Value("${sslp.dashboard.timeout.progress:1s}")
+    private Duration progressTimeout;
+
+    @Value("${sslp.dashboard.timeout.enrollments:1s}")
+    private Duration enrollmentsTimeout;
+
+    @Value("${sslp.dashboard.timeout.courses:500ms}")
+    private Duration coursesTimeout;
+
+    @PostConstruct
+    public void start() {
+        executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), new CustomizableThreadFactory("dashboard-"),
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @PreDestroy
+    public void stop() {
+        executor.shutdownNow();
+    }
+
+    @Override
+    public LearnerDashboard getLearnerDashboard(String userId, String emailAddress) {
+        CompletableFuture<Optional<List<SkillProgress>>> progress = fetch(LearnerDashboard.PROGRESS, userId,
+                () -> progressRepository.findByUserId(userId), progressTimeout);
+        CompletableFuture<Optional<List<EnrollmentSummary>>> enrollments = fetch(LearnerDashboard.ENROLLMENTS, userId,
+                () -> enrollmentRepository.findByEmailAddress(emailAddress), enrollmentsTimeout);
+        // The catalog summary is cached as a whole, so it is loaded alongside and narrowed to the learner's courses below
+        CompletableFuture<Optional<List<LearningSummary>>> catalog = fetch(LearnerDashboard.COURSES, userId,
+                () -> learningService.getSummaryPayload().getValue(), coursesTimeout);
+        CompletableFuture.allOf(progress, enrollments, catalog).join();
+
+        List<String> unavailable = new ArrayList<>();
+        List<SkillProgress> progressList = orEmpty(progress, LearnerDashboard.PROGRESS, unavailable);
+        List<EnrollmentSummary> enrollmentList = orEmpty(enrollments, LearnerDashboard.ENROLLMENTS, unavailable);
+        List<LearningSummary> catalogList = orEmpty(catalog, LearnerDashboard.COURSES, unavailable);
+
+        Set<String> courseIds = new HashSet<>();
+        progressList.forEach(item -> courseIds.add(item.getCourseId()));
+        enrollmentList.forEach(item -> courseIds.add(item.getCourseId()));
+        List<LearningSummary> courses = catalogList.stream()
+                .filter(course -> courseIds.contains(course.getCourseId()))
+                .toList();
+        return new LearnerDashboard(userId, progressList, enrollmentList, courses, unavailable);
+    }
+
+    // Never completes exceptionally: failures and timeouts turn into an empty Optional.
+    // Throws RejectedExecutionException when the pool is saturated
+    private <T> CompletableFuture<Optional<List<T>>> fetch(String part, String userId, Supplier<List<T>> loader,
+                                                          Duration timeout) {
+        return CompletableFuture.supplyAsync(loader, executor)
+                .orTimeout(timeout.toMillis(), TimeUnit.MILLISECONDS)
+                .handle((result, error) -> {
+                    if (error == null) {
+                        return Optional.of(result);
+                    }
+                    Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+                    log.warn("Dashboard of {} is missing its {}: {}", userId, part,
+                            cause instanceof TimeoutException ? "timed out after " + timeout : cause.toString());
+                    return Optional.empty();
+                });
+    }
+
+    private static <T> List<T> orEmpty(CompletableFuture<Optional<List<T>>> future, String part, List<String> unavailable) {
+        Optional<List<T>> result = future.join();
+        if (result.isEmpty()) {
+            unavailable.add(part);
+        }
+        return result.orElse(List.of());
+    }
+}
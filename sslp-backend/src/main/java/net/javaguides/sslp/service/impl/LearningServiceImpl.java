@@ -1,13 +1,26 @@
 package net.javaguides.sslp.service.impl;
 
+import net.javaguides.sslp.cache.CachedPayload;
+import net.javaguides.sslp.cache.LearningCatalogCache;
+import net.javaguides.sslp.dto.BulkResult;
+import net.javaguides.sslp.dto.CursorPage;
+import net.javaguides.sslp.dto.BulkItemResult;
+import net.javaguides.sslp.dto.LearningSummary;
+import net.javaguides.sslp.event.LearningChangedEvent;
 import net.javaguides.sslp.model.Learning;
+import net.javaguides.sslp.repo.BulkInserter;
+import net.javaguides.sslp.repo.FieldProjector;
+import net.javaguides.sslp.repo.KeysetPager;
 import net.javaguides.sslp.repo.LearningRepository;
 import net.javaguides.sslp.service.LearningService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Service
 public class LearningServiceImpl implements LearningService {
@@ -15,29 +28,100 @@ public class LearningServiceImpl implements LearningService {
     @Autowired
     private LearningRepository learningRepository;
 
+    @Autowired
+    private KeysetPager keysetPager;
+
+    @Autowired
+    private FieldProjector fieldProjector;
+
+    @Autowired
+    private BulkInserter bulkInserter;
+
+    @Autowired
+    private LearningCatalogCache catalogCache;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     @Override
     public Learning createLearning(Learning learning) {
-        return learningRepository.save(learning);
+        Learning saved = learningRepository.save(learning);
+        catalogCache.invalidateCatalog();
+        eventPublisher.publishEvent(LearningChangedEvent.saved(saved));
+        return saved;
+    }
+
+    @Override
+    public BulkResult createLearnings(List<Learning> learnings) {
+        BulkResult result = bulkInserter.insertAll(Learning.class, learnings);
+        if (result.getCreated() > 0) {
+            catalogCache.invalidateCatalog();
+        }
+        for (BulkItemResult item : result.getItems()) {
+            if (BulkItemResult.CREATED.equals(item.getStatus())) {
+                eventPublisher.publishEvent(LearningChangedEvent.saved(learnings.get(item.getIndex())));
+            }
+        }
+        return result;
     }
 
     @Override
     public List<Learning> getAllLearnings() {
-        return learningRepository.findAll();
+        // A private copy decoded from the cached JSON; internal readers of the catalog use the shared summaries
+        return getCatalogPayload().getValue();
+    }
+
+    @Override
+    public List<Learning> getLearnings(Collection<String> fields) {
+        return fieldProjector.findAll(Learning.class, fields);
+    }
+
+    @Override
+    public CursorPage<Learning> getLearningsPage(String after, int limit, Collection<String> fields) {
+        return keysetPager.findPage(Learning.class, after, limit, fields);
+    }
+
+    @Override
+    public Stream<Learning> streamLearnings(String after) {
+        return keysetPager.stream(Learning.class, after);
     }
 
     @Override
     public Optional<Learning> getLearningById(String id) {
-        return learningRepository.findById(id);
+        return getLearningPayload(id).map(CachedPayload::getValue);
+    }
+
+    @Override
+    public CachedPayload<List<Learning>> getCatalogPayload() {
+        return catalogCache.getCatalog(learningRepository::findAll);
+    }
+
+    @Override
+    public CachedPayload<List<LearningSummary>> getSummaryPayload() {
+        return catalogCache.getSummaries(learningRepository::findAllProjectedBy);
+    }
+
+    @Override
+    public Optional<CachedPayload<Learning>> getLearningPayload(String id) {
+        return catalogCache.getLearning(id, () -> learningRepository.findById(id));
     }
 
     @Override
     public Learning updateLearning(String id, Learning updatedLearning) {
+        Learning previous = learningRepository.findById(id).orElse(null);
         updatedLearning.setId(id);
-        return learningRepository.save(updatedLearning);
+        Learning saved = learningRepository.save(updatedLearning);
+        catalogCache.invalidateLearning(id);
+        eventPublisher.publishEvent(previous != null
+                ? LearningChangedEvent.updated(previous, saved)
+                : LearningChangedEvent.saved(saved));
+        return saved;
     }
 
     @Override
     public void deleteLearning(String id) {
         learningRepository.deleteById(id);
+        catalogCache.invalidateLearning(id);
+        eventPublisher.publishEvent(LearningChangedEvent.deleted(id));
     }
 }
@@ -1,23 +1,50 @@
 package net.javaguides.sslp.service.impl;
 
+import net.javaguides.sslp.dto.CursorPage;
+import net.javaguides.sslp.dto.Leaderboard;
+import net.javaguides.sslp.dto.LeaderboardEntry;
+import net.javaguides.sslp.dto.WithCourse;
+import net.javaguides.sslp.event.SkillProgressChangedEvent;
+import net.javaguides.sslp.leaderboard.ProgressLeaderboard;
 import net.javaguides.sslp.model.SkillProgress;
+import net.javaguides.sslp.repo.CourseLookup;
+import net.javaguides.sslp.repo.KeysetPager;
 import net.javaguides.sslp.repo.SkillProgressRepository;
 import net.javaguides.sslp.service.SkillProgressService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Service
 public class SkillProgressServiceImpl implements SkillProgressService {
 
+    private static final int MAX_LEADERBOARD_ENTRIES = 100;
+
     @Autowired
     private SkillProgressRepository repository;
 
+    @Autowired
+    private KeysetPager keysetPager;
+
+    @Autowired
+    private CourseLookup courseLookup;
+
+    @Autowired
+    private ProgressLeaderboard leaderboard;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     @Override
     public SkillProgress createProgress(SkillProgress progress) {
-        return repository.save(progress);
+        SkillProgress saved = repository.save(progress);
+        eventPublisher.publishEvent(SkillProgressChangedEvent.saved(saved));
+        return saved;
     }
 
     @Override
@@ -30,23 +57,65 @@ public class SkillProgressServiceImpl implements SkillProgressService {
         return repository.findAll();
     }
 
+    @Override
+    public CursorPage<SkillProgress> getProgressPage(String after, int limit) {
+        return keysetPager.findPage(SkillProgress.class, after, limit);
+    }
+
+    @Override
+    public Stream<SkillProgress> streamProgress(String after) {
+        return keysetPager.stream(SkillProgress.class, after);
+    }
+
     @Override
     public List<SkillProgress> getProgressByUser(String userId) {
         return repository.findByUserId(userId);
     }
 
+    @Override
+    public List<WithCourse<SkillProgress>> getProgressByUserWithCourse(String userId) {
+        return courseLookup.findWithCourse(SkillProgress.class, Criteria.where("userId").is(userId));
+    }
+
     @Override
     public SkillProgress updateProgress(String id, SkillProgress progress) {
         Optional<SkillProgress> existing = repository.findById(id);
         if (existing.isPresent()) {
             progress.setId(id);
-            return repository.save(progress);
+            SkillProgress saved = repository.save(progress);
+            eventPublisher.publishEvent(SkillProgressChangedEvent.saved(saved));
+            return saved;
         }
         return null;
     }
 
+    @Override
+    public SkillProgress completeModule(String id, String moduleId) {
+        SkillProgress updated = repository.completeModule(id, moduleId);
+        if (updated != null) {
+            eventPublisher.publishEvent(SkillProgressChangedEvent.saved(updated));
+        }
+        return updated;
+    }
+
     @Override
     public void deleteProgress(String id) {
         repository.deleteById(id);
+        eventPublisher.publishEvent(SkillProgressChangedEvent.deleted(id));
+    }
+
+    @Override
+    public boolean isLeaderboardReady() {
+        return leaderboard.isReady();
+    }
+
+    @Override
+    public Leaderboard getLeaderboard(String courseId, int limit) {
+        return leaderboard.top(courseId, Math.max(1, Math.min(limit, MAX_LEADERBOARD_ENTRIES)));
+    }
+
+    @Override
+    public Optional<LeaderboardEntry> getLeaderboardRank(String userId, String courseId) {
+        return leaderboard.rankOf(userId, courseId);
     }
 }
@@ -0,0 +1,247 @@
+package net.javaguides.sslp.stats;
+
+import net.javaguides.sslp.dto.CourseEnrollmentStats;
+import net.javaguides.sslp.dto.EnrollmentStatsReport;
+import net.javaguides.sslp.event.EnrollmentChangedEvent;
+import net.javaguides.sslp.model.Enrollment;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Enrollment counts per course and learning mode, kept in memory.
+ *
+ * Counters move with every EnrollmentChangedEvent, so reads never touch
+ * Mongo. Writes that bypass the service, or races between the service's
+ * read-modify-write and a concurrent update, can still make them drift; a
+ * periodic reconciliation replaces them with a $group count from Mongo and
+ * logs every key that was off. The first reconciliation seeds the counters.
+ *
+ * The aggregation runs without the lock. Events applied while it is in
+ * flight may or may not be part of its result (the event is published after
+ * the write returns), so their deltas cannot simply be added to it: the
+ * (course, mode) keys they touch are recorded instead and recounted from Mongo
+ * under the write lock before the swap. An event still in flight at the swap
+ * can be counted twice; the next reconciliation corrects it.
+ */
+@Component
+public class EnrollmentStatistics {
+
+    private static final Logger log = LoggerFactory.getLogger(EnrollmentStatistics.class);
+
+    public static final String UNSPECIFIED_MODE = "unspecified";
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    // courseId -> learningMode -> count; entries are only added/removed under the write lock
+    private final Map<String, Map<String, AtomicLong>> counts = new ConcurrentHashMap<>();
+    // Increments share the read lock; the reconciliation swap takes the write lock
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Keys touched while a reconciliation is aggregating; set and cleared under the write lock
+    private volatile Set<Key> recording;
+
+    private volatile Instant reconciledAt;
+
+    @EventListener
+    public void onEnrollmentChanged(EnrollmentChangedEvent event) {
+        lock.readLock().lock();
+        try {
+            if (event.getBefore() != null) {
+                add(event.getBefore(), -1);
+            }
+            if (event.getAfter() != null) {
+                add(event.getAfter(), 1);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Scheduled(initialDelayString = "${sslp.stats.enrollments.initial-delay:PT5S}",
+            fixedDelayString = "${sslp.stats.enrollments.reconcile-interval:PT15M}")
+    public void scheduledReconcile() {
+        try {
+            reconcile();
+        } catch (RuntimeException e) {
+            log.warn("Enrollment statistics were not reconciled: {}", e.getMessage());
+        }
+    }
+
+    // Returns the number of (course, mode) counters that had drifted
+    public synchronized int reconcile() {
+        lock.writeLock().lock();
+        try {
+            recording = ConcurrentHashMap.newKeySet();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        Map<String, Map<String, Long>> actual;
+        try {
+            actual = aggregate();
+        } catch (RuntimeException e) {
+            lock.writeLock().lock();
+            try {
+                recording = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw e;
+        }
+
+        lock.writeLock().lock();
+        try {
+            try {
+                for (Key key : recording) {
+                    actual.computeIfAbsent(key.courseId, courseId -> new HashMap<>()).put(key.mode, count(key));
+                }
+            } finally {
+                recording = null;
+            }
+
+            int drifted = 0;
+            if (reconciledAt != null) {
+                Set<String> courses = new HashSet<>(counts.keySet());
+                courses.addAll(actual.keySet());
+                for (String courseId : courses) {
+                    Map<String, AtomicLong> held = counts.getOrDefault(courseId, Map.of());
+                    Map<String, Long> expected = actual.getOrDefault(courseId, Map.of());
+                    Set<String> modes = new HashSet<>(held.keySet());
+                    modes.addAll(expected.keySet());
+                    for (String mode : modes) {
+                        long was = held.containsKey(mode) ? held.get(mode).get() : 0;
+                        long is = expected.getOrDefault(mode, 0L);
+                        if (was != is) {
+                            drifted++;
+                            log.info("Enrollment count drift for course {} / {}: counted {}, stored {}", courseId, mode, was, is);
+                        }
+                    }
+                }
+            }
+            counts.clear();
+            actual.forEach((courseId, modes) -> {
+                Map<String, AtomicLong> counters = new ConcurrentHashMap<>();
+                modes.forEach((mode, count) -> counters.put(mode, new AtomicLong(count)));
+                counts.put(courseId, counters);
+            });
+            reconciledAt = Instant.now();
+            return drifted;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean isReady() {
+        return reconciledAt != null;
+    }
+
+    public CourseEnrollmentStats getCourseStats(String courseId) {
+        return toStats(courseId, counts.getOrDefault(courseId, Map.of()));
+    }
+
+    public EnrollmentStatsReport getReport() {
+        List<CourseEnrollmentStats> courses = counts.entrySet().stream()
+                .map(entry -> toStats(entry.getKey(), entry.getValue()))
+                .filter(stats -> stats.getTotal() > 0)
+                .sorted(Comparator.comparingLong(CourseEnrollmentStats::getTotal).reversed()
+                        .thenComparing(CourseEnrollmentStats::getCourseId))
+                .toList();
+        long total = courses.stream().mapToLong(CourseEnrollmentStats::getTotal).sum();
+        return new EnrollmentStatsReport(total, reconciledAt, courses);
+    }
+
+    private void add(Enrollment enrollment, long delta) {
+        if (enrollment.getCourseId() == null) {
+            return;
+        }
+        String mode = modeOf(enrollment.getLearningMode());
+        counts.computeIfAbsent(enrollment.getCourseId(), id -> new ConcurrentHashMap<>())
+                .computeIfAbsent(mode, key -> new AtomicLong())
+                .addAndGet(delta);
+        Set<Key> touched = recording;
+        if (touched != null) {
+            touched.add(new Key(enrollment.getCourseId(), mode));
+        }
+    }
+
+    private Map<String, Map<String, Long>> aggregate() {
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.match(Criteria.where("courseId").ne(null)),
+                Aggregation.group("courseId", "learningMode").count().as("count"));
+        Map<String, Map<String, Long>> actual = new HashMap<>();
+        for (Document row : mongoTemplate.aggregate(aggregation, Enrollment.class, Document.class)) {
+            Document id = row.get("_id", Document.class);
+            actual.computeIfAbsent(id.getString("courseId"), courseId -> new HashMap<>())
+                    .merge(modeOf(id.getString("learningMode")), ((Number) row.get("count")).longValue(), Long::sum);
+        }
+        return actual;
+    }
+
+    private long count(Key key) {
+        Criteria criteria = Criteria.where("courseId").is(key.courseId);
+        if (UNSPECIFIED_MODE.equals(key.mode)) {
+            // modeOf() folds missing, null and blank modes into one
+            criteria.orOperator(Criteria.where("learningMode").is(null), Criteria.where("learningMode").regex("^\\s*$"));
+        } else {
+            criteria.and("learningMode").is(key.mode);
+        }
+        return mongoTemplate.count(Query.query(criteria), Enrollment.class);
+    }
+
+    private static String modeOf(String learningMode) {
+        return learningMode == null || learningMode.isBlank() ? UNSPECIFIED_MODE : learningMode;
+    }
+
+    private static CourseEnrollmentStats toStats(String courseId, Map<String, AtomicLong> counters) {
+        Map<String, Long> byMode = new TreeMap<>();
+        counters.forEach((mode, count) -> {
+            if (count.get() != 0) {
+                byMode.put(mode, count.get());
+            }
+        });
+        long total = byMode.values().stream().mapToLong(Long::longValue).sum();
+        return new CourseEnrollmentStats(courseId, total, byMode);
+    }
+
+    private static final class Key {
+        final String courseId;
+        final String mode;
+
+        Key(String courseId, String mode) {
+            this.courseId = courseId;
+            this.mode = mode;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Key other && courseId.equals(other.courseId) && mode.equals(other.mode);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * courseId.hashCode() + mode.hashCode();
+        }
+    }
+}
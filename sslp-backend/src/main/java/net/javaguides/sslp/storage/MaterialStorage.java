@@ -0,0 +1,240 @@
+package net.javaguides.sslp.storage;
+
+import jakarta.annotation.PostConstruct;
+import net.javaguides.sslp.model.MaterialBlob;
+import net.javaguides.sslp.repo.MaterialBlobRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.multipart.MaxUploadSizeExceededException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * Content-addressed store for course material files: each distinct content
+ * is kept once under sslp.materials.dir/blobs, named by its SHA-256 and
+ * sharded into two directory levels by the hash prefix (blobs/ab/cd/abcd...).
+ * Materials reference blobs by hash and a MaterialBlob document counts the
+ * references.
+ *
+ * Uploads are copied from the request stream through a fixed buffer into a
+ * .part file, hashed on the way, and moved into place only once complete,
+ * so a reader never sees a partial file and memory use does not depend on
+ * the upload size. If the content is already stored the .part file is
+ * dropped instead. Content is only ever matched by the hash computed here,
+ * never by one the client claims.
+ *
+ * Blobs whose last reference is gone are deleted in the background, a
+ * bounded batch per run, once sslp.materials.gc.grace has passed. Acquiring
+ * and collecting a blob hold the same per-hash lock, so a collection never
+ * removes a file that an upload has just decided to reuse; like the
+ * in-memory indexes this assumes a single application instance.
+ */
+@Component
+public class MaterialStorage {
+
+    private static final Logger log = LoggerFactory.getLogger(MaterialStorage.class);
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final String PARTIAL_SUFFIX = ".part";
+    private static final int LOCK_STRIPES = 64;
+
+    @Autowired
+    private MaterialBlobRepository blobRepository;
+
+    @Value("${sslp.materials.dir:./course-materials}")
+    private Path root;
+
+    @Value("${sslp.materials.max-size:5GB}")
+    private DataSize maxSize;
+
+    @Value("${sslp.materials.gc.grace:PT10M}")
+    private Duration gcGrace;
+
+    @Value("${sslp.materials.gc.batch-size:100}")
+    private int gcBatchSize;
+
+    private Path incoming;
+    private Path blobs;
+
+    private final ReentrantLock[] locks = new ReentrantLock[LOCK_STRIPES];
+
+    public MaterialStorage() {
+        for (int i = 0; i < locks.length; i++) {
+            locks[i] = new ReentrantLock();
+        }
+    }
+
+    @PostConstruct
+    public void init() throws IOException {
+        incoming = root.resolve("incoming");
+        blobs = root.resolve("blobs");
+        Files.createDirectories(incoming);
+        Files.createDirectories(blobs);
+        // Uploads interrupted by a restart are never completed
+        try (Stream<Path> leftovers = Files.list(incoming)) {
+            leftovers.filter(file -> file.getFileName().toString().endsWith(PARTIAL_SUFFIX)).forEach(this::deleteQuietly);
+        }
+    }
+
+    // Throws MaxUploadSizeExceededException (413) up front for a declared length over sslp.materials.max-size,
+    // otherwise as soon as the body passes it; declaredLength is -1 for chunked uploads
+    public StoredFile receive(InputStream body, long declaredLength) throws IOException {
+        if (declaredLength > maxSize.toBytes()) {
+            throw new MaxUploadSizeExceededException(maxSize.toBytes());
+        }
+        Path partial = Files.createTempFile(incoming, "upload-", PARTIAL_SUFFIX);
+        MessageDigest sha256 = sha256();
+        long size = 0;
+        try (FileChannel out = FileChannel.open(partial, StandardOpenOption.WRITE)) {
+            byte[] buffer = new byte[BUFFER_SIZE];
+            int read;
+            while ((read = body.read(buffer)) != -1) {
+                size += read;
+                if (size > maxSize.toBytes()) {
+                    throw new MaxUploadSizeExceededException(maxSize.toBytes());
+                }
+                sha256.update(buffer, 0, read);
+                ByteBuffer chunk = ByteBuffer.wrap(buffer, 0, read);
+                while (chunk.hasRemaining()) {
+                    out.write(chunk);
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            deleteQuietly(partial);
+            throw e;
+        }
+        return new StoredFile(partial, size, HexFormat.of().formatHex(sha256.digest()));
+    }
+
+    // Adds a reference to the upload's content, moving the file into place unless the content is already stored
+    public void store(StoredFile file) throws IOException {
+        String sha256 = file.getSha256();
+        ReentrantLock lock = lockFor(sha256);
+        lock.lock();
+        try {
+            blobRepository.acquire(sha256, file.getSize());
+            try {
+                Path target = path(sha256);
+                // Otherwise a duplicate: the .part file is deleted below
+                if (!Files.exists(target)) {
+                    Files.createDirectories(target.getParent());
+                    Files.move(file.getPath(), target, StandardCopyOption.ATOMIC_MOVE);
+                }
+            } catch (IOException | RuntimeException e) {
+                blobRepository.release(sha256);
+                throw e;
+            }
+        } finally {
+            lock.unlock();
+            deleteQuietly(file.getPath());
+        }
+    }
+
+    public void release(String sha256) {
+        blobRepository.release(sha256);
+    }
+
+    public void discard(StoredFile file) {
+        deleteQuietly(file.getPath());
+    }
+
+    public Path path(String sha256) {
+        return blobs.resolve(sha256.substring(0, 2)).resolve(sha256.substring(2, 4)).resolve(sha256);
+    }
+
+    @Scheduled(initialDelayString = "${sslp.materials.gc.interval:PT1M}",
+            fixedDelayString = "${sslp.materials.gc.interval:PT1M}")
+    public void scheduledCollect() {
+        try {
+            collectGarbage();
+        } catch (RuntimeException e) {
+            log.warn("Unreferenced material blobs were not collected: {}", e.getMessage());
+        }
+    }
+
+    // Deletes up to sslp.materials.gc.batch-size unreferenced blobs; returns how many were deleted
+    public int collectGarbage() {
+        int deleted = 0;
+        for (MaterialBlob blob : blobRepository.findCollectable(Instant.now().minus(gcGrace), gcBatchSize)) {
+            ReentrantLock lock = lockFor(blob.getId());
+            lock.lock();
+            try {
+                if (blobRepository.deleteIfUnreferenced(blob.getId())) {
+                    deleteQuietly(path(blob.getId()));
+                    deleted++;
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+        if (deleted > 0) {
+            log.info("Deleted {} unreferenced material blobs", deleted);
+        }
+        return deleted;
+    }
+
+    private ReentrantLock lockFor(String sha256) {
+        return locks[Integer.parseInt(sha256.substring(0, 2), 16) % LOCK_STRIPES];
+    }
+
+    private void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Could not delete {}: {}", file, e.getMessage());
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // An upload on disk that is not yet visible as a material
+    public static class StoredFile {
+
+        private final Path path;
+        private final long size;
+        private final String sha256;
+
+        StoredFile(Path path, long size, String sha256) {
+            this.path = path;
+            this.size = size;
+            this.sha256 = sha256;
+        }
+
+        public Path getPath() {
+            return path;
+        }
+
+        public long getSize() {
+            return size;
+        }
+
+        public String getSha256() {
+            return sha256;
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package net.javaguides.sslp.cache;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CachedPayloadTest {
+
+    private static final ObjectReader READER = new ObjectMapper().readerFor(new TypeReference<List<Map<String, Object>>>() {
+    });
+
+    @Test
+    void etagIsStrongAndDependsOnlyOnTheBytes() {
+        CachedPayload<List<Map<String, Object>>> first = payload("[{\"title\":\"Java\"}]");
+        CachedPayload<List<Map<String, Object>>> same = payload("[{\"title\":\"Java\"}]");
+        CachedPayload<List<Map<String, Object>>> other = payload("[{\"title\":\"Kotlin\"}]");
+
+        assertTrue(first.getEtag().matches("\"[0-9a-f]{32}\""), first.getEtag());
+        assertEquals(first.getEtag(), same.getEtag());
+        assertNotEquals(first.getEtag(), other.getEtag());
+    }
+
+    @Test
+    void matchesTheEtagInAnyIfNoneMatchForm() {
+        CachedPayload<List<Map<String, Object>>> payload = payload("[]");
+        String etag = payload.getEtag();
+
+        assertTrue(payload.matches(etag));
+        assertTrue(payload.matches("*"));
+        // If-None-Match uses the weak comparison
+        assertTrue(payload.matches("W/" + etag));
+        assertTrue(payload.matches("\"other\", " + etag));
+        assertTrue(payload.matches("\"other\",W/" + etag));
+    }
+
+    @Test
+    void doesNotMatchMissingOrDifferentTags() {
+        CachedPayload<List<Map<String, Object>>> payload = payload("[]");
+        String etag = payload.getEtag();
+
+        assertFalse(payload.matches(null));
+        assertFalse(payload.matches(""));
+        assertFalse(payload.matches("  "));
+        assertFalse(payload.matches("\"other\""));
+        assertFalse(payload.matches("\"other\", W/\"another\""));
+        // Unquoted, the tag is a different one
+        assertFalse(payload.matches(etag.substring(1, etag.length() - 1)));
+    }
+
+    @Test
+    void getValueReturnsIndependentCopies() {
+        CachedPayload<List<Map<String, Object>>> payload = payload("[{\"title\":\"Java\"}]");
+
+        List<Map<String, Object>> first = payload.getValue();
+        first.get(0).put("title", "Changed");
+        first.clear();
+        List<Map<String, Object>> second = payload.getValue();
+
+        assertNotSame(first, second);
+        assertEquals(List.of(Map.of("title", "Java")), second);
+        assertEquals("[{\"title\":\"Java\"}]", new String(payload.getJson(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void immutableValuesAreSharedWithoutDecoding() {
+        List<String> value = List.of("Java", "Kotlin");
+        CachedPayload<List<String>> payload = new CachedPayload<>("[\"Java\",\"Kotlin\"]".getBytes(StandardCharsets.UTF_8), value);
+
+        assertSame(value, payload.getValue());
+        assertSame(payload.getValue(), payload.getValue());
+        assertEquals(payload("[\"Java\",\"Kotlin\"]").getEtag(), payload.getEtag());
+    }
+
+    private static CachedPayload<List<Map<String, Object>>> payload(String json) {
+        return new CachedPayload<>(json.getBytes(StandardCharsets.UTF_8), READER);
+    }
+}
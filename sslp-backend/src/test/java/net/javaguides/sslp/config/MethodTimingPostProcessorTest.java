@@ -0,0 +1,101 @@
+package net.javaguides.sslp.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class MethodTimingPostProcessorTest {
+
+    private final MeterRegistry registry = new SimpleMeterRegistry();
+    private final StreamService service = proxy();
+
+    @Test
+    void timesCompletedPublishersOnce() {
+        assertEquals(3L, service.items().count().block());
+        assertEquals("x", service.item().block());
+
+        assertEquals(1, count("items", "none"));
+        assertEquals(1, count("item", "none"));
+    }
+
+    // A client that disconnects from a stream cancels it
+    @Test
+    void recordsCancelledSubscriptions() {
+        service.items().take(1).blockLast();
+        service.never().subscribe().dispose();
+
+        assertEquals(1, count("items", "cancelled"));
+        assertNull(timer("items", "none"));
+        assertEquals(1, count("never", "cancelled"));
+    }
+
+    @Test
+    void recordsErrorsByExceptionType() {
+        assertThrows(IllegalStateException.class, () -> service.failing().block());
+        assertThrows(IllegalArgumentException.class, service::throwing);
+
+        assertEquals(1, count("failing", "IllegalStateException"));
+        assertEquals(1, count("throwing", "IllegalArgumentException"));
+    }
+
+    @Test
+    void timesFromSubscriptionNotAssembly() {
+        Mono<String> item = service.item();
+        assertNull(timer("item", "none"));
+
+        item.block();
+        item.block();
+        assertEquals(2, count("item", "none"));
+    }
+
+    private StreamService proxy() {
+        @SuppressWarnings("unchecked")
+        ObjectProvider<MeterRegistry> provider = mock(ObjectProvider.class);
+        when(provider.getIfAvailable()).thenReturn(registry);
+        return (StreamService) new MethodTimingPostProcessor(provider)
+                .postProcessAfterInitialization(new StreamService(), "streamService");
+    }
+
+    private long count(String method, String exception) {
+        Timer timer = timer(method, exception);
+        return timer != null ? timer.count() : 0;
+    }
+
+    private Timer timer(String method, String exception) {
+        return registry.find("method.timed").tags("class", "StreamService", "method", method, "exception", exception).timer();
+    }
+
+    // Named like the services the post-processor times
+    public static class StreamService {
+
+        public Flux<Integer> items() {
+            return Flux.range(1, 3);
+        }
+
+        public Mono<String> item() {
+            return Mono.just("x");
+        }
+
+        public Mono<String> never() {
+            return Mono.never();
+        }
+
+        public Mono<String> failing() {
+            return Mono.error(new IllegalStateException("down"));
+        }
+
+        public String throwing() {
+            throw new IllegalArgumentException("bad");
+        }
+    }
+}
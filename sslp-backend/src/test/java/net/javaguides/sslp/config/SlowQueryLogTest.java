@@ -0,0 +1,105 @@
+package net.javaguides.sslp.config;
+
+import com.mongodb.ServerAddress;
+import com.mongodb.connection.ClusterId;
+import com.mongodb.connection.ConnectionDescription;
+import com.mongodb.connection.ServerId;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+import net.javaguides.sslp.dto.SlowQuery;
+import org.bson.BsonDocument;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+class SlowQueryLogTest {
+
+    private static final ConnectionDescription CONNECTION =
+            new ConnectionDescription(new ServerId(new ClusterId(), new ServerAddress()));
+    private static final long SLOW = Duration.ofMillis(250).toNanos();
+    private static final long FAST = Duration.ofMillis(5).toNanos();
+
+    private final SlowQueryLog slowQueryLog = new SlowQueryLog();
+    private int requestId;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(slowQueryLog, "mongoTemplate", mock(ObjectProvider.class));
+        ReflectionTestUtils.setField(slowQueryLog, "executor", mock(ObjectProvider.class));
+        ReflectionTestUtils.setField(slowQueryLog, "threshold", Duration.ofMillis(100));
+        ReflectionTestUtils.setField(slowQueryLog, "bufferSize", 4);
+        ReflectionTestUtils.setField(slowQueryLog, "explainSampleRate", 0.0);
+        ReflectionTestUtils.setField(slowQueryLog, "captureWindow", Duration.ofMinutes(5));
+        slowQueryLog.init();
+    }
+
+    // Nothing was slow before, so find is not armed; the filter shape is still recorded
+    @Test
+    void firstSlowCommandKeepsItsRedactedFilter() {
+        run("find", "{find: 'skill_progress', filter: {userId: 'u42', progress: {$gte: 50}}, limit: 10}", SLOW);
+
+        SlowQuery entry = only();
+        assertEquals("find", entry.getCommand());
+        assertEquals("skill_progress", entry.getCollection());
+        assertEquals(BsonDocument.parse("{userId: '?', progress: {$gte: '?'}}"), BsonDocument.parse(entry.getFilter()));
+        assertNull(entry.getPlan());
+    }
+
+    @Test
+    void pipelinesAndUpdateStatementsAreRedacted() {
+        run("aggregate", "{aggregate: 'enrollments', pipeline: [{$match: {courseId: 'c1'}}, {$count: 'n'}], cursor: {}}", SLOW);
+        run("update", "{update: 'enrollments', updates: [{q: {courseId: 'c1'}, u: {$set: {courseName: 'Java'}}}]}", SLOW);
+
+        List<SlowQuery> recent = slowQueryLog.getRecent();
+        // The first statement's query stands for an update
+        assertEquals(BsonDocument.parse("{courseId: '?'}"), BsonDocument.parse(recent.get(0).getFilter()));
+        assertEquals(BsonDocument.parse("{pipeline: [{$match: {courseId: '?'}}, {$count: '?'}]}"),
+                BsonDocument.parse(recent.get(1).getFilter()));
+    }
+
+    @Test
+    void fastAndFilterlessCommandsAreNotRecorded() {
+        run("find", "{find: 'skills', filter: {title: 'Java'}}", FAST);
+        run("insert", "{insert: 'skills', documents: [{title: 'Java'}]}", SLOW);
+
+        List<SlowQuery> recent = slowQueryLog.getRecent();
+        assertEquals(1, recent.size());
+        assertEquals("insert", recent.get(0).getCommand());
+        assertNull(recent.get(0).getFilter());
+    }
+
+    @Test
+    void keepsOnlyTheNewestEntries() {
+        for (int i = 0; i < 6; i++) {
+            run("count", "{count: 'skills', query: {level: " + i + "}}", SLOW + i);
+        }
+
+        List<SlowQuery> recent = slowQueryLog.getRecent();
+        assertEquals(4, recent.size());
+        assertTrue(recent.get(0).getSequence() > recent.get(1).getSequence());
+        assertEquals(6, recent.get(0).getSequence());
+    }
+
+    private void run(String command, String json, long elapsedNanos) {
+        int id = ++requestId;
+        BsonDocument document = BsonDocument.parse(json);
+        slowQueryLog.commandStarted(new CommandStartedEvent(null, id, id, CONNECTION, "sslp", command, document));
+        slowQueryLog.commandSucceeded(new CommandSucceededEvent(null, id, id, CONNECTION, "sslp", command,
+                new BsonDocument(), elapsedNanos));
+    }
+
+    private SlowQuery only() {
+        List<SlowQuery> recent = slowQueryLog.getRecent();
+        assertEquals(1, recent.size());
+        return recent.get(0);
+    }
+}
@@ -0,0 +1,127 @@
+package net.javaguides.sslp.contact;
+
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ContactJournalTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void segmentIsDeletedOnceRotatedAndFlushed() throws IOException {
+        ContactJournal journal = new ContactJournal(dir, false);
+        ContactJournal.Entry first = journal.append(contact("a"));
+        ContactJournal.Entry second = journal.append(contact("b"));
+        Path segment = first.segment.file;
+        assertEquals(segment, second.segment.file);
+
+        journal.rotate();
+        journal.flushed(first);
+        assertTrue(Files.exists(segment));
+        journal.flushed(second);
+
+        assertFalse(Files.exists(segment));
+    }
+
+    // The segment being appended to holds a reference of its own, so flushing its entries does not delete it
+    @Test
+    void currentSegmentOutlivesItsFlushedEntries() throws IOException {
+        ContactJournal journal = new ContactJournal(dir, false);
+        ContactJournal.Entry entry = journal.append(contact("a"));
+        Path segment = entry.segment.file;
+
+        journal.flushed(entry);
+        assertTrue(Files.exists(segment));
+
+        ContactJournal.Entry next = journal.append(contact("b"));
+        assertEquals(segment, next.segment.file);
+        journal.rotate();
+        journal.flushed(next);
+        assertFalse(Files.exists(segment));
+    }
+
+    @Test
+    void rotateWithoutEntriesKeepsTheSegment() throws IOException {
+        ContactJournal journal = new ContactJournal(dir, false);
+        journal.rotate();
+        ContactJournal.Entry first = journal.append(contact("a"));
+        journal.rotate();
+        ContactJournal.Entry second = journal.append(contact("b"));
+
+        assertNotEquals(first.segment.file, second.segment.file);
+        assertEquals(2, segments().size());
+    }
+
+    @Test
+    void recoversUnflushedEntriesInOrder() throws IOException {
+        ContactJournal journal = new ContactJournal(dir, true);
+        ContactJournal.Entry flushed = journal.append(contact("a"));
+        journal.append(contact("b"));
+        journal.rotate();
+        journal.append(contact("c"));
+        journal.flushed(flushed);
+        journal.close();
+
+        ContactJournal reopened = new ContactJournal(dir, false);
+        List<ContactJournal.Entry> recovered = reopened.recover();
+
+        // "a" was flushed, but its segment still holds "b", so it is read back too; inserts are replayed at least once
+        assertEquals(List.of("a", "b", "c"), recovered.stream().map(entry -> entry.document.getString("name")).toList());
+        recovered.forEach(reopened::flushed);
+        assertTrue(segments().isEmpty());
+
+        // New appends never reuse the number of a recovered segment
+        ContactJournal.Entry next = reopened.append(contact("d"));
+        assertEquals("contacts-2.journal", next.segment.file.getFileName().toString());
+    }
+
+    @Test
+    void recoverSkipsATornLastLine() throws IOException {
+        Path segment = dir.resolve("contacts-0.journal");
+        Files.writeString(segment, contact("a").toJson() + "\n{\"name\": \"b", StandardCharsets.UTF_8);
+
+        ContactJournal journal = new ContactJournal(dir, false);
+        List<ContactJournal.Entry> recovered = journal.recover();
+
+        assertEquals(1, recovered.size());
+        assertEquals("a", recovered.get(0).document.getString("name"));
+        journal.flushed(recovered.get(0));
+        assertFalse(Files.exists(segment));
+    }
+
+    @Test
+    void recoverDeletesSegmentsWithoutReadableEntries() throws IOException {
+        Path segment = dir.resolve("contacts-5.journal");
+        Files.writeString(segment, "\n{\"name\": ", StandardCharsets.UTF_8);
+
+        ContactJournal journal = new ContactJournal(dir, false);
+
+        assertTrue(journal.recover().isEmpty());
+        assertFalse(Files.exists(segment));
+        assertEquals("contacts-6.journal", journal.append(contact("a")).segment.file.getFileName().toString());
+    }
+
+    private static Document contact(String name) {
+        return new Document("name", name).append("message", "Hello from " + name);
+    }
+
+    private List<Path> segments() throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.toList();
+        }
+    }
+}
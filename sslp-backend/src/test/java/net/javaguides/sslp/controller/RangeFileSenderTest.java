@@ -0,0 +1,182 @@
+package net.javaguides.sslp.controller;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class RangeFileSenderTest {
+
+    private static final byte[] CONTENT = "0123456789".getBytes(StandardCharsets.US_ASCII);
+    private static final String ETAG = "\"v1\"";
+    private static final Instant LAST_MODIFIED = Instant.parse("2026-01-15T10:00:00Z");
+
+    @TempDir
+    Path dir;
+
+    private final RangeFileSender sender = new RangeFileSender();
+    private Path file;
+
+    @BeforeEach
+    void writeFile() throws IOException {
+        file = Files.write(dir.resolve("material.txt"), CONTENT);
+    }
+
+    @Test
+    void sendsTheWholeFileWithoutRange() throws IOException {
+        MockHttpServletResponse response = send(get());
+
+        assertEquals(200, response.getStatus());
+        assertEquals("bytes", response.getHeader(HttpHeaders.ACCEPT_RANGES));
+        assertEquals(ETAG, response.getHeader(HttpHeaders.ETAG));
+        assertEquals(10, response.getContentLengthLong());
+        assertArrayEquals(CONTENT, response.getContentAsByteArray());
+    }
+
+    @Test
+    void sendsASingleRange() throws IOException {
+        MockHttpServletRequest request = get();
+        request.addHeader(HttpHeaders.RANGE, "bytes=2-5");
+        MockHttpServletResponse response = send(request);
+
+        assertEquals(206, response.getStatus());
+        assertEquals("bytes 2-5/10", response.getHeader(HttpHeaders.CONTENT_RANGE));
+        assertEquals(4, response.getContentLengthLong());
+        assertArrayEquals(slice(2, 6), response.getContentAsByteArray());
+    }
+
+    @Test
+    void clampsOpenAndSuffixRangesToTheFile() throws IOException {
+        MockHttpServletRequest open = get();
+        open.addHeader(HttpHeaders.RANGE, "bytes=7-");
+        MockHttpServletResponse openResponse = send(open);
+        assertEquals("bytes 7-9/10", openResponse.getHeader(HttpHeaders.CONTENT_RANGE));
+        assertArrayEquals(slice(7, 10), openResponse.getContentAsByteArray());
+
+        MockHttpServletRequest suffix = get();
+        suffix.addHeader(HttpHeaders.RANGE, "bytes=-3");
+        MockHttpServletResponse suffixResponse = send(suffix);
+        assertEquals("bytes 7-9/10", suffixResponse.getHeader(HttpHeaders.CONTENT_RANGE));
+
+        MockHttpServletRequest past = get();
+        past.addHeader(HttpHeaders.RANGE, "bytes=8-100");
+        MockHttpServletResponse pastResponse = send(past);
+        assertEquals("bytes 8-9/10", pastResponse.getHeader(HttpHeaders.CONTENT_RANGE));
+        assertArrayEquals(slice(8, 10), pastResponse.getContentAsByteArray());
+    }
+
+    @Test
+    void rejectsARangePastTheEnd() throws IOException {
+        MockHttpServletRequest request = get();
+        request.addHeader(HttpHeaders.RANGE, "bytes=10-");
+        MockHttpServletResponse response = send(request);
+
+        assertEquals(416, response.getStatus());
+        assertEquals("bytes */10", response.getHeader(HttpHeaders.CONTENT_RANGE));
+        assertEquals(0, response.getContentAsByteArray().length);
+    }
+
+    @Test
+    void sendsTheWholeFileForSeveralOrMalformedRanges() throws IOException {
+        for (String range : new String[]{"bytes=0-1,4-5", "bytes=abc", "items=0-1"}) {
+            MockHttpServletRequest request = get();
+            request.addHeader(HttpHeaders.RANGE, range);
+            MockHttpServletResponse response = send(request);
+
+            assertEquals(200, response.getStatus(), range);
+            assertNull(response.getHeader(HttpHeaders.CONTENT_RANGE), range);
+            assertArrayEquals(CONTENT, response.getContentAsByteArray(), range);
+        }
+    }
+
+    @Test
+    void honoursIfRangeWithTheCurrentEntityTag() throws IOException {
+        MockHttpServletRequest request = get();
+        request.addHeader(HttpHeaders.RANGE, "bytes=2-5");
+        request.addHeader(HttpHeaders.IF_RANGE, ETAG);
+
+        assertEquals(206, send(request).getStatus());
+    }
+
+    // If-Range uses the strong comparison, so a weak or stale tag means the file changed
+    @Test
+    void sendsTheWholeFileForAStaleOrWeakIfRange() throws IOException {
+        for (String ifRange : new String[]{"\"v0\"", "W/" + ETAG}) {
+            MockHttpServletRequest request = get();
+            request.addHeader(HttpHeaders.RANGE, "bytes=2-5");
+            request.addHeader(HttpHeaders.IF_RANGE, ifRange);
+            MockHttpServletResponse response = send(request);
+
+            assertEquals(200, response.getStatus(), ifRange);
+            assertArrayEquals(CONTENT, response.getContentAsByteArray(), ifRange);
+        }
+    }
+
+    @Test
+    void comparesIfRangeDatesWithTheLastModifiedTime() throws IOException {
+        MockHttpServletRequest current = get();
+        current.addHeader(HttpHeaders.RANGE, "bytes=2-5");
+        current.addHeader(HttpHeaders.IF_RANGE, httpDate(LAST_MODIFIED));
+        assertEquals(206, send(current).getStatus());
+
+        MockHttpServletRequest stale = get();
+        stale.addHeader(HttpHeaders.RANGE, "bytes=2-5");
+        stale.addHeader(HttpHeaders.IF_RANGE, httpDate(LAST_MODIFIED.minusSeconds(60)));
+        assertEquals(200, send(stale).getStatus());
+    }
+
+    @Test
+    void headSendsHeadersOnly() throws IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("HEAD", "/materials/1");
+        request.addHeader(HttpHeaders.RANGE, "bytes=2-5");
+        MockHttpServletResponse response = send(request);
+
+        assertEquals(206, response.getStatus());
+        assertEquals(4, response.getContentLengthLong());
+        assertEquals(0, response.getContentAsByteArray().length);
+    }
+
+    @Test
+    void answersAMatchingIfNoneMatchWithNotModified() throws IOException {
+        MockHttpServletRequest request = get();
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, "\"v0\", W/" + ETAG);
+        request.addHeader(HttpHeaders.RANGE, "bytes=2-5");
+        MockHttpServletResponse response = send(request);
+
+        assertEquals(304, response.getStatus());
+        assertEquals(0, response.getContentAsByteArray().length);
+    }
+
+    private MockHttpServletResponse send(MockHttpServletRequest request) throws IOException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        sender.send(request, response, file, "text/plain", "material.txt", ETAG, LAST_MODIFIED);
+        return response;
+    }
+
+    private static MockHttpServletRequest get() {
+        return new MockHttpServletRequest("GET", "/materials/1");
+    }
+
+    private static byte[] slice(int from, int to) {
+        return Arrays.copyOfRange(CONTENT, from, to);
+    }
+
+    private static String httpDate(Instant instant) {
+        return DateTimeFormatter.RFC_1123_DATE_TIME.format(instant.atOffset(ZoneOffset.UTC));
+    }
+}
@@ -0,0 +1,179 @@
+package net.javaguides.sslp.idempotency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import net.javaguides.sslp.model.IdempotencyRecord;
+import net.javaguides.sslp.repo.IdempotencyRecordRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class IdempotencyStoreTest {
+
+    private static final String SCOPE = "POST /api/enrollments";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final IdempotencyRecordRepository repository = mock(IdempotencyRecordRepository.class);
+    private final AtomicInteger runs = new AtomicInteger();
+
+    @Test
+    void replaysTheRecordedResponseForTheSameBody() throws Exception {
+        IdempotencyStore store = store(false);
+        Map<String, String> body = Map.of("courseId", "c1");
+
+        ResponseEntity<?> first = store.execute(SCOPE, "k1", body, this::created);
+        ResponseEntity<?> retry = store.execute(SCOPE, "k1", Map.of("courseId", "c1"), this::created);
+
+        assertEquals(1, runs.get());
+        assertNull(first.getHeaders().getFirst(IdempotencyStore.REPLAYED_HEADER));
+        assertEquals(HttpStatus.CREATED, retry.getStatusCode());
+        assertEquals("true", retry.getHeaders().getFirst(IdempotencyStore.REPLAYED_HEADER));
+        assertArrayEquals(objectMapper.writeValueAsBytes(first.getBody()), (byte[]) retry.getBody());
+    }
+
+    @Test
+    void rejectsAKeyReusedWithADifferentBody() {
+        IdempotencyStore store = store(false);
+        store.execute(SCOPE, "k1", Map.of("courseId", "c1"), this::created);
+
+        ResponseEntity<?> reused = store.execute(SCOPE, "k1", Map.of("courseId", "c2"), this::created);
+
+        assertEquals(HttpStatus.UNPROCESSABLE_ENTITY, reused.getStatusCode());
+        assertEquals(1, runs.get());
+    }
+
+    @Test
+    void rejectsARetryWhileTheFirstRequestRuns() {
+        IdempotencyStore store = store(false);
+        AtomicReference<ResponseEntity<?>> duringFirst = new AtomicReference<>();
+
+        store.execute(SCOPE, "k1", Map.of("courseId", "c1"), () -> {
+            duringFirst.set(store.execute(SCOPE, "k1", Map.of("courseId", "c1"), this::created));
+            return created();
+        });
+
+        assertEquals(HttpStatus.CONFLICT, duringFirst.get().getStatusCode());
+        // The in-flight retry did not run; the first request's response is replayed afterwards
+        assertEquals(1, runs.get());
+        assertEquals(HttpStatus.CREATED, store.execute(SCOPE, "k1", Map.of("courseId", "c1"), this::created).getStatusCode());
+    }
+
+    @Test
+    void serverErrorsAndExceptionsCanBeRetried() {
+        IdempotencyStore store = store(false);
+        Map<String, String> body = Map.of("courseId", "c1");
+
+        store.execute(SCOPE, "k1", body, () -> ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build());
+        assertThrows(IllegalStateException.class, () -> store.execute(SCOPE, "k2", body, () -> {
+            throw new IllegalStateException("write failed");
+        }));
+
+        store.execute(SCOPE, "k1", body, this::created);
+        store.execute(SCOPE, "k2", body, this::created);
+        assertEquals(2, runs.get());
+    }
+
+    @Test
+    void clientErrorsAreReplayed() {
+        IdempotencyStore store = store(false);
+        Map<String, String> body = Map.of("courseId", "c1");
+
+        store.execute(SCOPE, "k1", body, () -> ResponseEntity.status(HttpStatus.CONFLICT).build());
+        ResponseEntity<?> retry = store.execute(SCOPE, "k1", body, this::created);
+
+        assertEquals(HttpStatus.CONFLICT, retry.getStatusCode());
+        assertEquals("true", retry.getHeaders().getFirst(IdempotencyStore.REPLAYED_HEADER));
+        assertEquals(0, runs.get());
+    }
+
+    @Test
+    void scopesDoNotShareKeys() {
+        IdempotencyStore store = store(false);
+
+        store.execute(SCOPE, "k1", Map.of("courseId", "c1"), this::created);
+        store.execute("POST /api/enrollments/bulk", "k1", Map.of("courseId", "c2"), this::created);
+
+        assertEquals(2, runs.get());
+    }
+
+    @Test
+    void rejectsBlankAndOversizedKeys() {
+        IdempotencyStore store = store(false);
+
+        assertEquals(HttpStatus.BAD_REQUEST, store.execute(SCOPE, " ", Map.of(), this::created).getStatusCode());
+        assertEquals(HttpStatus.BAD_REQUEST, store.execute(SCOPE, "k".repeat(256), Map.of(), this::created).getStatusCode());
+        assertEquals(0, runs.get());
+    }
+
+    // A restarted instance has an empty cache; the response recorded in Mongo is replayed
+    @Test
+    void replaysAResponseRecordedInMongo() {
+        Map<String, String> body = Map.of("courseId", "c1");
+        AtomicReference<IdempotencyRecord> saved = new AtomicReference<>();
+        when(repository.save(any(IdempotencyRecord.class))).thenAnswer(invocation -> {
+            saved.set(invocation.getArgument(0));
+            return saved.get();
+        });
+        store(true).execute(SCOPE, "k1", body, this::created);
+        when(repository.findById(SCOPE + " k1")).thenReturn(Optional.of(saved.get()));
+
+        IdempotencyStore restarted = store(true);
+        ResponseEntity<?> retry = restarted.execute(SCOPE, "k1", body, this::created);
+        ResponseEntity<?> reused = restarted.execute(SCOPE, "k1", Map.of("courseId", "c2"), this::created);
+
+        assertEquals(1, runs.get());
+        assertEquals(HttpStatus.CREATED, retry.getStatusCode());
+        assertEquals("true", retry.getHeaders().getFirst(IdempotencyStore.REPLAYED_HEADER));
+        assertEquals(HttpStatus.UNPROCESSABLE_ENTITY, reused.getStatusCode());
+    }
+
+    @Test
+    void ignoresExpiredMongoRecords() {
+        when(repository.findById(SCOPE + " k1")).thenReturn(Optional.of(
+                new IdempotencyRecord(SCOPE + " k1", "stale", 201, null, Instant.now().minusSeconds(1))));
+
+        ResponseEntity<?> response = store(true).execute(SCOPE, "k1", Map.of("courseId", "c1"), this::created);
+
+        assertEquals(HttpStatus.CREATED, response.getStatusCode());
+        assertNull(response.getHeaders().getFirst(IdempotencyStore.REPLAYED_HEADER));
+        assertEquals(1, runs.get());
+    }
+
+    @Test
+    void inMemoryStoreDoesNotTouchMongo() {
+        store(false).execute(SCOPE, "k1", Map.of("courseId", "c1"), this::created);
+
+        verify(repository, never()).findById(any());
+        verify(repository, never()).save(any());
+    }
+
+    private IdempotencyStore store(boolean mongoEnabled) {
+        IdempotencyStore store = new IdempotencyStore(1000, Duration.ofHours(1));
+        ReflectionTestUtils.setField(store, "objectMapper", objectMapper);
+        ReflectionTestUtils.setField(store, "recordRepository", repository);
+        ReflectionTestUtils.setField(store, "mongoEnabled", mongoEnabled);
+        return store;
+    }
+
+    private ResponseEntity<?> created() {
+        int run = runs.incrementAndGet();
+        return ResponseEntity.status(HttpStatus.CREATED).body(Map.of("id", "e" + run));
+    }
+}
@@ -0,0 +1,97 @@
+package net.javaguides.sslp.leaderboard;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RankedSkipListTest {
+
+    @Test
+    void ranksFollowTheComparator() {
+        RankedSkipList<Integer> list = new RankedSkipList<>(Comparator.reverseOrder());
+        for (int value : new int[]{5, 1, 9, 3, 7}) {
+            list.add(value);
+        }
+
+        assertEquals(5, list.size());
+        assertEquals(1, list.rank(9));
+        assertEquals(3, list.rank(5));
+        assertEquals(5, list.rank(1));
+        assertEquals(0, list.rank(4));
+        assertEquals(List.of(9, 7, 5, 3, 1), list.range(1, 10));
+    }
+
+    @Test
+    void rangeHandlesBounds() {
+        RankedSkipList<Integer> list = new RankedSkipList<>(Comparator.naturalOrder());
+        for (int i = 1; i <= 10; i++) {
+            list.add(i);
+        }
+
+        assertEquals(List.of(4, 5, 6), list.range(4, 3));
+        assertEquals(List.of(9, 10), list.range(9, 5));
+        assertEquals(List.of(10), list.range(10, 1));
+        assertTrue(list.range(0, 3).isEmpty());
+        assertTrue(list.range(11, 3).isEmpty());
+        assertTrue(list.range(1, 0).isEmpty());
+    }
+
+    @Test
+    void removeKeepsSpansConsistent() {
+        RankedSkipList<Integer> list = new RankedSkipList<>(Comparator.naturalOrder());
+        for (int i = 1; i <= 5; i++) {
+            list.add(i);
+        }
+
+        assertTrue(list.remove(3));
+        assertFalse(list.remove(3));
+        assertEquals(4, list.size());
+        assertEquals(3, list.rank(4));
+        assertEquals(0, list.rank(3));
+        assertEquals(List.of(2, 4, 5), list.range(2, 3));
+    }
+
+    @Test
+    void emptyListHasNoRanks() {
+        RankedSkipList<Integer> list = new RankedSkipList<>(Comparator.naturalOrder());
+
+        assertEquals(0, list.rank(1));
+        assertFalse(list.remove(1));
+        assertTrue(list.range(1, 5).isEmpty());
+    }
+
+    // Enough elements for several levels, so spans are summed across levels rather than only along level 0
+    @Test
+    void matchesASortedSetUnderRandomUpdates() {
+        Random random = new Random(42);
+        RankedSkipList<Integer> list = new RankedSkipList<>(Comparator.naturalOrder());
+        TreeSet<Integer> expected = new TreeSet<>();
+
+        for (int step = 0; step < 20_000; step++) {
+            int value = random.nextInt(2_000);
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.remove(value), list.remove(value));
+            } else if (expected.add(value)) {
+                list.add(value);
+            }
+        }
+
+        assertEquals(expected.size(), list.size());
+        List<Integer> sorted = new ArrayList<>(expected);
+        for (int rank = 1; rank <= sorted.size(); rank++) {
+            assertEquals(rank, list.rank(sorted.get(rank - 1)));
+        }
+        for (int from = 1; from <= sorted.size(); from += 37) {
+            assertEquals(sorted.subList(from - 1, Math.min(sorted.size(), from + 9)), list.range(from, 10));
+        }
+        assertEquals(sorted, list.range(1, sorted.size()));
+    }
+}
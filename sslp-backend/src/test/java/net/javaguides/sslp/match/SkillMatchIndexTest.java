@@ -0,0 +1,115 @@
+package net.javaguides.sslp.match;
+
+import net.javaguides.sslp.dto.SkillMatch;
+import net.javaguides.sslp.event.SkillChangedEvent;
+import net.javaguides.sslp.model.Skill;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SkillMatchIndexTest {
+
+    private static final int PAIRS = 200;
+
+    private final SkillMatchIndex index = new SkillMatchIndex();
+
+    // 16 bands of 2 rows find a pair with Jaccard j with probability 1 - (1 - j^2)^16
+    @Test
+    void findsSimilarPartnersThroughTheLshBuckets() {
+        assertTrue(recall(8, 2) >= 0.99, "Jaccard 0.67 should almost always be a candidate");
+        assertTrue(recall(5, 5) >= 0.75, "Jaccard 0.33 should be a candidate about 85% of the time");
+    }
+
+    @Test
+    void scoresByJaccardWeightedByLevel() {
+        save("q", "a@example.com", "Intermediate", true, "Java", "Spring", "Docker");
+        save("same-level", "b@example.com", "Intermediate", true, "Java", "Spring", "Docker");
+        save("two-apart", "c@example.com", "Expert", true, "Java", "Spring", "Docker");
+
+        List<SkillMatch> matches = index.findMatches("q", 10).orElseThrow();
+
+        assertEquals(List.of("same-level", "two-apart"), ids(matches));
+        assertEquals(1.0, matches.get(0).getTagSimilarity(), 1e-9);
+        assertEquals(1.0, matches.get(0).getScore(), 1e-9);
+        assertEquals(1.0 / 1.5, matches.get(1).getScore(), 1e-9);
+        assertEquals(List.of("Java", "Spring", "Docker"), matches.get(0).getSharedTags());
+    }
+
+    @Test
+    void skipsTheSamePersonAndUnavailableSkills() {
+        save("q", "a@example.com", "Beginner", true, "Rust", "WebAssembly");
+        save("mine", "A@example.com", "Beginner", true, "Rust", "WebAssembly");
+        save("busy", "b@example.com", "Beginner", false, "Rust", "WebAssembly");
+        save("free", "c@example.com", "Beginner", true, "rust", " WebAssembly ");
+
+        assertEquals(List.of("free"), ids(index.findMatches("q", 10).orElseThrow()));
+    }
+
+    @Test
+    void limitKeepsTheBestMatches() {
+        save("q", "q@example.com", "Beginner", true, "A", "B", "C", "D");
+        save("4", "4@example.com", "Beginner", true, "A", "B", "C", "D");
+        save("3", "3@example.com", "Beginner", true, "A", "B", "C");
+        save("2", "2@example.com", "Beginner", true, "A", "B", "C", "E");
+
+        List<SkillMatch> matches = index.findMatches("q", 2).orElseThrow();
+
+        assertEquals(List.of("4", "3"), ids(matches));
+    }
+
+    @Test
+    void editsAndDeletesLeaveTheBuckets() {
+        save("q", "q@example.com", "Beginner", true, "Go", "gRPC");
+        save("p", "p@example.com", "Beginner", true, "Go", "gRPC");
+        save("p", "p@example.com", "Beginner", true, "Haskell");
+        save("r", "r@example.com", "Beginner", true, "Go", "gRPC");
+        index.onSkillChanged(SkillChangedEvent.deleted("r"));
+
+        assertEquals(List.of(), index.findMatches("q", 10).orElseThrow());
+        assertEquals(Optional.empty(), index.findMatches("r", 10));
+    }
+
+    // Share of PAIRS query skills whose partner (shared tags in common, extra tags of its own each) is found
+    private double recall(int shared, int extra) {
+        for (int i = 0; i < PAIRS; i++) {
+            List<String> query = new ArrayList<>();
+            List<String> partner = new ArrayList<>();
+            for (int t = 0; t < shared; t++) {
+                query.add("s" + shared + "-" + i + "-" + t);
+                partner.add("s" + shared + "-" + i + "-" + t);
+            }
+            for (int t = 0; t < extra; t++) {
+                query.add("q" + shared + "-" + i + "-" + t);
+                partner.add("p" + shared + "-" + i + "-" + t);
+            }
+            save("q" + shared + "-" + i, "q" + i + "@example.com", null, true, query.toArray(String[]::new));
+            save("p" + shared + "-" + i, "p" + i + "@example.com", null, true, partner.toArray(String[]::new));
+        }
+        int found = 0;
+        for (int i = 0; i < PAIRS; i++) {
+            if (ids(index.findMatches("q" + shared + "-" + i, 5).orElseThrow()).contains("p" + shared + "-" + i)) {
+                found++;
+            }
+        }
+        return (double) found / PAIRS;
+    }
+
+    private void save(String id, String email, String level, boolean available, String... tags) {
+        Skill skill = new Skill();
+        skill.setId(id);
+        skill.setEmailAddress(email);
+        skill.setExperienceLevel(level);
+        skill.setAvailabilityForCollaboration(available);
+        skill.setTags(List.of(tags));
+        index.onSkillChanged(SkillChangedEvent.saved(skill));
+    }
+
+    private static List<String> ids(List<SkillMatch> matches) {
+        return matches.stream().map(match -> match.getSkill().getId()).toList();
+    }
+}
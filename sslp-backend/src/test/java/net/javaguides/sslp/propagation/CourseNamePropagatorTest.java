@@ -0,0 +1,156 @@
+package net.javaguides.sslp.propagation;
+
+import com.mongodb.client.result.UpdateResult;
+import net.javaguides.sslp.event.LearningChangedEvent;
+import net.javaguides.sslp.model.CourseNamePropagation;
+import net.javaguides.sslp.model.Enrollment;
+import net.javaguides.sslp.model.Learning;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class CourseNamePropagatorTest {
+
+    private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+    private final CourseNamePropagator propagator = new CourseNamePropagator();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(propagator, "mongoTemplate", mongoTemplate);
+        ReflectionTestUtils.setField(propagator, "batchSize", 2);
+        when(mongoTemplate.updateMulti(any(Query.class), any(Update.class), eq(Enrollment.class)))
+                .thenReturn(UpdateResult.acknowledged(2, 2L, null));
+    }
+
+    @Test
+    void renameStartsANewGenerationFromTheBeginning() {
+        propagator.onLearningChanged(LearningChangedEvent.updated(learning("c1", "Java"), learning("c1", "Modern Java")));
+
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate).upsert(query.capture(), update.capture(), eq(CourseNamePropagation.class));
+        assertEquals(new Document("id", "c1"), query.getValue().getQueryObject());
+
+        Document restart = update.getValue().getUpdateObject();
+        assertEquals(new Document("generation", 1), restart.get("$inc"));
+        assertEquals("Modern Java", restart.get("$set", Document.class).get("courseName"));
+        assertEquals(0, restart.get("$set", Document.class).get("updatedCount"));
+        assertTrue(restart.get("$unset", Document.class).containsKey("lastEnrollmentId"));
+        assertTrue(restart.get("$unset", Document.class).containsKey("completedAt"));
+    }
+
+    @Test
+    void otherChangesScheduleNothing() {
+        propagator.onLearningChanged(LearningChangedEvent.saved(learning("c1", "Java")));
+        propagator.onLearningChanged(LearningChangedEvent.updated(learning("c1", "Java"), learning("c1", "Java")));
+        propagator.onLearningChanged(LearningChangedEvent.deleted("c1"));
+
+        verifyNoInteractions(mongoTemplate);
+    }
+
+    @Test
+    void batchResumesAfterTheCheckpointAndSavesTheNextOne() {
+        when(mongoTemplate.findOne(any(Query.class), eq(Enrollment.class))).thenReturn(enrollment("e4"));
+
+        runBatch(job("c1", "Modern Java", 3, "e2"));
+
+        ArgumentCaptor<Query> batchEnd = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).findOne(batchEnd.capture(), eq(Enrollment.class));
+        assertEquals(new Document("courseId", "c1").append("id", new Document("$gt", "e2")),
+                batchEnd.getValue().getQueryObject());
+        assertEquals(new Document("id", 1), batchEnd.getValue().getSortObject());
+        assertEquals(1, batchEnd.getValue().getSkip());
+        assertEquals(1, batchEnd.getValue().getLimit());
+
+        assertEquals(new Document("courseId", "c1")
+                        .append("id", new Document("$gt", "e2").append("$lte", "e4"))
+                        .append("courseName", new Document("$ne", "Modern Java")),
+                updateMultiQuery().getQueryObject());
+
+        Document checkpoint = checkpoint("c1", 3);
+        assertEquals(new Document("updatedCount", 2L), checkpoint.get("$inc"));
+        assertEquals(new Document("lastEnrollmentId", "e4"), checkpoint.get("$set"));
+    }
+
+    @Test
+    void firstBatchStartsAtTheFirstEnrollment() {
+        when(mongoTemplate.findOne(any(Query.class), eq(Enrollment.class))).thenReturn(enrollment("e2"));
+
+        runBatch(job("c1", "Modern Java", 1, null));
+
+        assertEquals(new Document("courseId", "c1")
+                        .append("id", new Document("$lte", "e2"))
+                        .append("courseName", new Document("$ne", "Modern Java")),
+                updateMultiQuery().getQueryObject());
+        assertEquals(new Document("lastEnrollmentId", "e2"), checkpoint("c1", 1).get("$set"));
+    }
+
+    @Test
+    void lastBatchCompletesTheJob() {
+        runBatch(job("c1", "Modern Java", 2, "e4"));
+
+        assertEquals(new Document("courseId", "c1")
+                        .append("id", new Document("$gt", "e4"))
+                        .append("courseName", new Document("$ne", "Modern Java")),
+                updateMultiQuery().getQueryObject());
+        Document set = checkpoint("c1", 2).get("$set", Document.class);
+        assertTrue(set.containsKey("completedAt"));
+        assertFalse(set.containsKey("lastEnrollmentId"));
+    }
+
+    private void runBatch(CourseNamePropagation job) {
+        ReflectionTestUtils.invokeMethod(propagator, "runBatch", job);
+    }
+
+    private Query updateMultiQuery() {
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).updateMulti(query.capture(), any(Update.class), eq(Enrollment.class));
+        return query.getValue();
+    }
+
+    // The checkpoint only applies to the generation the batch ran for
+    private Document checkpoint(String courseId, long generation) {
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate).updateFirst(query.capture(), update.capture(), eq(CourseNamePropagation.class));
+        assertEquals(new Document("id", courseId).append("generation", generation), query.getValue().getQueryObject());
+        return update.getValue().getUpdateObject();
+    }
+
+    private static CourseNamePropagation job(String courseId, String courseName, long generation, String lastEnrollmentId) {
+        CourseNamePropagation job = new CourseNamePropagation();
+        job.setId(courseId);
+        job.setCourseName(courseName);
+        job.setGeneration(generation);
+        job.setLastEnrollmentId(lastEnrollmentId);
+        return job;
+    }
+
+    private static Learning learning(String courseId, String courseName) {
+        Learning learning = new Learning();
+        learning.setCourseId(courseId);
+        learning.setCourseName(courseName);
+        return learning;
+    }
+
+    private static Enrollment enrollment(String id) {
+        Enrollment enrollment = new Enrollment();
+        enrollment.setId(id);
+        return enrollment;
+    }
+}
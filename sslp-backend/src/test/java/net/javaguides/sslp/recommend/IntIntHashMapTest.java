@@ -0,0 +1,102 @@
+package net.javaguides.sslp.recommend;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IntIntHashMapTest {
+
+    @Test
+    void addToCountsAndRemovesAtZero() {
+        IntIntHashMap map = new IntIntHashMap();
+
+        assertEquals(2, map.addTo(7, 2));
+        assertEquals(5, map.addTo(7, 3));
+        assertEquals(5, map.get(7));
+        assertEquals(0, map.addTo(7, -5));
+
+        assertFalse(map.containsKey(7));
+        assertEquals(0, map.get(7));
+        assertTrue(map.isEmpty());
+    }
+
+    @Test
+    void zeroDeltaDoesNotInsert() {
+        IntIntHashMap map = new IntIntHashMap();
+
+        assertEquals(0, map.addTo(3, 0));
+        assertFalse(map.containsKey(3));
+        assertEquals(0, map.size());
+    }
+
+    @Test
+    void rejectsNegativeKeys() {
+        assertThrows(IllegalArgumentException.class, () -> new IntIntHashMap().addTo(-1, 1));
+    }
+
+    // Removing from the middle of a probe run must shift later entries back, or they become unreachable
+    @Test
+    void backwardShiftKeepsCollidingKeysReachable() {
+        IntIntHashMap map = new IntIntHashMap(1_000);
+        for (int key = 0; key < 700; key++) {
+            map.addTo(key, key + 1);
+        }
+        for (int key = 0; key < 700; key += 2) {
+            map.addTo(key, -(key + 1));
+        }
+
+        assertEquals(350, map.size());
+        for (int key = 0; key < 700; key++) {
+            assertEquals(key % 2 == 0 ? 0 : key + 1, map.get(key));
+            assertEquals(key % 2 != 0, map.containsKey(key));
+        }
+    }
+
+    @Test
+    void matchesAHashMapUnderRandomUpdates() {
+        Random random = new Random(7);
+        IntIntHashMap map = new IntIntHashMap();
+        Map<Integer, Integer> expected = new HashMap<>();
+
+        for (int step = 0; step < 50_000; step++) {
+            int key = random.nextInt(500);
+            int delta = random.nextInt(5) - 2;
+            int value = expected.getOrDefault(key, 0) + delta;
+            if (value == 0) {
+                expected.remove(key);
+            } else {
+                expected.put(key, value);
+            }
+            assertEquals(value, map.addTo(key, delta));
+        }
+
+        assertEquals(expected.size(), map.size());
+        Map<Integer, Integer> actual = new HashMap<>();
+        map.forEach(actual::put);
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    void addAllMergesRows() {
+        IntIntHashMap row = new IntIntHashMap();
+        row.addTo(1, 2);
+        row.addTo(2, 1);
+        IntIntHashMap other = new IntIntHashMap();
+        other.addTo(1, -2);
+        other.addTo(3, 4);
+
+        row.addAll(other);
+
+        assertFalse(row.containsKey(1));
+        assertEquals(1, row.get(2));
+        assertEquals(4, row.get(3));
+        assertEquals(2, row.size());
+    }
+}
@@ -0,0 +1,144 @@
+package net.javaguides.sslp.repo;
+
+import com.mongodb.bulk.BulkWriteError;
+import net.javaguides.sslp.dto.BulkItemResult;
+import net.javaguides.sslp.dto.BulkResult;
+import net.javaguides.sslp.model.Enrollment;
+import org.bson.BsonDocument;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class BulkInserterTest {
+
+    private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+    private final BulkInserter inserter = new BulkInserter();
+
+    // The documents sent per bulk write, and what each write does with them (by chunk number)
+    private final List<List<Enrollment>> chunks = new ArrayList<>();
+    private final List<Consumer<List<Enrollment>>> outcomes = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(inserter, "mongoTemplate", mongoTemplate);
+        ReflectionTestUtils.setField(inserter, "chunkSize", 2);
+        when(mongoTemplate.getConverter())
+                .thenReturn(new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, new MongoMappingContext()));
+        when(mongoTemplate.bulkOps(eq(BulkOperations.BulkMode.UNORDERED), eq(Enrollment.class))).thenAnswer(invocation -> {
+            BulkOperations operations = mock(BulkOperations.class);
+            List<Enrollment> chunk = new ArrayList<>();
+            when(operations.insert(anyList())).thenAnswer(insert -> {
+                chunk.addAll(insert.getArgument(0));
+                return operations;
+            });
+            when(operations.execute()).thenAnswer(execute -> {
+                int number = chunks.size();
+                chunks.add(chunk);
+                if (number < outcomes.size()) {
+                    outcomes.get(number).accept(chunk);
+                }
+                return null;
+            });
+            return operations;
+        });
+    }
+
+    @Test
+    void insertsInChunksAndReportsEveryItem() {
+        List<Enrollment> enrollments = enrollments(5);
+        enrollments.get(3).setId("kept");
+
+        BulkResult result = inserter.insertAll(Enrollment.class, enrollments);
+
+        assertEquals(List.of(2, 2, 1), chunks.stream().map(List::size).toList());
+        assertEquals(5, result.getCreated());
+        assertEquals(0, result.getFailed());
+        for (int i = 0; i < 5; i++) {
+            BulkItemResult item = result.getItems().get(i);
+            assertEquals(i, item.getIndex());
+            assertEquals(BulkItemResult.CREATED, item.getStatus());
+            // Ids are assigned before the write, so they are known for every item
+            assertEquals(enrollments.get(i).getId(), item.getId());
+            assertNotNull(item.getId());
+        }
+        assertEquals("kept", result.getItems().get(3).getId());
+    }
+
+    // Unordered: a failed document, or a failed chunk, does not stop the rest
+    @Test
+    void partialFailuresAreReportedPerItem() {
+        outcomes.add(chunk -> {
+            BulkOperationException duplicate = mock(BulkOperationException.class);
+            when(duplicate.getErrors()).thenReturn(List.of(
+                    new BulkWriteError(11000, "E11000 duplicate key", new BsonDocument(), 1)));
+            throw duplicate;
+        });
+        outcomes.add(chunk -> {
+            throw new DataAccessResourceFailureException("connection reset");
+        });
+        List<Enrollment> enrollments = enrollments(6);
+        enrollments.set(2, null);
+
+        BulkResult result = inserter.insertAll(Enrollment.class, enrollments);
+
+        // The null element is not sent, so the chunks are [0, 1], [3, 4], [5]
+        assertEquals(3, chunks.size());
+        assertEquals(List.of(enrollments.get(3), enrollments.get(4)), chunks.get(1));
+        assertEquals(6, result.getRequested());
+        assertEquals(2, result.getCreated());
+        assertEquals(4, result.getFailed());
+        assertEquals(List.of(BulkItemResult.CREATED, BulkItemResult.FAILED, BulkItemResult.FAILED,
+                        BulkItemResult.FAILED, BulkItemResult.FAILED, BulkItemResult.CREATED),
+                result.getItems().stream().map(BulkItemResult::getStatus).toList());
+        assertEquals("E11000 duplicate key", result.getItems().get(1).getError());
+        assertEquals("Element is null", result.getItems().get(2).getError());
+        assertNull(result.getItems().get(2).getId());
+        assertEquals("connection reset", result.getItems().get(3).getError());
+        assertEquals("connection reset", result.getItems().get(4).getError());
+        assertNull(result.getItems().get(5).getError());
+    }
+
+    @Test
+    void emptyRequestWritesNothing() {
+        BulkResult result = inserter.insertAll(Enrollment.class, List.of());
+
+        assertEquals(0, result.getRequested());
+        assertEquals(0, chunks.size());
+    }
+
+    @Test
+    void rejectsANonPositiveChunkSize() {
+        ReflectionTestUtils.setField(inserter, "chunkSize", 0);
+
+        assertThrows(IllegalStateException.class, inserter::validate);
+    }
+
+    private static List<Enrollment> enrollments(int count) {
+        Enrollment[] enrollments = new Enrollment[count];
+        for (int i = 0; i < count; i++) {
+            enrollments[i] = new Enrollment("Learner " + i, "learner" + i + "@example.com", null, null, "c1", "Java", "Online");
+        }
+        return new ArrayList<>(Arrays.asList(enrollments));
+    }
+}
@@ -0,0 +1,109 @@
+package net.javaguides.sslp.repo;
+
+import net.javaguides.sslp.dto.WithCourse;
+import net.javaguides.sslp.model.Learning;
+import net.javaguides.sslp.model.SkillProgress;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationResults;
+import org.springframework.data.mongodb.core.aggregation.TypedAggregation;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CourseLookupTest {
+
+    private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+    private final CourseLookup courseLookup = new CourseLookup();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(courseLookup, "mongoTemplate", mongoTemplate);
+        when(mongoTemplate.getCollectionName(Learning.class)).thenReturn("learning");
+        when(mongoTemplate.getConverter())
+                .thenReturn(new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, new MongoMappingContext()));
+    }
+
+    @Test
+    void joinsTheCourseSummaryInOneAggregation() {
+        returns();
+
+        courseLookup.findWithCourse(SkillProgress.class, Criteria.where("userId").is("u1"));
+
+        List<Document> pipeline = pipeline();
+        assertEquals(2, pipeline.size());
+        assertEquals(new Document("$match", new Document("userId", "u1")), pipeline.get(0));
+
+        Document lookup = pipeline.get(1).get("$lookup", Document.class);
+        assertEquals("learning", lookup.get("from"));
+        assertEquals(new Document("courseId", "$courseId"), lookup.get("let"));
+        assertEquals("course", lookup.get("as"));
+        assertEquals(List.of(
+                new Document("$match", new Document("$expr", new Document("$eq", List.of("$courseId", "$$courseId")))),
+                new Document("$limit", 1),
+                new Document("$project", new Document("_id", 1).append("courseId", 1).append("courseName", 1)
+                        .append("courseFee", 1).append("duration", 1))), lookup.get("pipeline"));
+    }
+
+    @Test
+    void withoutCriteriaOnlyTheLookupRuns() {
+        returns();
+
+        courseLookup.findWithCourse(SkillProgress.class, null);
+
+        List<Document> pipeline = pipeline();
+        assertEquals(1, pipeline.size());
+        assertEquals("$lookup", pipeline.get(0).keySet().iterator().next());
+    }
+
+    @Test
+    void readsTheJoinedCourseOffTheDocument() {
+        returns(
+                new Document("_id", "p1").append("userId", "u1").append("courseId", "c1")
+                        .append("course", List.of(new Document("_id", "l1").append("courseId", "c1")
+                                .append("courseName", "Java").append("courseFee", 49.0).append("duration", "6 weeks"))),
+                new Document("_id", "p2").append("userId", "u1").append("courseId", "gone")
+                        .append("course", List.of()));
+
+        List<WithCourse<SkillProgress>> results =
+                courseLookup.findWithCourse(SkillProgress.class, Criteria.where("userId").is("u1"));
+
+        assertEquals(2, results.size());
+        assertEquals("p1", results.get(0).getItem().getId());
+        assertEquals("c1", results.get(0).getItem().getCourseId());
+        assertEquals("l1", results.get(0).getCourse().getId());
+        assertEquals("Java", results.get(0).getCourse().getCourseName());
+        assertEquals(49.0, results.get(0).getCourse().getCourseFee(), 0.0);
+        assertEquals("p2", results.get(1).getItem().getId());
+        assertNull(results.get(1).getCourse());
+    }
+
+    private void returns(Document... documents) {
+        when(mongoTemplate.aggregate(any(TypedAggregation.class), eq(Document.class)))
+                .thenReturn(new AggregationResults<>(List.of(documents), new Document()));
+    }
+
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private List<Document> pipeline() {
+        ArgumentCaptor<TypedAggregation> aggregation = ArgumentCaptor.forClass(TypedAggregation.class);
+        verify(mongoTemplate).aggregate(aggregation.capture(), eq(Document.class));
+        assertEquals(SkillProgress.class, aggregation.getValue().getInputType());
+        return aggregation.getValue().toPipeline(Aggregation.DEFAULT_CONTEXT);
+    }
+}
@@ -0,0 +1,171 @@
+package net.javaguides.sslp.repo;
+
+import net.javaguides.sslp.model.SkillProgress;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationUpdate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.UpdateDefinition;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Renders the completion update and runs it over sample documents with a
+ * small evaluator for the aggregation operators it uses, so the derived
+ * fields are checked without a mongod.
+ */
+class SkillProgressRepositoryCustomImplTest {
+
+    private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+    private final SkillProgressRepositoryCustomImpl repository = new SkillProgressRepositoryCustomImpl();
+
+    @Test
+    void completesInOneFindAndModifyReturningTheNewDocument() {
+        ReflectionTestUtils.setField(repository, "mongoTemplate", mongoTemplate);
+        repository.completeModule("p1", "m1");
+
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<FindAndModifyOptions> options = ArgumentCaptor.forClass(FindAndModifyOptions.class);
+        verify(mongoTemplate, times(1)).findAndModify(query.capture(), any(UpdateDefinition.class), options.capture(),
+                eq(SkillProgress.class));
+        assertEquals(new Document("id", "p1"), query.getValue().getQueryObject());
+        assertTrue(options.getValue().isReturnNew());
+    }
+
+    @Test
+    void addsTheModuleAndRecomputesTheDerivedFields() {
+        Document progress = complete(new Document("completedModules", List.of("m1")).append("totalModules", 3), "m2");
+
+        assertEquals(List.of("m1", "m2"), progress.get("completedModules"));
+        assertEquals(66.67, progress.get("progressPercentage"));
+        assertEquals(false, progress.get("isCertificateEligible"));
+    }
+
+    @Test
+    void completingTwiceIsIdempotent() {
+        Document once = complete(new Document("completedModules", List.of("m1")).append("totalModules", 2), "m2");
+        Document twice = complete(once, "m2");
+
+        assertEquals(List.of("m1", "m2"), twice.get("completedModules"));
+        assertEquals(100.0, twice.get("progressPercentage"));
+        assertEquals(true, twice.get("isCertificateEligible"));
+    }
+
+    @Test
+    void startsFromMissingModulesAndCapsAtOneHundred() {
+        Document first = complete(new Document("totalModules", 1), "m1");
+        assertEquals(List.of("m1"), first.get("completedModules"));
+        assertEquals(100.0, first.get("progressPercentage"));
+
+        // totalModules lowered after modules were completed
+        Document over = complete(new Document("completedModules", List.of("m1", "m2")).append("totalModules", 1), "m3");
+        assertEquals(100.0, over.get("progressPercentage"));
+        assertEquals(true, over.get("isCertificateEligible"));
+    }
+
+    @Test
+    void unknownTotalMeansNoProgress() {
+        Document progress = complete(new Document("totalModules", 0), "m1");
+
+        assertEquals(0.0, ((Number) progress.get("progressPercentage")).doubleValue());
+        assertEquals(false, progress.get("isCertificateEligible"));
+    }
+
+    @Test
+    void moduleIdsAreLiterals() {
+        Document progress = complete(new Document("completedModules", List.of("m1")).append("totalModules", 4), "$completedModules");
+
+        assertEquals(List.of("m1", "$completedModules"), progress.get("completedModules"));
+    }
+
+    private Document complete(Document stored, String moduleId) {
+        MongoTemplate template = mock(MongoTemplate.class);
+        ReflectionTestUtils.setField(repository, "mongoTemplate", template);
+        repository.completeModule("p1", moduleId);
+        ArgumentCaptor<UpdateDefinition> update = ArgumentCaptor.forClass(UpdateDefinition.class);
+        verify(template).findAndModify(any(Query.class), update.capture(), any(FindAndModifyOptions.class),
+                eq(SkillProgress.class));
+        AggregationUpdate pipeline = assertInstanceOf(AggregationUpdate.class, update.getValue());
+
+        Document document = new Document(stored);
+        for (Document stage : pipeline.toPipeline(Aggregation.DEFAULT_CONTEXT)) {
+            Document set = (Document) stage.get("$set");
+            Document next = new Document(document);
+            set.forEach((field, expression) -> next.put(field, evaluate(expression, document)));
+            document = next;
+        }
+        return document;
+    }
+
+    private static Object evaluate(Object expression, Document document) {
+        if (expression instanceof String path && path.startsWith("$")) {
+            return document.get(path.substring(1));
+        }
+        if (expression instanceof List<?> list) {
+            List<Object> values = new ArrayList<>();
+            list.forEach(item -> values.add(evaluate(item, document)));
+            return values;
+        }
+        if (!(expression instanceof Document operator)) {
+            return expression;
+        }
+        Map.Entry<String, Object> entry = operator.entrySet().iterator().next();
+        if ("$literal".equals(entry.getKey())) {
+            return entry.getValue();
+        }
+        Object argument = evaluate(entry.getValue(), document);
+        List<?> args = argument instanceof List<?> list ? list : List.of(argument);
+        switch (entry.getKey()) {
+            case "$ifNull":
+                return args.get(0) != null ? args.get(0) : args.get(1);
+            case "$in":
+                return ((List<?>) args.get(1)).contains(args.get(0));
+            case "$cond":
+                return Boolean.TRUE.equals(args.get(0)) ? args.get(1) : args.get(2);
+            case "$concatArrays":
+                List<Object> concatenated = new ArrayList<>();
+                args.forEach(array -> concatenated.addAll((List<?>) array));
+                return concatenated;
+            case "$size":
+                return ((List<?>) argument).size();
+            case "$gt":
+                return number(args.get(0)) > number(args.get(1));
+            case "$gte":
+                return number(args.get(0)) >= number(args.get(1));
+            case "$min":
+                return args.stream().mapToDouble(SkillProgressRepositoryCustomImplTest::number).min().orElseThrow();
+            case "$multiply":
+                return number(args.get(0)) * number(args.get(1));
+            case "$divide":
+                return number(args.get(0)) / number(args.get(1));
+            case "$round":
+                // Mongo rounds half to even
+                return BigDecimal.valueOf(number(args.get(0))).setScale((int) number(args.get(1)), RoundingMode.HALF_EVEN)
+                        .doubleValue();
+            default:
+                throw new AssertionError("Operator not supported by the test evaluator: " + entry.getKey());
+        }
+    }
+
+    private static double number(Object value) {
+        return ((Number) value).doubleValue();
+    }
+}
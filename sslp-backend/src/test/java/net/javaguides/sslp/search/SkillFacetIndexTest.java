@@ -0,0 +1,105 @@
+package net.javaguides.sslp.search;
+
+import net.javaguides.sslp.dto.SkillFacets;
+import net.javaguides.sslp.event.SkillChangedEvent;
+import net.javaguides.sslp.model.Skill;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class SkillFacetIndexTest {
+
+    private final SkillFacetIndex index = new SkillFacetIndex();
+
+    @Test
+    void countsTagsAndLevels() {
+        save("1", "Beginner", "Java", "Spring");
+        save("2", "Expert", "java", "Kotlin");
+        save("3", "beginner", "Python");
+
+        SkillFacets facets = index.getFacets(List.of(), 10);
+
+        assertEquals(3, facets.getTotal());
+        assertEquals(Map.of("Java", 2, "Spring", 1, "Kotlin", 1, "Python", 1), facets.getTags());
+        assertEquals(List.of("Java", "Kotlin", "Python", "Spring"), List.copyOf(facets.getTags().keySet()));
+        assertEquals(Map.of("Beginner", 2, "Expert", 1), facets.getExperienceLevels());
+    }
+
+    @Test
+    void selectedTagsAreIntersected() {
+        save("1", "Beginner", "Java", "Spring");
+        save("2", "Expert", "Java", "Kotlin");
+        save("3", "Expert", "Java", "Spring", "Kotlin");
+
+        SkillFacets facets = index.getFacets(List.of("java", "SPRING"), 10);
+
+        assertEquals(2, facets.getTotal());
+        assertEquals(List.of("Java", "Spring"), facets.getSelectedTags());
+        assertEquals(Map.of("Java", 2, "Spring", 2, "Kotlin", 1), facets.getTags());
+        assertEquals(Map.of("Beginner", 1, "Expert", 1), facets.getExperienceLevels());
+    }
+
+    @Test
+    void unknownSelectedTagMatchesNothing() {
+        save("1", "Beginner", "Java");
+
+        SkillFacets facets = index.getFacets(List.of("java", "cobol"), 10);
+
+        assertEquals(0, facets.getTotal());
+        assertEquals(Map.of(), facets.getTags());
+        assertEquals(Map.of(), facets.getExperienceLevels());
+    }
+
+    // An update only moves the bits of the tags and level that changed
+    @Test
+    void updateDiffsAgainstTheStoredEntry() {
+        save("1", "Beginner", "Java", "Spring");
+        save("2", "Beginner", "Java");
+
+        save("1", "Expert", "Java", "Kotlin");
+
+        SkillFacets facets = index.getFacets(List.of(), 10);
+        assertEquals(2, facets.getTotal());
+        assertEquals(Map.of("Java", 2, "Kotlin", 1), facets.getTags());
+        assertEquals(Map.of("Beginner", 1, "Expert", 1), facets.getExperienceLevels());
+        assertEquals(1, index.getFacets(List.of("kotlin"), 10).getTotal());
+        assertEquals(0, index.getFacets(List.of("spring"), 10).getTotal());
+    }
+
+    // A deleted skill's ordinal is reused; its old bits must not leak into the new skill's counts
+    @Test
+    void deleteFreesTheOrdinalCleanly() {
+        save("1", "Beginner", "Java", "Spring");
+        save("2", "Expert", "Kotlin");
+        index.onSkillChanged(SkillChangedEvent.deleted("1"));
+
+        save("3", "Expert", "Python");
+
+        SkillFacets facets = index.getFacets(List.of(), 10);
+        assertEquals(2, facets.getTotal());
+        assertEquals(Map.of("Kotlin", 1, "Python", 1), facets.getTags());
+        assertEquals(Map.of("Expert", 2), facets.getExperienceLevels());
+        assertEquals(0, index.getFacets(List.of("java"), 10).getTotal());
+        assertEquals(1, index.getFacets(List.of("python"), 10).getTotal());
+    }
+
+    @Test
+    void tagLimitKeepsTheMostFrequent() {
+        save("1", null, "A", "B", "C");
+        save("2", null, "B", "C");
+        save("3", null, "C");
+
+        assertEquals(Map.of("C", 3, "B", 2), index.getFacets(List.of(), 2).getTags());
+    }
+
+    private void save(String id, String level, String... tags) {
+        Skill skill = new Skill();
+        skill.setId(id);
+        skill.setExperienceLevel(level);
+        skill.setTags(List.of(tags));
+        index.onSkillChanged(SkillChangedEvent.saved(skill));
+    }
+}
@@ -0,0 +1,157 @@
+package net.javaguides.sslp.search;
+
+import net.javaguides.sslp.dto.SkillSearchHit;
+import net.javaguides.sslp.dto.SkillSearchResult;
+import net.javaguides.sslp.event.SkillChangedEvent;
+import net.javaguides.sslp.model.Skill;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SkillSearchIndexTest {
+
+    private final SkillSearchIndex index = new SkillSearchIndex();
+
+    @Test
+    void scoresWithBm25() {
+        save("1", "Java", null);
+        save("2", "Python", null);
+
+        List<SkillSearchHit> hits = index.search("java", null, null, 10).getHits();
+
+        // idf = ln(1 + (2 - 1 + 0.5) / (1 + 0.5)); tf = 3 (title weight) and both skills have the average length
+        double expected = Math.log(2) * 3 * (1.2 + 1) / (3 + 1.2);
+        assertEquals(1, hits.size());
+        assertEquals(expected, hits.get(0).getScore(), 1e-6);
+    }
+
+    @Test
+    void titleHitsOutrankTagAndDescriptionHits() {
+        save("desc", "Backend work", "Services written in Kotlin");
+        save("tag", "Android apps", null, "Kotlin");
+        save("title", "Kotlin", null);
+        save("other", "Gardening", "Vegetables");
+
+        assertEquals(List.of("title", "tag", "desc"), ids(index.search("kotlin", null, null, 10)));
+    }
+
+    @Test
+    void rareTermsWeighMoreThanCommonOnes() {
+        save("j1", "Java", null);
+        save("j2", "Java", null);
+        save("j3", "Java", null);
+        save("q", "Quarkus", null);
+        save("g", "Go", null);
+
+        // "quarkus" is in one skill, "java" in three
+        List<String> ranked = ids(index.search("java quarkus", null, null, 10));
+        assertEquals(4, ranked.size());
+        assertEquals("q", ranked.get(0));
+    }
+
+    @Test
+    void shorterSkillsRankHigherForTheSameMatch() {
+        save("long", "Docker", "Containers for deployment pipelines across several cloud providers");
+        save("short", "Docker", "Containers");
+
+        assertEquals(List.of("short", "long"), ids(index.search("docker", null, null, 10)));
+    }
+
+    @Test
+    void filtersApplyTogetherWithTheQuery() {
+        index(skill("1", "React", null, "Beginner", true, null));
+        index(skill("2", "React Native", null, "Expert", true, null));
+        index(skill("3", "React", null, "expert", false, null));
+
+        SkillSearchResult result = index.search("react", "Expert", true, 10);
+
+        assertEquals(1, result.getTotal());
+        assertEquals(List.of("2"), ids(result));
+        assertEquals(2, index.search("react", "EXPERT", null, 10).getTotal());
+    }
+
+    @Test
+    void limitKeepsTheBestHitsButCountsAll() {
+        for (int i = 0; i < 5; i++) {
+            save("s" + i, "SQL", "database ".repeat(i + 1));
+        }
+
+        SkillSearchResult result = index.search("sql", null, null, 2);
+
+        assertEquals(5, result.getTotal());
+        assertEquals(List.of("s0", "s1"), ids(result));
+        assertTrue(result.getHits().get(0).getScore() > result.getHits().get(1).getScore());
+    }
+
+    @Test
+    void updatesAndDeletesReplaceTheIndexedTerms() {
+        save("1", "Angular", null);
+        save("1", "Vue", null);
+        save("2", "Svelte", null);
+        index.onSkillChanged(SkillChangedEvent.deleted("2"));
+
+        assertEquals(0, index.search("angular", null, null, 10).getTotal());
+        assertEquals(List.of("1"), ids(index.search("vue", null, null, 10)));
+        assertEquals(0, index.search("svelte", null, null, 10).getTotal());
+        assertEquals(List.of(), index.suggest("ang", 10));
+    }
+
+    @Test
+    void emptyQueryBrowsesNewestFirst() {
+        index(skill("old", "Java", null, "Beginner", true, LocalDate.of(2026, 1, 1)));
+        index(skill("new", "Java", null, "Expert", true, LocalDate.of(2026, 3, 1)));
+        index(skill("mid", "Java", null, "Expert", false, LocalDate.of(2026, 2, 1)));
+        index(skill("undated", "Java", null, "Expert", false, null));
+
+        SkillSearchResult all = index.search("", null, null, 2);
+        assertEquals(4, all.getTotal());
+        assertEquals(List.of("new", "mid"), ids(all));
+
+        SkillSearchResult experts = index.search(null, "expert", null, 1);
+        assertEquals(3, experts.getTotal());
+        assertEquals(List.of("new"), ids(experts));
+        assertEquals(List.of("new", "mid", "undated"), ids(index.search(" ", "Expert", null, 10)));
+    }
+
+    @Test
+    void suggestsTitlesAndTagsByWordStart() {
+        save("1", "Spring Boot", null, "Java");
+        save("2", "Spring Security", null, "Java");
+        save("3", "JavaScript", null);
+
+        assertEquals(List.of("Spring Boot"), index.suggest("boo", 10));
+        // "Java" is used by two skills, so it comes before "JavaScript"
+        assertEquals(List.of("Java", "JavaScript"), index.suggest("jav", 10));
+        assertEquals(List.of("Spring Boot", "Spring Security"), index.suggest("  SPRING ", 10));
+        assertEquals(List.of(), index.suggest("", 10));
+    }
+
+    private void save(String id, String title, String description, String... tags) {
+        Skill skill = skill(id, title, description, null, false, null);
+        skill.setTags(List.of(tags));
+        index(skill);
+    }
+
+    private void index(Skill skill) {
+        index.onSkillChanged(SkillChangedEvent.saved(skill));
+    }
+
+    private static Skill skill(String id, String title, String description, String level, boolean available, LocalDate date) {
+        Skill skill = new Skill();
+        skill.setId(id);
+        skill.setSkillTitle(title);
+        skill.setSkillDescription(description);
+        skill.setExperienceLevel(level);
+        skill.setAvailabilityForCollaboration(available);
+        skill.setDate(date);
+        return skill;
+    }
+
+    private static List<String> ids(SkillSearchResult result) {
+        return result.getHits().stream().map(hit -> hit.getSkill().getId()).toList();
+    }
+}
@@ -0,0 +1,101 @@
+package net.javaguides.sslp.service.impl;
+
+import net.javaguides.sslp.model.CourseMaterial;
+import net.javaguides.sslp.repo.MaterialBlobRepository;
+import net.javaguides.sslp.storage.MaterialStorage;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class CourseMaterialServiceImplTest {
+
+    private static final String SHA256 = "ab".repeat(32);
+    private static final int THREADS = 8;
+
+    @Test
+    void concurrentDeletesOfOneMaterialReleaseItsBlobOnce() throws Exception {
+        // Two materials with the same content share one blob with two references
+        AtomicInteger refCount = new AtomicInteger(2);
+        MaterialBlobRepository blobRepository = mock(MaterialBlobRepository.class);
+        doAnswer(invocation -> refCount.decrementAndGet()).when(blobRepository).release(anyString());
+        MaterialStorage storage = new MaterialStorage();
+        ReflectionTestUtils.setField(storage, "blobRepository", blobRepository);
+
+        // findAndRemove is atomic in Mongo: only one caller gets the removed document
+        Map<String, CourseMaterial> materials = new ConcurrentHashMap<>();
+        materials.put("m1", material("m1"));
+        materials.put("m2", material("m2"));
+        MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+        when(mongoTemplate.findAndRemove(any(Query.class), eq(CourseMaterial.class))).thenAnswer(invocation ->
+                materials.remove(invocation.getArgument(0, Query.class).getQueryObject().getString("id")));
+
+        CourseMaterialServiceImpl service = new CourseMaterialServiceImpl();
+        ReflectionTestUtils.setField(service, "storage", storage);
+        ReflectionTestUtils.setField(service, "mongoTemplate", mongoTemplate);
+
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<Boolean>> deletes = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                Callable<Boolean> delete = () -> {
+                    start.await();
+                    return service.deleteMaterial("c1", "m1");
+                };
+                deletes.add(executor.submit(delete));
+            }
+            start.countDown();
+            int deleted = 0;
+            for (Future<Boolean> delete : deletes) {
+                deleted += delete.get() ? 1 : 0;
+            }
+
+            assertEquals(1, deleted);
+            // m2 still references the blob, so it must not become collectable
+            assertEquals(1, refCount.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void deletingAMissingMaterialReleasesNothing() {
+        MaterialStorage storage = mock(MaterialStorage.class);
+        MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+        CourseMaterialServiceImpl service = new CourseMaterialServiceImpl();
+        ReflectionTestUtils.setField(service, "storage", storage);
+        ReflectionTestUtils.setField(service, "mongoTemplate", mongoTemplate);
+
+        assertFalse(service.deleteMaterial("c2", "m1"));
+        verifyNoInteractions(storage);
+    }
+
+    private static CourseMaterial material(String id) {
+        CourseMaterial material = new CourseMaterial("c1", null, id + ".pdf", "application/pdf", 10, SHA256, Instant.now());
+        material.setId(id);
+        return material;
+    }
+}
@@ -0,0 +1,131 @@
+package net.javaguides.sslp.stats;
+
+import net.javaguides.sslp.event.EnrollmentChangedEvent;
+import net.javaguides.sslp.model.Enrollment;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationResults;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class EnrollmentStatisticsTest {
+
+    private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+    private final EnrollmentStatistics statistics = new EnrollmentStatistics();
+
+    // What Mongo holds: "courseId/mode" -> count; the aggregation and the targeted counts both read it
+    private final Map<String, Long> stored = new HashMap<>();
+    // Runs while the aggregation is in flight, after it has read the stored counts
+    private Consumer<EnrollmentStatistics> duringAggregation = statistics -> {
+    };
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(statistics, "mongoTemplate", mongoTemplate);
+        when(mongoTemplate.aggregate(any(Aggregation.class), eq(Enrollment.class), eq(Document.class)))
+                .thenAnswer(invocation -> {
+                    List<Document> rows = new ArrayList<>();
+                    stored.forEach((key, count) -> {
+                        String[] parts = key.split("/");
+                        rows.add(new Document("_id", new Document("courseId", parts[0]).append("learningMode", parts[1]))
+                                .append("count", count));
+                    });
+                    duringAggregation.accept(statistics);
+                    return new AggregationResults<>(rows, new Document());
+                });
+        when(mongoTemplate.count(any(Query.class), eq(Enrollment.class))).thenAnswer(invocation -> {
+            Document filter = invocation.getArgument(0, Query.class).getQueryObject();
+            return stored.getOrDefault(filter.getString("courseId") + "/" + filter.getString("learningMode"), 0L);
+        });
+    }
+
+    @Test
+    void firstReconciliationSeedsTheCounters() {
+        stored.put("c1/Online", 2L);
+        stored.put("c1/Onsite", 1L);
+
+        assertEquals(0, statistics.reconcile());
+
+        assertEquals(3, statistics.getCourseStats("c1").getTotal());
+        assertEquals(Map.of("Online", 2L, "Onsite", 1L), statistics.getCourseStats("c1").getByLearningMode());
+    }
+
+    @Test
+    void reportsAndRepairsDrift() {
+        stored.put("c1/Online", 2L);
+        statistics.reconcile();
+        // A write that bypassed the service
+        stored.put("c1/Online", 5L);
+
+        assertEquals(1, statistics.reconcile());
+        assertEquals(5, statistics.getCourseStats("c1").getTotal());
+    }
+
+    // The service publishes after the write returns, so the aggregation may already contain a write whose event
+    // arrives while it is in flight; adding the event's delta onto the result would count that write twice
+    @Test
+    void eventsDuringTheAggregationAreNotCountedTwice() {
+        stored.put("c1/Online", 2L);
+        statistics.reconcile();
+
+        stored.put("c1/Online", 3L);
+        duringAggregation = statistics -> {
+            // Part of the aggregation's result
+            statistics.onEnrollmentChanged(EnrollmentChangedEvent.created(enrollment("e3", "c1", "Online")));
+            // Written after the aggregation read its course
+            stored.put("c2/Onsite", 1L);
+            statistics.onEnrollmentChanged(EnrollmentChangedEvent.created(enrollment("e4", "c2", "Onsite")));
+        };
+
+        assertEquals(0, statistics.reconcile());
+        assertEquals(3, statistics.getCourseStats("c1").getTotal());
+        assertEquals(1, statistics.getCourseStats("c2").getTotal());
+        assertEquals(4, statistics.getReport().getTotal());
+    }
+
+    @Test
+    void eventsMoveCountersBetweenModes() {
+        stored.put("c1/Online", 1L);
+        statistics.reconcile();
+
+        Enrollment before = enrollment("e1", "c1", "Online");
+        statistics.onEnrollmentChanged(EnrollmentChangedEvent.updated(before, enrollment("e1", "c1", null)));
+
+        assertEquals(Map.of(EnrollmentStatistics.UNSPECIFIED_MODE, 1L), statistics.getCourseStats("c1").getByLearningMode());
+    }
+
+    @Test
+    void failedAggregationStopsRecording() {
+        stored.put("c1/Online", 1L);
+        statistics.reconcile();
+        duringAggregation = statistics -> {
+            throw new IllegalStateException("connection reset");
+        };
+
+        assertThrows(IllegalStateException.class, statistics::reconcile);
+        statistics.onEnrollmentChanged(EnrollmentChangedEvent.created(enrollment("e2", "c1", "Online")));
+        assertEquals(2, statistics.getCourseStats("c1").getTotal());
+    }
+
+    private static Enrollment enrollment(String id, String courseId, String learningMode) {
+        Enrollment enrollment = new Enrollment("Learner " + id, id + "@example.com", null, null, courseId, null, learningMode);
+        enrollment.setId(id);
+        return enrollment;
+    }
+}